@@ -0,0 +1,167 @@
+/*
+    Vivaan Echambadi
+    10/17/2026
+
+    ApproximateCountingReport class will compare the approximate phrase counting of PhraseScorer with exact counting on long synthetic
+    histories. The phrases follow a Zipf distribution over a large vocabulary, so a few phrases are very common and new rare phrases keep
+    appearing, which is what makes exact counting grow without limit. For each history size and error bound it prints the estimated
+    memory of the kernel, how many of the exact top 20 phrases it still ranks in its top 20, the largest overestimate of their uses
+    against the guaranteed bound, and how many of the top 5 suggestions match. Run it with:
+        java -cp target/benchmarks.jar benchmarks.ApproximateCountingReport
+
+*/
+
+// importing packages
+package benchmarks;
+
+import business.PhraseScorer;
+import business.PhraseStats;
+import business.PhraseSuggestion;
+import business.TopKRanker;
+import data.HistoryStore;
+import data.TimestampParser;
+import data.UserProfile;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+// ApproximateCountingReport class definition
+public class ApproximateCountingReport {
+
+    // sizes of the synthetic histories, the vocabulary they draw from, and the error bounds compared with exact counting
+    private static final int[] MESSAGE_COUNTS = {100000, 1000000};
+    private static final int VOCABULARY_SIZE = 200000;
+    private static final double ZIPF_EXPONENT = 1.1;
+    private static final double[] ERROR_BOUNDS = {0.01, 0.005, 0.002, 0.001};
+    private static final int TOP_PHRASES = 20;
+    private static final int TOP_SUGGESTIONS = 5;
+    private static final long SECONDS_PER_YEAR = 365L * 24 * 3600;
+
+    // main() method will build each history and print one report line per error bound
+    public static void main(String[] args) {
+        // building the Zipf distribution once for every history
+        double[] cumulative = zipfCumulative(VOCABULARY_SIZE, ZIPF_EXPONENT);
+        long nowSeconds = TimestampParser.fromLocalDateTime(LocalDateTime.now().withNano(0));
+
+        // reporting on each history size
+        for (int messageCount : MESSAGE_COUNTS) {
+            HistoryStore history = buildHistory(messageCount, cumulative, nowSeconds, 42);
+            System.out.println();
+            System.out.println("History of " + messageCount + " messages, Zipf(" + ZIPF_EXPONENT + ") over " + VOCABULARY_SIZE + " phrases");
+            System.out.printf("%-12s %8s %12s %10s %14s %14s %10s %10s%n", "Mode", "Phrases", "Memory (KB)", "Build (ms)",
+                    "Top-20 recall", "Max over", "Bound", "Top-5 same");
+
+            // building the exact kernel that the approximate ones are compared with
+            long start = System.nanoTime();
+            PhraseScorer exact = PhraseScorer.fromHistory(history, UserProfile.DEFAULT_RECENCY_HALF_LIFE_HOURS);
+            long exactMillis = (System.nanoTime() - start) / 1000000;
+            List<PhraseStats> exactTop = topByUses(exact.toStats(), TOP_PHRASES);
+            List<PhraseSuggestion> exactSuggestions = exact.scoreTop("morning", TOP_SUGGESTIONS, nowSeconds);
+            long totalUses = 0;
+            for (PhraseStats stats : exact.toStats()) {
+                totalUses += stats.getUses();
+            }
+            System.out.printf("%-12s %8d %12d %10d %14s %14s %10s %10s%n", "exact", exact.getPhraseCount(), exact.estimateBytes() / 1024,
+                    exactMillis, "20/20", "0", "0", "5/5");
+
+            // building an approximate kernel for each error bound and comparing it with the exact one
+            for (double errorBound : ERROR_BOUNDS) {
+                start = System.nanoTime();
+                PhraseScorer approximate = PhraseScorer.fromHistory(history, UserProfile.DEFAULT_RECENCY_HALF_LIFE_HOURS, errorBound);
+                long millis = (System.nanoTime() - start) / 1000000;
+
+                // counting how many of the exact top phrases are also in the approximate top, and the largest overestimate of their uses
+                Set<String> approximateTop = new HashSet<>();
+                for (PhraseStats stats : topByUses(approximate.toStats(), TOP_PHRASES)) {
+                    approximateTop.add(stats.getPhrase());
+                }
+                int recall = 0;
+                long maxOver = 0;
+                for (PhraseStats stats : exactTop) {
+                    PhraseStats estimate = approximate.getStats(stats.getPhrase());
+                    if (approximateTop.contains(stats.getPhrase())) {
+                        recall += 1;
+                    }
+                    if (estimate != null) {
+                        maxOver = Math.max(maxOver, estimate.getUses() - stats.getUses());
+                    }
+                }
+
+                // counting how many of the exact top suggestions are also suggested by the approximate kernel
+                Set<String> suggested = new HashSet<>();
+                for (PhraseSuggestion suggestion : approximate.scoreTop("morning", TOP_SUGGESTIONS, nowSeconds)) {
+                    suggested.add(suggestion.getPhrase());
+                }
+                int same = 0;
+                for (PhraseSuggestion suggestion : exactSuggestions) {
+                    if (suggested.contains(suggestion.getPhrase())) {
+                        same += 1;
+                    }
+                }
+
+                // printing the report line
+                System.out.printf("%-12s %8d %12d %10d %14s %14d %10d %10s%n", "e=" + errorBound, approximate.getPhraseCount(),
+                        approximate.estimateBytes() / 1024, millis, recall + "/" + TOP_PHRASES, maxOver,
+                        (long) (errorBound * totalUses), same + "/" + TOP_SUGGESTIONS);
+            }
+        }
+    }
+
+    // HELPER METHODS
+
+    // buildHistory() method will build a history of messageCount messages of one to three Zipf-distributed phrases over the year before now
+    private static HistoryStore buildHistory(int messageCount, double[] cumulative, long nowSeconds, long seed) {
+        // spreading the messages evenly over the year
+        Random random = new Random(seed);
+        HistoryStore history = new HistoryStore();
+        long start = nowSeconds - SECONDS_PER_YEAR;
+        long step = Math.max(1, SECONDS_PER_YEAR / messageCount);
+
+        // building each message from its phrases, each one ending with a period like the phrase tiles do
+        StringBuilder message = new StringBuilder();
+        for (int i = 0; i < messageCount; i++) {
+            message.setLength(0);
+            int parts = 1 + random.nextInt(3);
+            for (int p = 0; p < parts; p++) {
+                if (p > 0) {
+                    message.append(' ');
+                }
+                message.append("I need item ").append(sampleZipf(cumulative, random)).append(" now.");
+            }
+            history.append(start + i * step, message.toString());
+        }
+
+        // returning the history
+        return history;
+    }
+
+    // zipfCumulative() method will return the cumulative probabilities of a Zipf distribution over size ranks
+    private static double[] zipfCumulative(int size, double exponent) {
+        // adding up the weight of each rank
+        double[] cumulative = new double[size];
+        double total = 0;
+        for (int rank = 0; rank < size; rank++) {
+            total += 1.0 / Math.pow(rank + 1, exponent);
+            cumulative[rank] = total;
+        }
+
+        // dividing by the total so the last value is 1
+        for (int rank = 0; rank < size; rank++) {
+            cumulative[rank] /= total;
+        }
+        return cumulative;
+    }
+
+    // sampleZipf() method will pick a rank from the cumulative probabilities with a binary search
+    private static int sampleZipf(double[] cumulative, Random random) {
+        int index = Arrays.binarySearch(cumulative, random.nextDouble());
+        return index >= 0 ? index : Math.min(cumulative.length - 1, -index - 1);
+    }
+
+    // topByUses() method will return the count phrases with the most uses, from most to fewest
+    private static List<PhraseStats> topByUses(List<PhraseStats> stats, int count) {
+        List<PhraseStats> copy = new ArrayList<>(stats);
+        TopKRanker.partialSort(copy, count, PhraseStats::getUses);
+        return copy.subList(0, Math.min(count, copy.size()));
+    }
+}
@@ -0,0 +1,38 @@
+/*
+    Vivaan Echambadi
+    10/17/2026
+
+    BenchmarkRunner class will run the JMH benchmarks with the GC profiler turned on, so every result also shows the allocation rate.
+    An optional argument picks which benchmarks to run with a regular expression, for example:
+        java -cp target/benchmarks.jar benchmarks.BenchmarkRunner SuggestionEngineBenchmark.rankTopFive
+
+*/
+
+// importing packages
+package benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+// BenchmarkRunner class definition
+public class BenchmarkRunner {
+
+    // main() method will build the JMH options and run the benchmarks
+    public static void main(String[] args) throws RunnerException {
+        // picking the benchmarks to run, all of the suggestion engine benchmarks by default
+        String include = SuggestionEngineBenchmark.class.getSimpleName();
+        if (args.length > 0) {
+            include = args[0];
+        }
+
+        // running the benchmarks with the GC profiler
+        Options options = new OptionsBuilder()
+                .include(include)
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
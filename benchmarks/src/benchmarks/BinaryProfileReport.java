@@ -0,0 +1,82 @@
+/*
+    Vivaan Echambadi
+    10/17/2026
+
+    BinaryProfileReport class will compare the text profile format with the binary profile format on synthetic profiles. For each
+    profile size it converts the text profile to binary with ProfileConverter and prints the size of both files, the time to load
+    only the profile details, the time to load the whole profile without using its history, and the time to load the whole profile
+    and decode its history. Each time is the best of several runs. Run it with:
+        java -cp target/benchmarks.jar benchmarks.BinaryProfileReport
+
+*/
+
+// importing packages
+package benchmarks;
+
+import data.FileManager;
+import data.ProfileConverter;
+import data.UserProfile;
+
+import java.io.File;
+
+// BinaryProfileReport class definition
+public class BinaryProfileReport {
+
+    // sizes of the synthetic profiles and how many times each load is timed
+    private static final int[] MESSAGE_COUNTS = {1000, 100000, 1000000};
+    private static final int RUNS = 5;
+
+    // main() method will write each profile, convert it, and print one report line per format
+    public static void main(String[] args) {
+        System.out.printf("%-10s %-8s %14s %8s %14s %14s %14s%n", "Messages", "Format", "Size (bytes)", "Ratio", "Header (ms)",
+                "Load (ms)", "Decode (ms)");
+
+        // reporting on each profile size
+        for (int messageCount : MESSAGE_COUNTS) {
+            // writing the text profile and converting it to binary
+            String userName = "binaryReport" + messageCount;
+            SyntheticProfiles.delete(userName);
+            File text = SyntheticProfiles.write(userName, messageCount, 42);
+            File binary = new File("profiles", userName + ".nbp");
+            ProfileConverter.toBinary(text.getPath(), binary.getPath());
+
+            // printing one line for each format
+            report(messageCount, "text", text, text.length());
+            report(messageCount, "binary", binary, text.length());
+            SyntheticProfiles.delete(userName);
+        }
+    }
+
+    // HELPER METHODS
+
+    // report() method will time loading one profile file and print its line of the report
+    private static void report(int messageCount, String format, File file, long textLength) {
+        // keeping the best time of each kind of load
+        double headerMillis = Double.MAX_VALUE;
+        double loadMillis = Double.MAX_VALUE;
+        double decodeMillis = Double.MAX_VALUE;
+        int checksum = 0;
+
+        // timing each kind of load several times
+        for (int run = 0; run < RUNS; run++) {
+            long start = System.nanoTime();
+            checksum += FileManager.loadProfileHeaderFromTxt(file.getPath()).getAge();
+            headerMillis = Math.min(headerMillis, (System.nanoTime() - start) / 1e6);
+
+            start = System.nanoTime();
+            UserProfile profile = FileManager.loadProfileFromTxt(file.getPath());
+            loadMillis = Math.min(loadMillis, (System.nanoTime() - start) / 1e6);
+            checksum += profile.getHistory().size();
+            decodeMillis = Math.min(decodeMillis, (System.nanoTime() - start) / 1e6);
+        }
+
+        // checking that every run loaded the whole history
+        if (checksum != RUNS * (10 + messageCount)) {
+            System.out.println("Unexpected history size for " + file.getPath());
+        }
+
+        // printing the report line
+        System.out.printf("%-10d %-8s %14d %7.1fx %14.3f %14.3f %14.3f%n", messageCount, format, file.length(),
+                (double) textLength / file.length(), headerMillis, loadMillis, decodeMillis);
+    }
+}
@@ -0,0 +1,95 @@
+/*
+    Vivaan Echambadi
+    10/17/2026
+
+    HistorySegmentsReport class will show what splitting a long history into monthly segments saves when a profile is loaded. For
+    each profile size it writes a synthetic profile covering the year before now, times loading it in one file, rotates it with
+    MessageJournal so only the current month stays in the profile file, and times loading it again with its recent segments, the
+    whole history, and one older month on demand. Each time is the best of several runs. Run it with:
+        java -cp target/benchmarks.jar benchmarks.HistorySegmentsReport
+
+*/
+
+// importing packages
+package benchmarks;
+
+import data.FileManager;
+import data.HistorySegment;
+import data.HistorySegments;
+import data.MessageJournal;
+import data.TimestampParser;
+
+import java.io.File;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.IntSupplier;
+
+// HistorySegmentsReport class definition
+public class HistorySegmentsReport {
+
+    // sizes of the synthetic profiles and how many times each load is timed
+    private static final int[] MESSAGE_COUNTS = {100000, 1000000};
+    private static final int RUNS = 5;
+
+    // main() method will write, rotate and time each profile
+    public static void main(String[] args) {
+        System.out.printf("%-10s %14s %12s %18s %16s %14s %14s%n", "Messages", "One file (ms)", "Rotate (ms)", "Recent load (ms)",
+                "Recent messages", "Whole (ms)", "Month (ms)");
+
+        // reporting on each profile size
+        for (int messageCount : MESSAGE_COUNTS) {
+            // writing the profile and timing loading it in one file
+            String userName = "segmentReport" + messageCount;
+            deleteSegments(userName);
+            SyntheticProfiles.delete(userName);
+            String path = SyntheticProfiles.write(userName, messageCount, 42).getPath();
+            double oneFileMillis = bestOf(() -> FileManager.loadProfileFromTxt(path).getHistory().size());
+
+            // moving every message from before the current month into segments
+            long start = System.nanoTime();
+            long now = TimestampParser.fromLocalDateTime(LocalDateTime.now());
+            MessageJournal.forProfile(path).rotate(HistorySegments.monthStart(now));
+            double rotateMillis = (System.nanoTime() - start) / 1e6;
+
+            // timing loading the profile with its recent segments, the whole history, and one older month
+            int recent = FileManager.loadProfileFromTxt(path).getHistory().size();
+            double recentMillis = bestOf(() -> FileManager.loadProfileFromTxt(path).getHistory().size());
+            double wholeMillis = bestOf(() -> FileManager.loadHistoryFromTxt(path).size());
+            HistorySegments segments = HistorySegments.forProfile(path);
+            List<HistorySegment> list = segments.getSegments();
+            HistorySegment oldest = list.get(0);
+            double monthMillis = bestOf(() -> segments.load(oldest).size());
+
+            // printing the report line and removing the files
+            System.out.printf("%-10d %14.1f %12.1f %18.1f %16d %14.1f %14.1f%n", messageCount, oneFileMillis, rotateMillis, recentMillis,
+                    recent, wholeMillis, monthMillis);
+            deleteSegments(userName);
+            SyntheticProfiles.delete(userName);
+        }
+    }
+
+    // HELPER METHODS
+
+    // bestOf() method will return the best time of several runs of a load, in milliseconds, the load returns a size so it cannot be skipped
+    private static double bestOf(IntSupplier load) {
+        double best = Double.MAX_VALUE;
+        for (int run = 0; run < RUNS; run++) {
+            long start = System.nanoTime();
+            load.getAsInt();
+            best = Math.min(best, (System.nanoTime() - start) / 1e6);
+        }
+        return best;
+    }
+
+    // deleteSegments() method will remove the segment folder of a synthetic profile
+    private static void deleteSegments(String userName) {
+        File folder = new File(HistorySegments.folderPathFor("profiles/" + userName + ".txt"));
+        File[] files = folder.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        folder.delete();
+    }
+}
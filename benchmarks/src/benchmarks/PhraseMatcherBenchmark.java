@@ -0,0 +1,149 @@
+/*
+    Vivaan Echambadi
+    10/17/2026
+
+    PhraseMatcherBenchmark() class will compare counting phrase occurrences with one String.contains() check per phrase per message
+    against one PhraseMatcher scan per message, on a synthetic history built from the phrases in resources/phrases.txt.
+    It will check that both approaches count the same messages for every phrase and print the time each one took.
+    Run it from the project folder, for example:
+        javac -sourcepath src -d out-bench benchmarks/src/benchmarks/PhraseMatcherBenchmark.java
+        java -cp out-bench benchmarks.PhraseMatcherBenchmark 100000
+    It is also built into target/benchmarks.jar by the benchmark module (see pom.xml).
+
+*/
+
+// importing packages
+package benchmarks;
+
+import business.PhraseMatcher;
+
+import java.util.*;
+
+// PhraseMatcherBenchmark class definition
+public class PhraseMatcherBenchmark {
+
+    // base phrases that the synthetic messages are built from, the same meanings as the phrase tiles
+    private static final String[] BASE_PHRASES = {
+        "I am thirsty", "I am hungry", "I need to use the bathroom", "I want to go outside", "I am not feeling well",
+        "I want to watch TV", "I need a break from noise", "I need assistance", "I want to Sleep", "I feel cold", "I feel hot"
+    };
+
+    // main() method will build the history, run both approaches a few times, and print the results
+    public static void main(String[] args) {
+        // reading the number of messages from the arguments, 100,000 by default
+        int messageCount = 100000;
+        if (args.length > 0) {
+            messageCount = Integer.parseInt(args[0]);
+        }
+
+        // building the vocabulary and the synthetic history
+        List<String> vocabulary = buildVocabulary();
+        List<String> history = buildHistory(vocabulary, messageCount, new Random(42));
+        System.out.println("Messages: " + history.size() + ", phrases: " + vocabulary.size());
+
+        // running both approaches a few times so the JIT has warmed up before the last round
+        int[] containsCounts = null;
+        int[] matcherCounts = null;
+        for (int round = 1; round <= 5; round++) {
+            // timing the String.contains() approach
+            long start = System.nanoTime();
+            containsCounts = countWithContains(vocabulary, history);
+            long containsNanos = System.nanoTime() - start;
+
+            // timing the PhraseMatcher approach, including building the automaton
+            start = System.nanoTime();
+            matcherCounts = countWithMatcher(vocabulary, history);
+            long matcherNanos = System.nanoTime() - start;
+
+            // printing the times for this round
+            System.out.printf("Round %d: contains %.1f ms, matcher %.1f ms (%.1fx)%n", round,
+                    containsNanos / 1e6, matcherNanos / 1e6, (double) containsNanos / matcherNanos);
+        }
+
+        // checking that both approaches counted the same messages for every phrase
+        if (!Arrays.equals(containsCounts, matcherCounts)) {
+            System.out.println("MISMATCH between contains and matcher counts");
+            System.exit(1);
+        }
+        System.out.println("Counts match for all " + vocabulary.size() + " phrases");
+    }
+
+    // countWithContains() method will count the messages containing each phrase with one contains() call per phrase per message
+    private static int[] countWithContains(List<String> vocabulary, List<String> history) {
+        // array to hold the count of each phrase
+        int[] counts = new int[vocabulary.size()];
+
+        // checking every phrase against every message
+        for (int p = 0; p < vocabulary.size(); p++) {
+            String phrase = vocabulary.get(p);
+            for (int m = 0; m < history.size(); m++) {
+                if (history.get(m).contains(phrase)) {
+                    counts[p] += 1;
+                }
+            }
+        }
+
+        // returning the counts
+        return counts;
+    }
+
+    // countWithMatcher() method will count the messages containing each phrase with one matcher scan per message
+    private static int[] countWithMatcher(List<String> vocabulary, List<String> history) {
+        // array to hold the count of each phrase, and the last message each phrase was counted in
+        int[] counts = new int[vocabulary.size()];
+        int[] lastMessage = new int[vocabulary.size()];
+        Arrays.fill(lastMessage, -1);
+
+        // building the matcher and scanning each message once
+        PhraseMatcher matcher = new PhraseMatcher(vocabulary);
+        for (int m = 0; m < history.size(); m++) {
+            int messageIndex = m;
+            matcher.findAll(history.get(m), id -> {
+                // counting each message only once per phrase
+                if (lastMessage[id] != messageIndex) {
+                    lastMessage[id] = messageIndex;
+                    counts[id] += 1;
+                }
+            });
+        }
+
+        // returning the counts
+        return counts;
+    }
+
+    // buildVocabulary() method will build a realistic vocabulary of base phrases plus longer variations of them
+    private static List<String> buildVocabulary() {
+        // list to hold the vocabulary
+        List<String> vocabulary = new ArrayList<>();
+
+        // adding each base phrase and a few variations that a caregiver might type
+        for (String phrase : BASE_PHRASES) {
+            vocabulary.add(phrase);
+            vocabulary.add(phrase + " now");
+            vocabulary.add(phrase + " please");
+            vocabulary.add("Right now " + phrase.toLowerCase());
+        }
+
+        // returning the vocabulary
+        return vocabulary;
+    }
+
+    // buildHistory() method will build messageCount messages, each made of one to four random vocabulary phrases
+    private static List<String> buildHistory(List<String> vocabulary, int messageCount, Random random) {
+        // list to hold the history
+        List<String> history = new ArrayList<>(messageCount);
+
+        // building each message
+        for (int i = 0; i < messageCount; i++) {
+            StringBuilder message = new StringBuilder();
+            int phrases = 1 + random.nextInt(4);
+            for (int p = 0; p < phrases; p++) {
+                message.append(vocabulary.get(random.nextInt(vocabulary.size()))).append(". ");
+            }
+            history.add(message.toString().trim());
+        }
+
+        // returning the history
+        return history;
+    }
+}
@@ -0,0 +1,68 @@
+/*
+    Vivaan Echambadi
+    10/17/2026
+
+    ProfileCatalogReport class will show how long listing the profiles for the profile picker takes with ProfileCatalog. It writes
+    PROFILE_COUNT synthetic profiles with MESSAGES_PER_PROFILE messages each, then times the first scan of the profiles folder, which
+    reads only the header of each profile, a second scan with no changed files, which reads none of them, and, to compare, loading
+    every profile in full like the app did before it had a catalog. Run it with:
+        java -cp target/benchmarks.jar benchmarks.ProfileCatalogReport
+
+*/
+
+// importing packages
+package benchmarks;
+
+import data.FileManager;
+import data.ProfileCatalog;
+import data.ProfileSummary;
+
+import java.util.List;
+
+// ProfileCatalogReport class definition
+public class ProfileCatalogReport {
+
+    // number of synthetic profiles and how many messages each one has
+    private static final int PROFILE_COUNT = 500;
+    private static final int MESSAGES_PER_PROFILE = 2000;
+
+    // main() method will write the profiles, time each way of listing them, and remove them
+    public static void main(String[] args) {
+        // writing the profiles
+        for (int i = 0; i < PROFILE_COUNT; i++) {
+            String userName = "catalogReport" + i;
+            SyntheticProfiles.delete(userName);
+            SyntheticProfiles.write(userName, MESSAGES_PER_PROFILE, i);
+        }
+
+        // timing the first scan, which reads the header of every profile
+        ProfileCatalog catalog = new ProfileCatalog("profiles");
+        long start = System.nanoTime();
+        List<ProfileSummary> profiles = catalog.refresh();
+        double firstMillis = (System.nanoTime() - start) / 1e6;
+
+        // timing a second scan, which only checks the size and time of each file
+        start = System.nanoTime();
+        catalog.refresh();
+        double refreshMillis = (System.nanoTime() - start) / 1e6;
+
+        // timing loading every profile in full
+        start = System.nanoTime();
+        int messages = 0;
+        for (ProfileSummary summary : profiles) {
+            messages += FileManager.loadProfileFromTxt(summary.getPath()).getHistory().size();
+        }
+        double fullMillis = (System.nanoTime() - start) / 1e6;
+
+        // printing the report
+        System.out.printf("%d profiles, %d messages each%n", profiles.size(), MESSAGES_PER_PROFILE);
+        System.out.printf("%-32s %10.1f ms%n", "First scan (headers only)", firstMillis);
+        System.out.printf("%-32s %10.1f ms%n", "Scan again (no changes)", refreshMillis);
+        System.out.printf("%-32s %10.1f ms   (%d messages)%n", "Loading every profile in full", fullMillis, messages);
+
+        // removing the profiles
+        for (int i = 0; i < PROFILE_COUNT; i++) {
+            SyntheticProfiles.delete("catalogReport" + i);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+/*
+    Vivaan Echambadi
+    10/17/2026
+
+    ProfileSaveBenchmark class will measure what saving one new message costs for profiles with 1k and 100k messages, once by
+    rewriting the whole profile file like FileManager.saveProfileToTxt() does and once by appending the message to the profile's
+    MessageJournal, which writes and syncs only the new line.
+
+*/
+
+// importing packages
+package benchmarks;
+
+import data.FileManager;
+import data.MessageJournal;
+import data.UserProfile;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// ProfileSaveBenchmark class definition
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProfileSaveBenchmark {
+
+    // number of messages already in the profile
+    @Param({"1000", "100000"})
+    public int messageCount;
+
+    // state shared by the benchmarks for one profile size
+    private String userName;
+    private String profilePath;
+    private UserProfile profile;
+    private MessageJournal journal;
+    private Random random;
+
+    // setUp() method will write the synthetic profile and load it like the app does
+    @Setup(Level.Trial)
+    public void setUp() {
+        // writing the profile and loading it back
+        userName = "save" + messageCount;
+        SyntheticProfiles.delete(userName);
+        profilePath = SyntheticProfiles.write(userName, messageCount, 42).getPath();
+        profile = FileManager.loadProfileFromTxt(profilePath);
+        journal = MessageJournal.forProfile(profilePath);
+        random = new Random(7);
+    }
+
+    // resetJournal() method will start every iteration from an empty journal
+    @Setup(Level.Iteration)
+    public void resetJournal() {
+        new File(MessageJournal.journalPathFor(profilePath)).delete();
+    }
+
+    // tearDown() method will remove the files written for the profile
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        SyntheticProfiles.delete(userName);
+    }
+
+    // fullRewrite() benchmark will write every profile field and message to save one new message
+    @Benchmark
+    public void fullRewrite() {
+        FileManager.saveProfileToTxt(profile, profilePath);
+    }
+
+    // journalAppend() benchmark will append one new message to the journal and sync it to disk
+    @Benchmark
+    public int journalAppend() {
+        journal.append("2026/10/17 12:00:00 | " + SyntheticProfiles.buildMessage(random));
+        return journal.sync();
+    }
+}
@@ -0,0 +1,207 @@
+/*
+    Vivaan Echambadi
+    10/17/2026
+
+    ScoringEquivalenceReport class will check that the single-pass PhraseScorer ranks phrases the same way as the original
+    getSuggestions() code, which scanned every message with String.contains() once per phrase. The original scoring is kept here as
+    it was: the frequency score is the number of messages containing the phrase over the highest number of uses of any phrase, the
+    recency score was the same for every phrase (its scan always set the last index to 1), and the time bonus never applied since the
+    history was read without timestamps. So the messages are given to the kernel without timestamps too, which leaves its recency and
+    time bonus at 0, and for every phrase the kernel's score must equal the original score without its constant recency part, with
+    the same "Used N times" reason. The later requests that changed the recency score on purpose are not part of this check.
+    It checks the sample profiles given as arguments (profiles/Jane.txt by default), a history where some phrases are part of
+    others, and synthetic histories, and prints one line per history. If any of them differs, or a profile cannot be read, it fails
+    with an AssertionError, so the run exits with a non-zero status. The benchmark module runs it in its test phase, so
+    mvn -B test fails when the rankings change. It can also be run from the repository folder with:
+        java -cp benchmarks/target/benchmarks.jar benchmarks.ScoringEquivalenceReport [profile files]
+
+*/
+
+// importing packages
+package benchmarks;
+
+import business.PhraseScorer;
+import business.PhraseSuggestion;
+import data.HistoryStore;
+import data.TimestampParser;
+import data.UserProfile;
+
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.*;
+
+// ScoringEquivalenceReport class definition
+public class ScoringEquivalenceReport {
+
+    // weights of the original scoring
+    private static final double FREQUENCY_WEIGHT = 0.6;
+
+    // sizes and seeds of the synthetic histories
+    private static final int SYNTHETIC_MESSAGES = 2000;
+    private static final long[] SYNTHETIC_SEEDS = {1, 2, 3};
+
+    // history where some phrases are part of other phrases, which String.contains() counts in both
+    private static final String[] SUBSTRING_HISTORY = {
+        "I want water. Go outside", "I want water", "water", "I want water now. water", "Go outside. I want", "I want"
+    };
+
+    // main() method will compare the rankings of every history and fail with an AssertionError if any differs
+    public static void main(String[] args) {
+        boolean allSame = true;
+        System.out.printf("%-28s %9s %8s  %s%n", "History", "Messages", "Phrases", "Result");
+
+        // checking the sample profiles
+        String[] profiles = args.length > 0 ? args : new String[] {"profiles/Jane.txt"};
+        for (String path : profiles) {
+            List<String> messages = loadMessages(path);
+            if (messages == null) {
+                System.out.printf("%-28s %9s %8s  %s%n", path, "-", "-", "could not be read");
+                allSame = false;
+                continue;
+            }
+            allSame &= report(path, messages);
+        }
+
+        // checking the history with phrases inside other phrases
+        allSame &= report("phrases inside phrases", Arrays.asList(SUBSTRING_HISTORY));
+
+        // checking the synthetic histories
+        for (long seed : SYNTHETIC_SEEDS) {
+            Random random = new Random(seed);
+            List<String> messages = new ArrayList<>();
+            for (int i = 0; i < SYNTHETIC_MESSAGES; i++) {
+                messages.add(SyntheticProfiles.buildMessage(random));
+            }
+            allSame &= report("synthetic seed " + seed, messages);
+        }
+
+        // failing if any history ranked differently
+        if (!allSame) {
+            throw new AssertionError("Some rankings differ from the original scoring or could not be checked");
+        }
+        System.out.println("All rankings match the original scoring");
+    }
+
+    // HELPER METHODS
+
+    // report() method will compare the original scores and reasons with the kernel's for one history and print the result
+    private static boolean report(String name, List<String> messages) {
+        // scoring every phrase both ways
+        Map<String, PhraseSuggestion> original = scoreOriginal(messages);
+        List<PhraseSuggestion> kernel = scoreKernel(messages, original.size());
+
+        // comparing the phrases, their scores and reasons, and checking that the kernel ranks them from highest to lowest score
+        String difference = null;
+        if (kernel.size() != original.size()) {
+            difference = "kernel has " + kernel.size() + " phrases instead of " + original.size();
+        }
+        for (int i = 0; i < kernel.size() && difference == null; i++) {
+            PhraseSuggestion suggestion = kernel.get(i);
+            PhraseSuggestion expected = original.get(suggestion.getPhrase());
+            if (expected == null) {
+                difference = "unexpected phrase \"" + suggestion.getPhrase() + "\"";
+            } else if (Math.abs(expected.getScore() - suggestion.getScore()) > 1e-9) {
+                difference = "\"" + suggestion.getPhrase() + "\" scores " + suggestion.getScore() + " instead of " + expected.getScore();
+            } else if (!expected.getReason().equals(suggestion.getReason())) {
+                difference = "\"" + suggestion.getPhrase() + "\" has reason \"" + suggestion.getReason() + "\" instead of \""
+                        + expected.getReason() + "\"";
+            } else if (i > 0 && suggestion.getScore() > kernel.get(i - 1).getScore()) {
+                difference = "\"" + suggestion.getPhrase() + "\" is ranked below a lower score";
+            }
+        }
+
+        // printing the result line
+        System.out.printf("%-28s %9d %8d  %s%n", name, messages.size(), original.size(), difference == null ? "same ranking" : difference);
+        return difference == null;
+    }
+
+    // scoreKernel() method will score every phrase with PhraseScorer, giving it the messages without timestamps
+    private static List<PhraseSuggestion> scoreKernel(List<String> messages, int maxResults) {
+        // building the history without timestamps and the kernel from it
+        HistoryStore history = new HistoryStore();
+        for (String message : messages) {
+            history.append(TimestampParser.NO_TIMESTAMP, message);
+        }
+        PhraseScorer scorer = PhraseScorer.fromHistory(history, UserProfile.DEFAULT_RECENCY_HALF_LIFE_HOURS);
+
+        // scoring every phrase, the time of day does not matter without timestamps
+        return scorer.scoreTop("morning", Math.max(1, maxResults), 0);
+    }
+
+    // scoreOriginal() method will score every phrase the way the original getSuggestions() did, leaving out its recency score,
+    // which was the same for every phrase
+    private static Map<String, PhraseSuggestion> scoreOriginal(List<String> messages) {
+        // collecting the unique phrases and the highest number of uses of any phrase
+        Map<String, Integer> uses = new LinkedHashMap<>();
+        for (String message : messages) {
+            for (String part : message.split("\\.")) {
+                String phrase = part.trim();
+                if (!phrase.isEmpty()) {
+                    uses.merge(phrase, 1, Integer::sum);
+                }
+            }
+        }
+        int maxCount = 0;
+        for (int count : uses.values()) {
+            maxCount = Math.max(maxCount, count);
+        }
+
+        // scoring each phrase by the number of messages that contain it
+        Map<String, PhraseSuggestion> scores = new HashMap<>();
+        for (String phrase : uses.keySet()) {
+            int count = 0;
+            for (String message : messages) {
+                if (message.contains(phrase)) {
+                    count += 1;
+                }
+            }
+            double freqScore = maxCount == 0 ? 0 : ((double) count / (double) maxCount) * 100;
+            scores.put(phrase, new PhraseSuggestion(phrase, FREQUENCY_WEIGHT * freqScore, originalReason(count)));
+        }
+        return scores;
+    }
+
+    // originalReason() method will build the reason the original code showed, where the recent window was the whole history
+    private static String originalReason(int count) {
+        String reason = "Used " + count + " time" + (count != 1 ? "s" : "");
+        if (count > 1) {
+            reason += " (" + count + " recently)";
+        }
+        return reason;
+    }
+
+    // loadMessages() method will read the messages of a profile file the way the original code did, taking the text after the
+    // timestamp of every "Message:" line, or return null if the file cannot be read
+    private static List<String> loadMessages(String path) {
+        List<String> messages = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new FileReader(path))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                // skipping lines that are not messages
+                if (!line.trim().startsWith("Message:")) {
+                    continue;
+                }
+
+                // taking the text after the timestamp if there is one
+                String fullMessage = line.substring(line.indexOf("Message:") + 8).trim();
+                String content = fullMessage;
+                if (fullMessage.contains(" | ")) {
+                    String[] parts = fullMessage.split(" \\| ", 2);
+                    if (parts.length == 2) {
+                        content = parts[1].trim();
+                    }
+                }
+                if (!content.isEmpty()) {
+                    messages.add(content);
+                }
+            }
+        }
+        // handling IOException during reading, which fails the check instead of comparing an empty history
+        catch (IOException e) {
+            System.out.println("Error reading profile " + path + ": " + e.getMessage());
+            return null;
+        }
+        return messages;
+    }
+}
@@ -0,0 +1,115 @@
+/*
+    Vivaan Echambadi
+    10/17/2026
+
+    SuggestionEngineBenchmark class will measure the suggestion engine against synthetic profiles with 1k, 100k and 1M messages.
+    It covers the three steps behind the suggestion panel: loading the message history from the profile file, building the
+    phrase statistics from that history, and ranking the phrases, as well as AISuggestionEngine.getSuggestions() itself both when
+    the cached lists can be served and right after a new message has been recorded.
+    Every benchmark reports throughput and average time, and running it with the GC profiler (-prof gc) adds the allocation rate.
+
+*/
+
+// importing packages
+package benchmarks;
+
+import business.AISuggestionEngine;
+import business.PhraseScorer;
+import business.PhraseStatsIndex;
+import business.PhraseSuggestion;
+import business.SuggestionCache;
+import data.FileManager;
+import data.HistoryStore;
+import data.TimestampParser;
+import data.UserProfile;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// SuggestionEngineBenchmark class definition
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SuggestionEngineBenchmark {
+
+    // number of messages in the synthetic profile
+    @Param({"1000", "100000", "1000000"})
+    public int messageCount;
+
+    // state shared by the benchmarks for one profile size
+    private String userName;
+    private File profileFile;
+    private HistoryStore history;
+    private PhraseScorer scorer;
+    private AISuggestionEngine engine;
+    private PhraseStatsIndex index;
+    private SuggestionCache cache;
+    private Random random;
+    private long nowSeconds;
+
+    // setUp() method will write the synthetic profile and load everything the benchmarks start from
+    @Setup(Level.Trial)
+    public void setUp() {
+        // writing the profile under a name that is unique to its size
+        userName = "benchmark" + messageCount;
+        SyntheticProfiles.delete(userName);
+        profileFile = SyntheticProfiles.write(userName, messageCount, 42);
+
+        // loading the history and building the statistics once for the ranking benchmark
+        history = FileManager.loadHistoryFromTxt(profileFile.getPath());
+        scorer = PhraseScorer.fromHistory(history, UserProfile.DEFAULT_RECENCY_HALF_LIFE_HOURS);
+        nowSeconds = TimestampParser.fromLocalDateTime(LocalDateTime.now());
+
+        // creating the engine, which loads the user's phrase index, and asking for suggestions once so the cache is filled
+        engine = new AISuggestionEngine(userName);
+        index = PhraseStatsIndex.forUser(userName);
+        cache = SuggestionCache.forUser(userName);
+        engine.getSuggestions(5);
+        random = new Random(7);
+    }
+
+    // tearDown() method will remove the files written for the profile
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        SyntheticProfiles.delete(userName);
+    }
+
+    // loadHistory() benchmark will read the message history from the profile file into a HistoryStore
+    @Benchmark
+    public HistoryStore loadHistory() {
+        return FileManager.loadHistoryFromTxt(profileFile.getPath());
+    }
+
+    // buildStatistics() benchmark will build the phrase statistics from the loaded history, like a rebuild of the phrase index
+    @Benchmark
+    public PhraseScorer buildStatistics() {
+        return PhraseScorer.fromHistory(history, UserProfile.DEFAULT_RECENCY_HALF_LIFE_HOURS);
+    }
+
+    // rankTopFive() benchmark will score every phrase and keep the best five
+    @Benchmark
+    public List<PhraseSuggestion> rankTopFive() {
+        return scorer.scoreTop("morning", 5, nowSeconds);
+    }
+
+    // getSuggestions() benchmark will ask the engine for suggestions when nothing has changed, so the cached list is served
+    @Benchmark
+    public List<PhraseSuggestion> getSuggestions() {
+        return engine.getSuggestions(5);
+    }
+
+    // getSuggestionsAfterNewMessage() benchmark will record a new message and then ask for suggestions, so the lists are recomputed
+    @Benchmark
+    public List<PhraseSuggestion> getSuggestionsAfterNewMessage() {
+        index.recordMessage(SyntheticProfiles.buildMessage(random), nowSeconds);
+        cache.bumpHistoryVersion();
+        return engine.getSuggestions(5);
+    }
+}
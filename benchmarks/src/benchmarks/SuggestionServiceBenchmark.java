@@ -0,0 +1,95 @@
+/*
+    Vivaan Echambadi
+    10/17/2026
+
+    SuggestionServiceBenchmark class will measure the SuggestionService the way a shared classroom machine uses it: 200 synthetic
+    profiles, eight threads asking for suggestions for random students at the same time, and one request in twenty saving a new
+    message first. It runs in sample mode so JMH reports the latency percentiles (p50, p99, p99.9), once with a memory budget large
+    enough for every student and once with a small budget that keeps unloading and reloading students.
+
+*/
+
+// importing packages
+package benchmarks;
+
+import business.PhraseStatsIndex;
+import business.PhraseSuggestion;
+import business.SuggestionCache;
+import business.SuggestionService;
+import data.TimestampParser;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// SuggestionServiceBenchmark class definition
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+@State(Scope.Benchmark)
+public class SuggestionServiceBenchmark {
+
+    // number of profiles served by the machine and messages in each of them
+    private static final int PROFILE_COUNT = 200;
+    private static final int MESSAGES_PER_PROFILE = 2000;
+
+    // memory budget of the service in megabytes
+    @Param({"1", "64"})
+    public int budgetMegabytes;
+
+    // state shared by every thread
+    private SuggestionService service;
+    private String[] userNames;
+    private long nowSeconds;
+
+    // ThreadState class will hold the random numbers of one benchmark thread
+    @State(Scope.Thread)
+    public static class ThreadState {
+        Random random = new Random(Thread.currentThread().getId());
+    }
+
+    // setUp() method will write the profiles and create the service
+    @Setup(Level.Trial)
+    public void setUp() {
+        // writing every profile
+        userNames = new String[PROFILE_COUNT];
+        for (int i = 0; i < PROFILE_COUNT; i++) {
+            userNames[i] = "classroom" + i;
+            SyntheticProfiles.delete(userNames[i]);
+            SyntheticProfiles.write(userNames[i], MESSAGES_PER_PROFILE, i);
+        }
+
+        // creating a service with the budget being measured and one worker per thread
+        service = new SuggestionService(budgetMegabytes * 1024L * 1024L, 8);
+        nowSeconds = TimestampParser.fromLocalDateTime(LocalDateTime.now());
+    }
+
+    // tearDown() method will remove the profiles
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        for (String userName : userNames) {
+            SyntheticProfiles.delete(userName);
+        }
+    }
+
+    // getSuggestions() benchmark will ask for a random student's suggestions, saving a message first one time in twenty
+    @Benchmark
+    public List<PhraseSuggestion> getSuggestions(ThreadState state) {
+        // picking the student
+        String userName = userNames[state.random.nextInt(PROFILE_COUNT)];
+
+        // saving a new message the same way PhraseExtractor does
+        if (state.random.nextInt(20) == 0) {
+            PhraseStatsIndex.forUser(userName).recordMessage(SyntheticProfiles.buildMessage(state.random), nowSeconds);
+            SuggestionCache.forUser(userName).bumpHistoryVersion();
+        }
+
+        // asking the service for the suggestions
+        return service.getSuggestions(userName, 5);
+    }
+}
@@ -0,0 +1,90 @@
+/*
+    Vivaan Echambadi
+    10/17/2026
+
+    SyntheticProfiles class will write realistic profile files for the benchmarks. Each message is one to three tile meanings,
+    picked so that a few phrases are much more common than the rest like in a real history, and the timestamps are spread
+    evenly over the year before now in order. The files are written with FileManager so they use the same format as the app.
+
+*/
+
+// importing packages
+package benchmarks;
+
+import data.FileManager;
+import data.HistoryStore;
+import data.TimestampParser;
+import data.UserProfile;
+
+import java.io.File;
+import java.time.LocalDateTime;
+import java.util.Random;
+
+// SyntheticProfiles class definition
+public class SyntheticProfiles {
+
+    // tile meanings that the synthetic messages are built from, the same as resources/phrases.txt
+    static final String[] MEANINGS = {
+        "I am thirsty.", "I am hungry.", "I need to use the bathroom.", "I want to go outside.", "I am not feeling well.",
+        "I want to watch TV.", "I need a break from noise.", "I need assistance.", "I want to Sleep.", "I feel cold.", "I feel hot."
+    };
+
+    private static final long SECONDS_PER_YEAR = 365L * 24 * 3600;
+
+    // write() method will write a profile for userName with messageCount messages to profiles/<userName>.txt and return the file
+    public static File write(String userName, int messageCount, long seed) {
+        // making sure the profiles folder exists
+        File folder = new File("profiles");
+        folder.mkdirs();
+
+        // creating the profile details
+        UserProfile profile = new UserProfile(userName);
+        profile.setAge(10);
+        profile.setPrimaryDiagnosis("Autism");
+        profile.setNonVerbal(true);
+
+        // spreading the messages over the year before now
+        Random random = new Random(seed);
+        long now = TimestampParser.fromLocalDateTime(LocalDateTime.now().withNano(0));
+        long start = now - SECONDS_PER_YEAR;
+        long step = Math.max(1, SECONDS_PER_YEAR / Math.max(1, messageCount));
+
+        // adding each message to the profile's history
+        HistoryStore history = profile.getHistory();
+        for (int i = 0; i < messageCount; i++) {
+            history.append(start + i * step, buildMessage(random));
+        }
+
+        // writing the profile with the app's own writer
+        File file = new File(folder, userName + ".txt");
+        FileManager.saveProfileToTxt(profile, file.getPath());
+        return file;
+    }
+
+    // delete() method will remove the text and binary profile, its message journal, and the phrase index files written for userName
+    public static void delete(String userName) {
+        new File("profiles", userName + ".txt").delete();
+        new File("profiles", userName + ".nbp").delete();
+        new File("profiles", userName + "_journal.txt").delete();
+        new File("profiles", userName + "_stats.txt").delete();
+    }
+
+    // buildMessage() method will build one message of one to three meanings, favouring the first few meanings
+    static String buildMessage(Random random) {
+        // picking how many meanings the message has
+        StringBuilder message = new StringBuilder();
+        int parts = 1 + random.nextInt(3);
+
+        // picking each meaning, squaring the random number so lower indexes come up more often
+        for (int p = 0; p < parts; p++) {
+            double skewed = random.nextDouble() * random.nextDouble();
+            if (p > 0) {
+                message.append(' ');
+            }
+            message.append(MEANINGS[(int) (skewed * MEANINGS.length)]);
+        }
+
+        // returning the message
+        return message.toString();
+    }
+}
@@ -0,0 +1,61 @@
+/*
+    Vivaan Echambadi
+    10/17/2026
+
+    TailReaderReport class will show that reading the newest messages of a profile backwards with HistoryTailReader costs about the
+    same however long the history is. For each profile size it writes a synthetic profile in one file and times loading the last
+    LATEST messages with FileManager.loadRecentHistory() against loading the whole history with FileManager.loadHistoryFromTxt().
+    Each time is the best of several runs. Run it with:
+        java -cp target/benchmarks.jar benchmarks.TailReaderReport
+
+*/
+
+// importing packages
+package benchmarks;
+
+import data.FileManager;
+
+import java.util.function.IntSupplier;
+
+// TailReaderReport class definition
+public class TailReaderReport {
+
+    // sizes of the synthetic profiles, how many of the newest messages are read, and how many times each load is timed
+    private static final int[] MESSAGE_COUNTS = {10000, 100000, 1000000};
+    private static final int LATEST = 50;
+    private static final int RUNS = 5;
+
+    // main() method will write and time each profile
+    public static void main(String[] args) {
+        System.out.printf("%-10s %18s %16s %10s%n", "Messages", "Last " + LATEST + " (ms)", "Whole (ms)", "Speedup");
+
+        // reporting on each profile size
+        for (int messageCount : MESSAGE_COUNTS) {
+            // writing the profile
+            String userName = "tailReport" + messageCount;
+            SyntheticProfiles.delete(userName);
+            String path = SyntheticProfiles.write(userName, messageCount, 42).getPath();
+
+            // timing reading the newest messages and the whole history
+            double latestMillis = bestOf(() -> FileManager.loadRecentHistory(path, LATEST).size());
+            double wholeMillis = bestOf(() -> FileManager.loadHistoryFromTxt(path).size());
+
+            // printing the report line and removing the files
+            System.out.printf("%-10d %18.2f %16.1f %9.0fx%n", messageCount, latestMillis, wholeMillis, wholeMillis / latestMillis);
+            SyntheticProfiles.delete(userName);
+        }
+    }
+
+    // HELPER METHODS
+
+    // bestOf() method will return the best time of several runs of a load, in milliseconds, the load returns a size so it cannot be skipped
+    private static double bestOf(IntSupplier load) {
+        double best = Double.MAX_VALUE;
+        for (int run = 0; run < RUNS; run++) {
+            long start = System.nanoTime();
+            load.getAsInt();
+            best = Math.min(best, (System.nanoTime() - start) / 1e6);
+        }
+        return best;
+    }
+}
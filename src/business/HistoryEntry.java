@@ -1,11 +1,12 @@
-/* 
+/*
     Vivaan Echambadi
     1/22/2026
 
-    HistoryEntry() class will represent a history entry with a timestamp and a message. 
-    It will provide getter methods to access the timestamp and message as well as methods to get formatted date 
-    and time strings, check if the entry is from today, calculate days since the entry, and 
+    HistoryEntry() class will represent a history entry with a timestamp and a message.
+    It will provide getter methods to access the timestamp and message as well as methods to get formatted date
+    and time strings, check if the entry is from today, calculate days since the entry, and
     a toString() method for easy display. It will also handle cases where the timestamp may be null.
+    The timestamp is kept as wall-clock epoch seconds (see TimestampParser) and the display formatters are shared by all entries.
 
 */
 
@@ -14,23 +15,42 @@ package business;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import data.TimestampParser;
 
 // HistoryEntry class definition
 public class HistoryEntry {
     // private attributes for timestamp and message
-    private LocalDateTime timestamp;
+    private long epochSeconds;
     private String message;
 
+    // shared formatters for displaying timestamps, created once instead of on every call
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy/MM/dd");
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("HH:mm:ss");
+    private static final DateTimeFormatter DAY_FORMAT = DateTimeFormatter.ofPattern("EEEE");
+    private static final DateTimeFormatter FULL_FORMAT = DateTimeFormatter.ofPattern("yyyy/MM/dd HH:mm:ss");
+
     // constructor to initialize history entry with a timestamp and a message
     public HistoryEntry(LocalDateTime timestamp, String message) {
         // setting the timestamp and message attributes
-        this.timestamp = timestamp;
+        this.epochSeconds = TimestampParser.fromLocalDateTime(timestamp);
+        this.message = message;
+    }
+
+    // overloaded constructor to initialize history entry with a timestamp in epoch seconds (TimestampParser.NO_TIMESTAMP if unknown)
+    public HistoryEntry(long epochSeconds, String message) {
+        // setting the timestamp and message attributes
+        this.epochSeconds = epochSeconds;
         this.message = message;
     }
 
     // getTimeStamp() method will return the timestamp of the history entry
     public LocalDateTime getTimeStamp() {
-        return timestamp;
+        return TimestampParser.toLocalDateTime(epochSeconds);
+    }
+
+    // getEpochSeconds() method will return the timestamp as wall-clock epoch seconds, or TimestampParser.NO_TIMESTAMP if there is none
+    public long getEpochSeconds() {
+        return epochSeconds;
     }
 
     // getMessage() method will return the message of the history entry
@@ -38,66 +58,56 @@ public class HistoryEntry {
         return message;
     }
 
-    // getHour() method will return the year of the timestamp
+    // getHour() method will return the hour of the timestamp
     public int getHour() {
-        if (timestamp == null) {
-            // returning -1 if timestamp is null
-            return -1;
-        }
-
-        // returning the hour from the timestamp
-        return timestamp.getHour();
+        // returning the hour from the timestamp, or -1 if the timestamp is missing
+        return TimestampParser.getHour(epochSeconds);
     }
 
     // getDateString() method will return the date string in "yyyy/MM/dd" format
     public String getDateString() {
         // checking if timestamp is null
-        if (timestamp == null) {
+        if (!hasTimestamp()) {
             return null;
-        }  
+        }
 
         // formatting the date to "yyyy/MM/dd"
-        DateTimeFormatter formatDate = DateTimeFormatter.ofPattern("yyyy/MM/dd");
-        return timestamp.format(formatDate);
+        return getTimeStamp().format(DATE_FORMAT);
     }
 
     // getTimeString() method will return the time string in "HH:mm:ss" format
     public String getTimeString() {
         // checking if timestamp is null
-        if (timestamp == null) {
+        if (!hasTimestamp()) {
             return null;
         }
 
-        // formatting the time to "HH:mm:ss"
-        DateTimeFormatter formatTime = DateTimeFormatter.ofPattern("HH:mm:ss");
-
-        // returning the formatted time string
-        return timestamp.format(formatTime);
+        // returning the time formatted as "HH:mm:ss"
+        return getTimeStamp().format(TIME_FORMAT);
     }
 
     // hasTimestamp() method will return true if the timestamp is not null, false otherwise
     public boolean hasTimestamp() {
-        // checking if timestamp is not null
-        return timestamp != null;
+        // checking if timestamp is not missing
+        return epochSeconds != TimestampParser.NO_TIMESTAMP;
     }
 
     // getDayOfWeek() method will return the day of the week for the timestamp
     public String getDayOfWeek() {
         // checking if timestamp is null
-        if (timestamp == null) {
+        if (!hasTimestamp()) {
             // returning null if timestamp is null
             return null;
         }
 
         // formatting the day of the week
-        DateTimeFormatter formatDay = DateTimeFormatter.ofPattern("EEEE");
-        return timestamp.format(formatDay);
+        return getTimeStamp().format(DAY_FORMAT);
     }
 
     // isToday() method will return true if the timestamp is from today, false otherwise
     public boolean isToday() {
         // checking if timestamp is null
-        if (timestamp == null) {
+        if (!hasTimestamp()) {
             // returning false if timestamp is null
             return false;
         }
@@ -106,13 +116,13 @@ public class HistoryEntry {
         LocalDateTime current = LocalDateTime.now();
 
         // returning true if the dates match, false otherwise
-        return timestamp.toLocalDate().equals(current.toLocalDate());
+        return getTimeStamp().toLocalDate().equals(current.toLocalDate());
     }
 
     // getDaysSince() method will return the number of days since the timestamp
     public int getDaysSince() {
         // checking if timestamp is null
-        if (timestamp == null) {
+        if (!hasTimestamp()) {
             return -1;
         }
 
@@ -120,7 +130,7 @@ public class HistoryEntry {
         LocalDateTime current = LocalDateTime.now();
 
         // calculating the number of days between the timestamp and current date
-        long daysInBetween = java.time.temporal.ChronoUnit.DAYS.between(timestamp.toLocalDate(), current.toLocalDate());
+        long daysInBetween = java.time.temporal.ChronoUnit.DAYS.between(getTimeStamp().toLocalDate(), current.toLocalDate());
 
         // returning the number of days as an integer
         return (int) daysInBetween;
@@ -129,15 +139,12 @@ public class HistoryEntry {
     // toString() method will return a string representation of the history entry
     public String toString() {
         // checking if timestamp is null
-        if (timestamp == null) {
+        if (!hasTimestamp()) {
             // returning just the message if timestamp is null
             return message;
         }
 
-        // formatting the timestamp and returning it with the message
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy/MM/dd HH:mm:ss");
-
-        // returning the formatted string
-        return timestamp.format(formatter) + " | " + message;
+        // returning the formatted timestamp with the message
+        return getTimeStamp().format(FULL_FORMAT) + " | " + message;
     }
 }
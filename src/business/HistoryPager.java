@@ -0,0 +1,131 @@
+/*
+    Vivaan Echambadi
+    10/17/2026
+
+    HistoryPager() class will hand out a user's message history one page at a time, newest message first, so a history view only
+    holds the pages that have been scrolled to. It will first go backwards through the messages of the loaded profile, which include
+    the unsaved ones, and then continue into the older history segments on disk with a HistoryTailReader, which reads them backwards
+    from the end in small blocks. Pages are read on one background thread and handed to a callback, so opening a long history does
+    not hold up the caller. While a page is being read the loaded profile must not change, which the modal history window makes sure of.
+
+*/
+
+// importing package
+package business;
+
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import data.HistoryStore;
+import data.HistoryTailReader;
+import data.MessageJournal;
+import data.ProfileCatalog;
+import data.TimestampParser;
+import data.UserProfile;
+
+// HistoryPager class definition
+public class HistoryPager {
+    // private attributes for the loaded messages, the next one to hand out, and the older segments on disk
+    private final HistoryStore loaded;
+    private int nextLoaded;
+    private final String profilePath;
+    private final long olderBefore;
+    private HistoryTailReader olderReader;
+    private boolean finished;
+
+    // rotation time used when the older segments must not be read
+    private static final long NO_OLDER_MESSAGES = Long.MIN_VALUE;
+
+    // single background thread that reads the pages of every history view
+    private static final ExecutorService READER = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "history-pager");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // constructor to page through the history of a loaded profile, starting with its newest message
+    public HistoryPager(UserProfile profile) {
+        // setting the loaded messages and starting after the newest one
+        this.loaded = profile.getHistory();
+        this.nextLoaded = loaded.size();
+        this.profilePath = ProfileCatalog.getShared().pathFor(profile.getName());
+        this.finished = false;
+
+        // reading the segments older than the oldest loaded message afterwards, unless the history was cleared and not saved yet,
+        // since the loaded profile always holds the most recent segments
+        long oldest = TimestampParser.NO_TIMESTAMP;
+        for (int i = 0; i < loaded.size() && oldest == TimestampParser.NO_TIMESTAMP; i++) {
+            oldest = loaded.getEpochSeconds(i);
+        }
+        boolean cleared = MessageJournal.forProfile(profilePath).isRewritePending();
+        this.olderBefore = oldest == TimestampParser.NO_TIMESTAMP || cleared ? NO_OLDER_MESSAGES : oldest;
+    }
+
+    // nextPage() method will return the next pageSize older messages, newest first, returning fewer only once every message is read
+    public synchronized List<HistoryEntry> nextPage(int pageSize) {
+        List<HistoryEntry> page = new ArrayList<>();
+
+        // handing out the loaded messages first
+        while (page.size() < pageSize && nextLoaded > 0) {
+            nextLoaded -= 1;
+            page.add(new HistoryEntry(loaded.getEpochSeconds(nextLoaded), loaded.getMessage(nextLoaded)));
+        }
+
+        // continuing backwards into the older segments on disk
+        if (page.size() < pageSize && !finished && olderBefore != NO_OLDER_MESSAGES) {
+            if (olderReader == null) {
+                olderReader = HistoryTailReader.segmentsBefore(profilePath, olderBefore);
+            }
+
+            // reading the profile lines of the older messages and turning them into entries
+            HistoryStore older = new HistoryStore();
+            String line;
+            while (page.size() + older.size() < pageSize && (line = olderReader.nextLine()) != null) {
+                older.appendLine(line);
+            }
+            for (int i = 0; i < older.size(); i++) {
+                page.add(new HistoryEntry(older.getEpochSeconds(i), older.getMessage(i)));
+            }
+        }
+
+        // closing the older segments once every message has been read
+        if (page.size() < pageSize) {
+            close();
+        }
+
+        // returning the page
+        return page;
+    }
+
+    // nextPageAsync() method will read the next page on the background thread and pass it to onReady on that thread
+    public Future<?> nextPageAsync(int pageSize, Consumer<List<HistoryEntry>> onReady) {
+        return READER.submit(() -> {
+            // reading the page and handing it to the callback
+            try {
+                onReady.accept(nextPage(pageSize));
+            }
+            // handling any exception so the reader keeps running
+            catch (Exception e) {
+                System.out.println("Error reading message history page: " + e.getMessage());
+            }
+        });
+    }
+
+    // close() method will close the older segments and stop handing out messages
+    public synchronized void close() {
+        // closing the reader if it was opened
+        if (olderReader != null) {
+            olderReader.close();
+            olderReader = null;
+        }
+        finished = true;
+        nextLoaded = 0;
+    }
+
+    // closeAsync() method will close the pager on the background thread, after any page that is still being read
+    public void closeAsync() {
+        READER.execute(this::close);
+    }
+}
@@ -6,6 +6,7 @@
     It will provide methods to add phrases, show the current message, clear the message, and update the message 
     based on selected phrases. It will also manage the username associated with the message.
     Moreover, it will utilize a phrase-meaning dictionary to convert phrases into their meanings when constructing the message.
+    After each phrase is added, it will ask the user's TilePredictor which tiles are likely to be tapped next.
 
 */
 
@@ -22,6 +23,11 @@ public class MessageBuilderNew {
     private String currentMessage;
     private List<String> selectedPhrases;
     private String userName;
+    private List<String> predictedTiles;
+    private boolean predictedBeforeTraining;
+
+    // number of tiles predicted after each phrase
+    private static final int MAX_PREDICTIONS = 3;
 
     // constant for phrases file path
     private static final String PHRASES_FILE = "resources/phrases.txt";
@@ -47,6 +53,19 @@ public class MessageBuilderNew {
         this.selectedPhrases.add(phrase);
         // updating the current message after adding a phrase
         updateCurrentMessage();
+
+        // predicting the tiles that are likely to come next
+        predictTiles();
+    }
+
+    // getPredictedTiles() method will return the tiles that are likely to be tapped next, best first
+    public List<String> getPredictedTiles() {
+        // predicting again if nothing has been predicted since the message was started, or if the last prediction was made before
+        // the predictor finished learning the saved messages
+        if (this.predictedTiles == null || this.predictedBeforeTraining) {
+            predictTiles();
+        }
+        return this.predictedTiles;
     }
 
     // showCurrentMessage() method to display the current message constructed from selected phrases
@@ -65,8 +84,9 @@ public class MessageBuilderNew {
             }
         }
         
-        // clearing selected phrases after showing the message
+        // clearing selected phrases and predictions after showing the message
         this.selectedPhrases.clear();
+        this.predictedTiles = null;
         return currentMessage.trim();
     }
 
@@ -75,6 +95,7 @@ public class MessageBuilderNew {
         // resetting current message and clearing selected phrasesq
         this.currentMessage = "";
         this.selectedPhrases.clear();
+        this.predictedTiles = null;
     }
 
     // updateCurrentMessage() method to update the current message based on selected phrases
@@ -104,8 +125,15 @@ public class MessageBuilderNew {
     // setUserName() method to get the username associated with the message
     public void setUserName(String userName) {
         this.userName = userName;
+        this.predictedTiles = null;
     }
-}
-
 
+    // HELPER METHODS
 
+    // predictTiles() method will ask the user's predictor for the tiles that are likely to follow the selected phrases
+    private void predictTiles() {
+        TilePredictor predictor = TilePredictor.forUser(userName);
+        this.predictedBeforeTraining = !predictor.isTrained();
+        this.predictedTiles = predictor.predictNext(selectedPhrases, MAX_PREDICTIONS);
+    }
+}
@@ -6,6 +6,11 @@
     and determining the growth stage of the garden based on message activity. It will provide methods to
     record messages, get the current stage of the garden, and load/save the garden state to a file. It will also
     handle daily resets of message counts.
+    The state is saved as "Date:" and "Messages Today:" lines, so it reads back the same whatever order the lines are in, and older
+    files without the keys are still read. Recording a message only updates the counter in memory: a background writer saves the
+    state a second after the first change, together with every change made in the meantime, so tapping quickly writes the file
+    once instead of for every message, and flushAll() saves every garden that still has changes when the app closes. Gardens are
+    shared per user through forUser(), so switching back to a profile keeps counting from the changes that are not written yet.
 
 */
 
@@ -13,41 +18,95 @@
 package business;
 
 import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 // MessageGarden class definition
 public class MessageGarden {
     // private attributes for state file, date, and messages today
     private File stateFile;
+    private File tempFile;
     private LocalDate date;
     private int messagesToday;
 
-    // constructor to initialize message garden with a username and load state from file
-    public MessageGarden(String userName) {
+    // private attributes for the changes that have not been written yet
+    private boolean dirty;
+    private boolean writeScheduled;
+
+    // keys of the lines in the state file
+    private static final String DATE_KEY = "Date:";
+    private static final String COUNT_KEY = "Messages Today:";
+
+    // how long after the first change the state is written, so the changes made in between are written together
+    private static final long WRITE_DELAY_MILLIS = 1000;
+
+    // static map to hold one garden per user, so they can all be saved when the app closes
+    private static final Map<String, MessageGarden> GARDENS = new ConcurrentHashMap<>();
+
+    // single background thread that writes the garden files
+    private static final ScheduledExecutorService WRITER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "garden-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // private constructor to initialize message garden with a username and load state from file, gardens are shared per user
+    // through forUser()
+    private MessageGarden(String userName) {
         // setting the state file path based on the username
         this.stateFile = new File("profiles/" + userName + "_garden.txt");
+        this.tempFile = new File("profiles/" + userName + "_garden.txt.tmp");
 
         // Calling 2 methods: loadFromFile() and checkNewDay()
         loadFromFile();
         checkNewDay();
     }
 
+    // forUser() method will return the shared garden of a user
+    public static MessageGarden forUser(String userName) {
+        return GARDENS.computeIfAbsent(userName, MessageGarden::new);
+    }
+
     // recordMessage() method to record a new message and update the garden state
-    public void recordMessage() {
+    public synchronized void recordMessage() {
         // checking if it's a new day and updating messages today
         checkNewDay();
         messagesToday++;
-        saveToFile();
+        markDirty();
+    }
+
+    // flushAll() method will write every garden that has changes that are not saved yet and wait until they are written
+    public static void flushAll() {
+        // writing the gardens on the background thread, after any write that is running
+        try {
+            WRITER.submit(() -> {
+                for (MessageGarden garden : GARDENS.values()) {
+                    garden.writeIfDirty();
+                }
+            }).get();
+        }
+        // handling InterruptedException and ExecutionException while waiting
+        catch (InterruptedException | ExecutionException e) {
+            System.out.println("Error saving garden state: " + e.getMessage());
+        }
     }
 
     // getMessagesToday() method will return the number of messages sent today
-    public int getMessagesToday() {
+    public synchronized int getMessagesToday() {
         // checking if it's a new day before returning the count
         return messagesToday;
     }
 
     // getCurrentStageName() method will return the current stage name of the garden based on messages today
-    public String getCurrentStageName() {
+    public synchronized String getCurrentStageName() {
         // determining the stage name based on the number of messages sent today
         if (messagesToday >= 20) {
             // returning "Flower" if messages today are 20 or more
@@ -68,7 +127,7 @@ public class MessageGarden {
     }
 
     // getImagePath() method will return the image path for the current garden stage
-    public String getImagePath() {
+    public synchronized String getImagePath() {
 
         // determining the image path based on the number of messages sent today
         if (messagesToday >= 20) {
@@ -90,66 +149,101 @@ public class MessageGarden {
     }
 
     // checkNewDay() method will check if it's a new day and reset messages today if needed
-    public void checkNewDay() {
+    public synchronized void checkNewDay() {
         // checking if the stored date is null or different from today's date
         if (date == null || !date.equals(LocalDate.now())) {
             // resetting messages today and updating the date, as well as saving to file
             messagesToday = 0;
             date = LocalDate.now();
-            saveToFile();
+            markDirty();
         }
     }
 
     // loadFomFile() method will load the garden state from the state file
     private void loadFromFile() {
+        // starting with no messages today
+        messagesToday = 0;
+        date = LocalDate.now();
+
         // checking if the state file exists
         if (!stateFile.exists()) {
-            // if not, initializing messages today to 0 and date to today
-            messagesToday = 0;
-            date = LocalDate.now();
             return;
         }
 
         // reading the state file to load messages today and date
         try (BufferedReader reader = new BufferedReader(new FileReader(stateFile))) {
-            // Storing messagesToday and date from the file
-            String line = reader.readLine();
-
-            // parsing messagesToday and date from the file
-            if (line != null) {
-                // setting messagesToday from the first line of the file
-                messagesToday = Integer.parseInt(line);
-            }
-
-            // reading the second line for the date
-            line = reader.readLine();
-
-            // setting date from the second line of the file
-            if (line != null) {
-                date = LocalDate.parse(line);
+            // reading each line of the file
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+
+                // parsing the date and the count from their keys
+                if (line.startsWith(DATE_KEY)) {
+                    date = LocalDate.parse(line.substring(DATE_KEY.length()).trim());
+                }
+                else if (line.startsWith(COUNT_KEY)) {
+                    messagesToday = Integer.parseInt(line.substring(COUNT_KEY.length()).trim());
+                }
+                // parsing older files without keys, which have the date and the count in either order
+                else if (line.contains("-")) {
+                    date = LocalDate.parse(line);
+                }
+                else if (!line.isEmpty()) {
+                    messagesToday = Integer.parseInt(line);
+                }
             }
         } 
-        // handling IOException and NumberFormatException during file reading
-        catch (IOException | NumberFormatException e) {
+        // handling IOException, NumberFormatException and DateTimeParseException during file reading
+        catch (IOException | NumberFormatException | DateTimeParseException e) {
             // initializing messages today to 0 and date to today if an error occurs
+            System.out.println("Error loading garden state, starting a new day: " + e.getMessage());
             messagesToday = 0;
             date = LocalDate.now();
         }
     }
 
-    // saveToFile() method will save the garden state to the state file
-    private void saveToFile() {
-        // writing messages today and date to the state file
+    // markDirty() method will mark the state as changed and schedule a write if one is not scheduled yet, the caller must hold the lock
+    private void markDirty() {
+        dirty = true;
+        if (!writeScheduled) {
+            writeScheduled = true;
+            WRITER.schedule(this::writeIfDirty, WRITE_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    // writeIfDirty() method will write the state to the state file if it changed since the last write, on the background thread
+    private void writeIfDirty() {
+        // taking the state as it is now
+        LocalDate savedDate;
+        int savedCount;
+        synchronized (this) {
+            writeScheduled = false;
+            if (!dirty) {
+                return;
+            }
+            dirty = false;
+            savedDate = date;
+            savedCount = messagesToday;
+        }
+
+        // writing the state to the temporary file and moving it over the state file in one step
         try {
-            // creating the state file if it doesn't exist
-            PrintWriter writer = new PrintWriter(new FileWriter(stateFile));
-                writer.println(date.toString());
-                writer.println(messagesToday);
-                writer.close();
-        } 
-        // handling IOException during file writing
-        catch (Exception e) {
+            try (PrintWriter writer = new PrintWriter(new FileWriter(tempFile))) {
+                writer.println(DATE_KEY + " " + savedDate);
+                writer.println(COUNT_KEY + " " + savedCount);
+                if (writer.checkError()) {
+                    throw new IOException("could not write " + tempFile);
+                }
+            }
+            Files.move(tempFile.toPath(), stateFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        // handling IOException during file writing, writing again with the next change
+        catch (IOException e) {
             System.out.println("Error saving garden state: " + e.getMessage());
+            tempFile.delete();
+            synchronized (this) {
+                dirty = true;
+            }
         }
     }
 }
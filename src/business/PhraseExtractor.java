@@ -4,6 +4,9 @@
 
     PhraseExtractor() class will extract phrases from a predefined list, associate them with icons, and handle user interactions
     such as selecting phrases and saving messages to a user profile. It will also manage loading phrases and icon mappings from files.
+    New messages are saved by appending them to the profile's MessageJournal instead of rewriting the whole profile file, and saves
+    are written in the background by the profile's ProfileSaver so the Save button never waits for the disk. The profile's file is
+    looked up in the ProfileCatalog by the user's name.
     It will provide methods to load phrase tiles, handle tile selections, save messages, and clear message history.
 
 */
@@ -11,8 +14,11 @@
 // importing packages
 package business;
 
-import data.FileManager;
+import data.MessageJournal;
 import data.PhraseTile;
+import data.ProfileCatalog;
+import data.ProfileSaver;
+import data.TimestampParser;
 import data.UserProfile;
 import javafx.scene.image.Image;
 
@@ -20,6 +26,7 @@ import java.io.*;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 
 // PhraseExtractor class definition
 public class PhraseExtractor {
@@ -28,6 +35,8 @@ public class PhraseExtractor {
     private final UserProfile profile;
     private final MessageBuilderNew builder;
     private final Map<String, String> phraseImageMap;
+    private final MessageJournal journal;
+    private final ProfileSaver saver;
 
     private static final String ICON_PATH = "resources/iconMap.txt";
     private static final String PHRASES_PATH = "resources/phrases.txt";
@@ -47,6 +56,11 @@ public class PhraseExtractor {
 
         // loading the phrase-image mapping from the icon map file
         this.phraseImageMap = loadIconMapSafe(ICON_PATH);
+
+        // getting the profile's file from the catalog, and the journal that new messages are saved to and the saver that writes them
+        String profilePath = ProfileCatalog.getShared().pathFor(getUserName());
+        this.journal = MessageJournal.forProfile(profilePath);
+        this.saver = ProfileSaver.forProfile(profilePath);
     }
 
     // loadTiles() method to load phrase tiles from the phrases file and associate them with icons
@@ -121,14 +135,47 @@ public class PhraseExtractor {
         String time = now.format(FORMAT);
         String message = time + " | " + trimmed;
 
-        // adding the message to the user's profile
+        // adding the message to the user's profile and its journal, and updating the tile predictions
         profile.addMessage(message);
+        journal.append(message);
+        TilePredictor.forUser(getUserName()).learnMessage(trimmed);
+
+        // updating the phrase statistics on a suggestion worker, since the index may have to be loaded or rebuilt from disk first,
+        // then bumping the history version so cached suggestions are scored again
+        String userName = getUserName();
+        long epochSeconds = TimestampParser.fromLocalDateTime(now);
+        SuggestionService.getShared().updateIndex(userName, index -> {
+            index.recordMessage(trimmed, epochSeconds);
+            SuggestionCache.forUser(userName).bumpHistoryVersion();
+            return null;
+        });
     }
 
-    // saveProfileToDisk() method will save the user's profile to disk
+    // saveProfileToDisk() method will save the user's profile to disk in the background, appending only the new messages to the
+    // journal, and return right away
     public void saveProfileToDisk() {
-        // saving the user's profile to a text file
-        FileManager.saveProfileToTxt(profile, "profiles/Jane.txt");
+        // remembering the version of the phrase statistics once every message saved so far is recorded, which matches the profile
+        // that is being saved
+        CompletableFuture<PhraseStatsIndex> indexReady = SuggestionService.getShared().updateIndex(getUserName(), index -> index);
+        CompletableFuture<Long> versionReady = SuggestionService.getShared().updateIndex(getUserName(), PhraseStatsIndex::getVersion);
+
+        // saving the new messages, the changed details, or the whole profile if its history was cleared
+        saver.requestSave(profile, () -> {
+            // waiting for the statistics to catch up, which only happens if the index was still loading
+            PhraseStatsIndex index = indexReady.join();
+            long version = versionReady.join();
+
+            // saving the phrase statistics so they match the saved profile, unless new messages were recorded in the meantime
+            long syncedVersion = index.markSyncedIfUnchanged(version);
+
+            // merging the journal into the profile file in the background once it is large, then saving the statistics again
+            // so they match the merged file
+            journal.compactIfNeeded(() -> index.markSyncedIfUnchanged(syncedVersion));
+
+            // moving last month's messages into the history segments in the background once a new month starts, saving the
+            // statistics again the same way
+            journal.rotateIfNeeded(() -> index.markSyncedIfUnchanged(syncedVersion));
+        });
     }
 
     // handleTileClick() method will handle the click event on a phrase tile
@@ -136,6 +183,11 @@ public class PhraseExtractor {
         handleTileSelection(tile);
     }
 
+    // getPredictedTiles() method will return the tiles that are likely to be tapped next in the current message
+    public List<String> getPredictedTiles() {
+        return builder.getPredictedTiles();
+    }
+
     // getUserName() method will return the user's name from the profile
     public String getUserName() {
         // checking if the profile and name are not null
@@ -150,7 +202,17 @@ public class PhraseExtractor {
 
     // clearHistory() method will clear the message history from the user's profile
     public void clearHistory() {
-        profile.setMessages(null);
+        // clearing the messages and the tile predictions, and the phrase statistics on a suggestion worker after the messages
+        // recorded before, then bumping the history version so cached suggestions are scored again from the cleared index
+        profile.getMessages().clear();
+        journal.clear();
+        String userName = getUserName();
+        SuggestionService.getShared().updateIndex(userName, index -> {
+            index.clear();
+            SuggestionCache.forUser(userName).bumpHistoryVersion();
+            return null;
+        });
+        TilePredictor.forUser(getUserName()).clear();
     }
 
     // HELPER METHODS
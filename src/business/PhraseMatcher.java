@@ -0,0 +1,197 @@
+/*
+    Vivaan Echambadi
+    10/17/2026
+
+    PhraseMatcher() class will find every occurrence of a set of phrases inside a message in one linear scan, using an
+    Aho-Corasick automaton built from the phrase vocabulary. Each phrase is identified by its position in the list the matcher
+    was built from. The automaton is stored in flat arrays (sorted edges per state, failure links and output links) so that
+    scanning a message does not allocate anything. It replaces checking every phrase against every message with String.contains().
+
+*/
+
+// importing package
+package business;
+
+import java.util.*;
+import java.util.function.IntConsumer;
+
+// PhraseMatcher class definition
+public class PhraseMatcher {
+    // private attributes for the compacted automaton
+    private int[] edgeStart;
+    private char[] edgeChars;
+    private int[] edgeTargets;
+    private int[] fail;
+    private int[] output;
+    private int[] outputLink;
+    private int phraseCount;
+
+    // constructor to build the automaton for a list of phrases, where each phrase ID is its index in the list
+    public PhraseMatcher(List<String> phrases) {
+        // building the trie with one map of children per state, only while the matcher is being built
+        List<Map<Character, Integer>> children = new ArrayList<>();
+        List<Integer> terminal = new ArrayList<>();
+        children.add(new HashMap<>());
+        terminal.add(-1);
+
+        // adding each phrase to the trie using a for loop
+        for (int id = 0; id < phrases.size(); id++) {
+            String phrase = phrases.get(id);
+
+            // skipping empty phrases, which would match everywhere
+            if (phrase == null || phrase.isEmpty()) {
+                continue;
+            }
+
+            // walking down the trie and creating states that are missing
+            int state = 0;
+            for (int i = 0; i < phrase.length(); i++) {
+                char c = phrase.charAt(i);
+                Integer next = children.get(state).get(c);
+                if (next == null) {
+                    next = children.size();
+                    children.add(new HashMap<>());
+                    terminal.add(-1);
+                    children.get(state).put(c, next);
+                }
+                state = next;
+            }
+
+            // marking the last state with the phrase ID (the first phrase wins if the list has duplicates)
+            if (terminal.get(state) < 0) {
+                terminal.set(state, id);
+            }
+        }
+
+        // compacting the children maps into sorted edge arrays
+        int stateCount = children.size();
+        int edgeCount = 0;
+        for (int state = 0; state < stateCount; state++) {
+            edgeCount += children.get(state).size();
+        }
+        this.edgeStart = new int[stateCount + 1];
+        this.edgeChars = new char[edgeCount];
+        this.edgeTargets = new int[edgeCount];
+        int position = 0;
+        for (int state = 0; state < stateCount; state++) {
+            // sorting the edge characters so they can be found with a binary search
+            edgeStart[state] = position;
+            List<Character> keys = new ArrayList<>(children.get(state).keySet());
+            Collections.sort(keys);
+            for (char c : keys) {
+                edgeChars[position] = c;
+                edgeTargets[position] = children.get(state).get(c);
+                position++;
+            }
+        }
+        edgeStart[stateCount] = position;
+
+        // copying the phrase ID of each terminal state
+        this.output = new int[stateCount];
+        for (int state = 0; state < stateCount; state++) {
+            output[state] = terminal.get(state);
+        }
+        this.phraseCount = phrases.size();
+
+        // computing the failure and output links
+        this.fail = new int[stateCount];
+        this.outputLink = new int[stateCount];
+        buildLinks(stateCount);
+    }
+
+    // findAll() method will call onMatch with the phrase ID of every phrase occurrence in the text, in one scan of the text
+    public void findAll(String text, IntConsumer onMatch) {
+        // checking if the text is null
+        if (text == null) {
+            return;
+        }
+
+        // scanning the text one character at a time
+        int state = 0;
+        for (int i = 0; i < text.length(); i++) {
+            // following the next edge, or failure links until an edge is found
+            state = nextState(state, text.charAt(i));
+
+            // reporting the phrase that ends here and every shorter phrase that ends here too
+            int match = output[state] >= 0 ? state : outputLink[state];
+            while (match > 0) {
+                onMatch.accept(output[match]);
+                match = outputLink[match];
+            }
+        }
+    }
+
+    // getPhraseCount() method will return the number of phrases the matcher was built from
+    public int getPhraseCount() {
+        return phraseCount;
+    }
+
+    // HELPER METHODS
+
+    // nextState() method will return the state reached from a state with a character, following failure links when needed
+    private int nextState(int state, char c) {
+        // following failure links until an edge is found or the root is reached
+        while (true) {
+            int target = findEdge(state, c);
+            if (target >= 0) {
+                return target;
+            }
+            if (state == 0) {
+                return 0;
+            }
+            state = fail[state];
+        }
+    }
+
+    // findEdge() method will return the child of a state for a character, or -1 if there is none, using a binary search
+    private int findEdge(int state, char c) {
+        // searching the sorted edges of the state
+        int low = edgeStart[state];
+        int high = edgeStart[state + 1] - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            if (edgeChars[middle] < c) {
+                low = middle + 1;
+            }
+            else if (edgeChars[middle] > c) {
+                high = middle - 1;
+            }
+            else {
+                return edgeTargets[middle];
+            }
+        }
+
+        // returning -1 since there is no edge for the character
+        return -1;
+    }
+
+    // buildLinks() method will compute failure links and output links with a breadth-first walk of the trie
+    private void buildLinks(int stateCount) {
+        // queue of states to visit, starting with the children of the root
+        int[] queue = new int[stateCount];
+        int head = 0;
+        int tail = 0;
+        for (int e = edgeStart[0]; e < edgeStart[1]; e++) {
+            int child = edgeTargets[e];
+            fail[child] = 0;
+            outputLink[child] = 0;
+            queue[tail++] = child;
+        }
+
+        // visiting each state and linking its children
+        while (head < tail) {
+            int state = queue[head++];
+            for (int e = edgeStart[state]; e < edgeStart[state + 1]; e++) {
+                int child = edgeTargets[e];
+
+                // the failure link of the child is the longest proper suffix that is also in the trie
+                fail[child] = nextState(fail[state], edgeChars[e]);
+
+                // the output link points to the nearest state on the failure chain that ends a phrase
+                int failState = fail[child];
+                outputLink[child] = output[failState] >= 0 ? failState : outputLink[failState];
+                queue[tail++] = child;
+            }
+        }
+    }
+}
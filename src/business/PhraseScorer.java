@@ -0,0 +1,583 @@
+/*
+    Vivaan Echambadi
+    10/17/2026
+
+    PhraseScorer() class will be the scoring kernel behind the AISuggestionEngine. It will tokenize messages once into phrase IDs,
+    find the phrases each message contains with a PhraseMatcher, and keep the frequency, total uses, last occurrence, and hour-of-day
+    counts of every phrase in flat arrays indexed by phrase ID. Recency is an exponentially decaying weight per phrase: each use adds 1
+    after decaying the old weight by the time since the last use, so recording a message is O(1) and the weight only has to be decayed
+    to the current time when it is scored. The half-life comes from the user's profile.
+    It will provide a method that computes the frequency score, recency score, time bonus and reason of every phrase in a single pass,
+    keeping only the best ones with a TopKRanker, as well as methods to build the kernel from a message history or from saved statistics.
+    For very long-lived profiles the kernel can count approximately with a fixed number of phrase slots (the Space-Saving algorithm):
+    when every slot is taken, a new phrase replaces the phrase with the fewest uses and starts from its counts. Memory then stays the
+    same however long the history grows, and counts are overestimated by at most the error bound times the total number of uses.
+
+*/
+
+// importing package
+package business;
+
+import java.util.*;
+import data.HistoryStore;
+import data.TimestampParser;
+import presentation.TimeHelper;
+
+// PhraseScorer class definition
+public class PhraseScorer {
+    // private attributes for the phrase dictionary and the per-phrase statistics arrays
+    private Map<String, Integer> phraseIds;
+    private String[] phrases;
+    private int[] counts;
+    private int[] uses;
+    private int[] lastSeen;
+    private int[] hourCounts;
+    private long[] lastUsed;
+    private double[] recencyWeight;
+    private double halfLifeSeconds;
+    private int phraseCount;
+    private int messageCount;
+    private int maxUses;
+    private PhraseMatcher matcher;
+    private String[] matcherPhrases;
+    private Set<Integer> pendingIds;
+    private List<Integer> changedIds;
+
+    // private attributes for approximate counting: the error bound, the fixed number of slots, the slots ordered by uses,
+    // and how much each slot's counts were inherited from the phrases it replaced
+    private double errorBound;
+    private int maxPhrases;
+    private SpaceSavingHeap evictionHeap;
+    private int[] errors;
+
+    private static final double FREQUENCY_WEIGHT = 0.6;
+    private static final double RECENCY_WEIGHT = 0.4;
+    private static final double TIME_BONUS = 10.0;
+    private static final int INITIAL_CAPACITY = 16;
+
+    // number of phrases added or replaced since the matcher was built that are matched with String.contains() before it is rebuilt
+    private static final int PENDING_LIMIT = 64;
+
+    // constructor to initialize an empty scoring kernel with exact counts and the recency half-life in hours
+    public PhraseScorer(double halfLifeHours) {
+        this(halfLifeHours, 0);
+    }
+
+    // constructor to initialize an empty scoring kernel with the recency half-life in hours and an error bound for approximate counting
+    // an error bound of 0 counts every phrase exactly, a bound between 0 and 1 keeps ceil(1 / errorBound) phrase slots
+    public PhraseScorer(double halfLifeHours, double errorBound) {
+        // setting up approximate counting if there is an error bound
+        this.errorBound = errorBound > 0 ? errorBound : 0;
+        this.maxPhrases = Integer.MAX_VALUE;
+        this.evictionHeap = null;
+        if (this.errorBound > 0) {
+            this.maxPhrases = SpaceSavingHeap.capacityFor(this.errorBound);
+            this.evictionHeap = new SpaceSavingHeap(maxPhrases);
+        }
+
+        // initializing the dictionary and the statistics arrays
+        int capacity = Math.min(INITIAL_CAPACITY, maxPhrases);
+        this.phraseIds = new HashMap<>();
+        this.phrases = new String[capacity];
+        this.counts = new int[capacity];
+        this.uses = new int[capacity];
+        this.lastSeen = new int[capacity];
+        this.hourCounts = new int[capacity * 24];
+        this.lastUsed = new long[capacity];
+        this.recencyWeight = new double[capacity];
+        this.errors = new int[capacity];
+        this.halfLifeSeconds = halfLifeHours * 3600;
+        this.phraseCount = 0;
+        this.messageCount = 0;
+        this.maxUses = 0;
+        this.matcher = null;
+        this.matcherPhrases = new String[0];
+        this.pendingIds = new LinkedHashSet<>();
+        this.changedIds = null;
+    }
+
+    // fromHistory() method will build a kernel from a history: one pass to collect the phrases, then one matcher scan per message
+    public static PhraseScorer fromHistory(HistoryStore history, double halfLifeHours) {
+        return fromHistory(history, halfLifeHours, 0);
+    }
+
+    // fromHistory() method will build a kernel that counts within errorBound from a history, 0 for exact counts
+    // with an error bound, the first pass settles which phrases keep a slot, so the second pass counts those phrases exactly
+    public static PhraseScorer fromHistory(HistoryStore history, double halfLifeHours, double errorBound) {
+        // creating the kernel and tokenizing each message to collect the vocabulary and the number of uses
+        PhraseScorer scorer = new PhraseScorer(halfLifeHours, errorBound);
+        boolean[] hasPhrase = new boolean[history.size()];
+        for (int i = 0; i < history.size(); i++) {
+            hasPhrase[i] = scorer.tokenize(history.getMessage(i));
+        }
+
+        // scanning each message once with the matcher to count the messages that contain each phrase
+        for (int i = 0; i < history.size(); i++) {
+            if (hasPhrase[i]) {
+                scorer.matchMessage(history.getMessage(i), history.getEpochSeconds(i));
+            }
+        }
+
+        // returning the kernel
+        return scorer;
+    }
+
+    // addMessage() method will tokenize a message sent at epochSeconds (TimestampParser.NO_TIMESTAMP if unknown) into phrase IDs
+    // and update the statistics of every phrase it contains
+    // returns true if the message brought a new phrase that is part of an older phrase: older messages may contain the new phrase too,
+    // and only they are not matched again, so its counts stay too low until the kernel is built again from the history
+    // a new phrase is one that was given a new ID, or, when counting approximately, the slot of a phrase it replaced
+    public boolean addMessage(String message, long epochSeconds) {
+        // tokenizing the message first so that new phrases are matched in this message too, remembering the IDs given to new phrases
+        List<Integer> newIds = new ArrayList<>();
+        changedIds = newIds;
+        if (tokenize(message)) {
+            matchMessage(message, epochSeconds);
+        }
+        changedIds = null;
+
+        // checking if any new phrase appears inside an older phrase, which is the only way an older message can contain it,
+        // since phrases never hold a period; only longer phrases can contain it, since the phrases are all different
+        for (int newId : newIds) {
+            String phrase = phrases[newId];
+            for (int id = 0; id < phraseCount; id++) {
+                if (phrases[id].length() > phrase.length() && !newIds.contains(id) && phrases[id].contains(phrase)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    // addStats() method will add previously saved statistics for a phrase to the kernel
+    public void addStats(PhraseStats stats) {
+        // getting the phrase ID and copying the statistics into the arrays
+        int id = idFor(stats.getPhrase());
+        counts[id] = stats.getCount();
+        uses[id] = stats.getUses();
+        lastSeen[id] = stats.getLastSeen();
+        lastUsed[id] = stats.getLastUsed();
+        recencyWeight[id] = stats.getRecencyWeight();
+        errors[id] = stats.getError();
+        for (int hour = 0; hour < 24; hour++) {
+            hourCounts[id * 24 + hour] = stats.getHourCount(hour);
+        }
+
+        // updating the maximum number of uses, and the slot order when counting approximately
+        if (uses[id] > maxUses) {
+            maxUses = uses[id];
+        }
+        if (evictionHeap != null) {
+            evictionHeap.update(id, uses[id]);
+        }
+    }
+
+    // setMessageCount() method will set the number of messages, used when the kernel is loaded from saved statistics
+    public void setMessageCount(int messageCount) {
+        this.messageCount = messageCount;
+    }
+
+    // scoreTop() method will compute the score of every phrase at nowSeconds (wall-clock epoch seconds) in one pass over the phrase IDs
+    // and return the best maxResults suggestions
+    public List<PhraseSuggestion> scoreTop(String currentTimeOfDay, int maxResults, long nowSeconds) {
+        // ranker that keeps only the best maxResults suggestions
+        TopKRanker<PhraseSuggestion> ranker = new TopKRanker<>(maxResults);
+
+        // checking if there are any messages to score
+        if (messageCount == 0) {
+            return ranker.toSortedList();
+        }
+
+        // finding which hours of the day belong to the current time of day, once for every phrase
+        boolean[] currentHours = new boolean[24];
+        for (int hour = 0; hour < 24; hour++) {
+            currentHours[hour] = TimeHelper.getTimeOfDayFromHour(hour).equals(currentTimeOfDay);
+        }
+
+        // iterating through every phrase ID and computing all of its scores together
+        for (int id = 0; id < phraseCount; id++) {
+            // calculating frequency score, recency score, total score, time bonus, and final score
+            double freqScore = calculateFreqScore(counts[id], maxUses);
+            double recencyScore = calculateRecencyScore(id, nowSeconds);
+            double totalScore = FREQUENCY_WEIGHT * freqScore + RECENCY_WEIGHT * recencyScore;
+            double timeBonus = calculateTimeBonus(id, currentHours);
+            double finalScore = totalScore + timeBonus;
+
+            // skipping phrases that would not make the top results before building their suggestion
+            if (!ranker.wouldAccept(finalScore)) {
+                continue;
+            }
+
+            // offering the new PhraseSuggestion to the ranker, with its reason only built if the user asks to see it
+            int count = counts[id];
+            ranker.offer(new PhraseSuggestion(phrases[id], finalScore, () -> buildReasonString(count, timeBonus)), finalScore);
+        }
+
+        // returning the best suggestions from highest to lowest score
+        return ranker.toSortedList();
+    }
+
+    // toStats() method will return a list with the statistics of every phrase in the kernel
+    public List<PhraseStats> toStats() {
+        // list to hold the statistics of each phrase
+        List<PhraseStats> statsList = new ArrayList<>(phraseCount);
+
+        // iterating through every phrase ID and copying its statistics
+        for (int id = 0; id < phraseCount; id++) {
+            statsList.add(getStats(id));
+        }
+
+        // returning the list of statistics
+        return statsList;
+    }
+
+    // getStats() method will return the statistics for a phrase, or null if the phrase has never been used
+    public PhraseStats getStats(String phrase) {
+        // looking up the phrase ID
+        Integer id = phraseIds.get(phrase);
+        if (id == null) {
+            return null;
+        }
+
+        // returning the statistics for the phrase ID
+        return getStats(id);
+    }
+
+    // getMessageCount() method will return the number of messages in the kernel
+    public int getMessageCount() {
+        return messageCount;
+    }
+
+    // getMaxUses() method will return the highest number of uses of any phrase
+    public int getMaxUses() {
+        return maxUses;
+    }
+
+    // getErrorBound() method will return the error bound of approximate counting, or 0 if every phrase is counted exactly
+    public double getErrorBound() {
+        return errorBound;
+    }
+
+    // isApproximate() method will return true if the kernel keeps a fixed number of phrase slots
+    public boolean isApproximate() {
+        return evictionHeap != null;
+    }
+
+    // getHalfLifeHours() method will return the recency half-life of the kernel in hours
+    public double getHalfLifeHours() {
+        return halfLifeSeconds / 3600;
+    }
+
+    // estimateBytes() method will return a rough estimate of the heap used by the kernel, used to keep loaded users within a memory budget
+    public long estimateBytes() {
+        // adding up the statistics arrays, which are sized by their capacity
+        int capacity = phrases.length;
+        long bytes = (long) capacity * (4 + 4 + 4 + 4 + 8 + 8 + 8 + 24 * 4);
+        if (evictionHeap != null) {
+            bytes += evictionHeap.estimateBytes();
+        }
+
+        // adding the phrase strings, their dictionary entries, and the matcher built from their characters
+        for (int id = 0; id < phraseCount; id++) {
+            int length = phrases[id].length();
+            bytes += 40 + length + 48 + length * 22L;
+        }
+
+        // returning the estimate
+        return bytes;
+    }
+
+    // getPhraseCount() method will return the number of unique phrases in the kernel
+    public int getPhraseCount() {
+        return phraseCount;
+    }
+
+    // HELPER METHODS
+
+    // tokenize() method will split a message into phrases at each period, add new phrases to the dictionary, and count every use
+    // returns true if the message contained at least one phrase
+    private boolean tokenize(String message) {
+        // checking if the message is null
+        if (message == null) {
+            return false;
+        }
+        boolean hasPhrase = false;
+
+        // scanning the message and splitting it into phrases at each period
+        int start = 0;
+        while (start <= message.length()) {
+            // finding the end of the current phrase
+            int end = message.indexOf('.', start);
+            if (end < 0) {
+                end = message.length();
+            }
+
+            // trimming the phrase and skipping it if it is empty
+            String phrase = message.substring(start, end).trim();
+            if (!phrase.isEmpty()) {
+                // getting the phrase ID and updating its number of uses
+                int id = idFor(phrase);
+                uses[id] += 1;
+
+                // updating the maximum number of uses, and the slot order when counting approximately
+                if (uses[id] > maxUses) {
+                    maxUses = uses[id];
+                }
+                if (evictionHeap != null) {
+                    evictionHeap.update(id, uses[id]);
+                }
+                hasPhrase = true;
+            }
+
+            // moving to the character after the period
+            start = end + 1;
+        }
+
+        // returning whether the message had any phrases
+        return hasPhrase;
+    }
+
+    // matchMessage() method will scan a message once with the matcher and update every phrase it contains, like String.contains() did
+    // phrases added or replaced since the matcher was built are checked with String.contains(), and the matcher is only rebuilt
+    // once there are more than PENDING_LIMIT of them, so saving a message with a new phrase does not rebuild it every time
+    private void matchMessage(String message, long epochSeconds) {
+        // the index of this message in the history, and the hour it was sent (-1 if unknown)
+        int messageIndex = messageCount;
+        int hour = TimestampParser.getHour(epochSeconds);
+
+        // rebuilding the matcher the first time, or once too many phrases are waiting to be added to it
+        if (matcher == null || pendingIds.size() > PENDING_LIMIT) {
+            matcherPhrases = Arrays.copyOf(phrases, phraseCount);
+            matcher = new PhraseMatcher(Arrays.asList(matcherPhrases));
+            pendingIds.clear();
+        }
+
+        // finding every phrase occurrence in the message in one scan, skipping slots that were given to another phrase since
+        matcher.findAll(message, id -> {
+            if (matcherPhrases[id] == phrases[id]) {
+                countMatch(id, messageIndex, hour, epochSeconds);
+            }
+        });
+
+        // checking the phrases that are not in the matcher yet
+        for (int id : pendingIds) {
+            if (message.contains(phrases[id])) {
+                countMatch(id, messageIndex, hour, epochSeconds);
+            }
+        }
+
+        // incrementing the number of messages
+        messageCount += 1;
+    }
+
+    // countMatch() method will update the statistics of a phrase found in the message at messageIndex
+    private void countMatch(int id, int messageIndex, int hour, long epochSeconds) {
+        // counting the message only once per phrase, even if the phrase repeats inside it
+        if (lastSeen[id] == messageIndex) {
+            return;
+        }
+        counts[id] += 1;
+        lastSeen[id] = messageIndex;
+
+        // updating the hour-of-day histogram if the hour is known
+        if (hour >= 0 && hour < 24) {
+            hourCounts[id * 24 + hour] += 1;
+        }
+
+        // adding this use to the decaying recency weight if the time is known
+        if (epochSeconds != TimestampParser.NO_TIMESTAMP) {
+            addRecency(id, epochSeconds);
+        }
+    }
+
+    // idFor() method will return the ID of a phrase, adding it to the dictionary if it is new
+    private int idFor(String phrase) {
+        // checking if the phrase already has an ID
+        Integer id = phraseIds.get(phrase);
+        if (id != null) {
+            return id;
+        }
+
+        // replacing the phrase with the fewest uses if every approximate slot is taken
+        if (phraseCount == maxPhrases) {
+            return replaceSlot(phrase);
+        }
+
+        // growing the arrays if they are full, never past the number of approximate slots
+        if (phraseCount == phrases.length) {
+            int capacity = (int) Math.min((long) phrases.length * 2, maxPhrases);
+            phrases = Arrays.copyOf(phrases, capacity);
+            counts = Arrays.copyOf(counts, capacity);
+            uses = Arrays.copyOf(uses, capacity);
+            lastSeen = Arrays.copyOf(lastSeen, capacity);
+            hourCounts = Arrays.copyOf(hourCounts, capacity * 24);
+            lastUsed = Arrays.copyOf(lastUsed, capacity);
+            recencyWeight = Arrays.copyOf(recencyWeight, capacity);
+            errors = Arrays.copyOf(errors, capacity);
+        }
+
+        // adding the phrase with the next free ID
+        int newId = phraseCount;
+        phraseIds.put(phrase, newId);
+        phrases[newId] = phrase;
+        lastSeen[newId] = -1;
+        lastUsed[newId] = TimestampParser.NO_TIMESTAMP;
+        phraseCount += 1;
+        if (evictionHeap != null) {
+            evictionHeap.add(newId, 0);
+        }
+
+        // matching the phrase with String.contains() until the matcher is rebuilt, and remembering it as new during addMessage()
+        if (matcher != null) {
+            pendingIds.add(newId);
+        }
+        if (changedIds != null) {
+            changedIds.add(newId);
+        }
+
+        // returning the new ID
+        return newId;
+    }
+
+    // replaceSlot() method will give the slot of the phrase with the fewest uses to a new phrase, returning the slot
+    // the new phrase keeps the old counts as its overestimate, like the Space-Saving algorithm, and starts the rest of its statistics over
+    private int replaceSlot(String phrase) {
+        // finding the slot with the fewest uses and removing its phrase from the dictionary
+        int id = evictionHeap.peekMin();
+        phraseIds.remove(phrases[id]);
+
+        // recording how much of the counts the new phrase inherits
+        errors[id] = uses[id];
+
+        // starting the time statistics over for the new phrase
+        lastSeen[id] = -1;
+        lastUsed[id] = TimestampParser.NO_TIMESTAMP;
+        recencyWeight[id] = 0;
+        Arrays.fill(hourCounts, id * 24, id * 24 + 24, 0);
+
+        // putting the new phrase in the slot, matching it with String.contains() until the matcher is rebuilt
+        phrases[id] = phrase;
+        phraseIds.put(phrase, id);
+        if (matcher != null) {
+            pendingIds.add(id);
+        }
+        if (changedIds != null) {
+            changedIds.add(id);
+        }
+
+        // returning the slot
+        return id;
+    }
+
+    // getStats() method will copy the statistics of a phrase ID into a PhraseStats object
+    private PhraseStats getStats(int id) {
+        // copying the hour-of-day histogram
+        int[] hours = Arrays.copyOfRange(hourCounts, id * 24, id * 24 + 24);
+
+        // returning the statistics
+        return new PhraseStats(phrases[id], counts[id], uses[id], lastSeen[id], hours, lastUsed[id], recencyWeight[id], errors[id]);
+    }
+
+    // calculateFreqScore() method will calculate the frequency score for a phrase based on its occurrences in messages
+    private static double calculateFreqScore(int count, int maxCount) {
+        // calculating and returning the frequency score as a percentage
+        if (maxCount == 0) {
+            return 0;
+        }
+
+        // calculating the frequency score as a percentage of the maximum count using type casting
+        double score = ((double) count / (double) maxCount) * 100;
+        return score;
+    }
+
+    // addRecency() method will decay a phrase's recency weight to epochSeconds and add one use to it, in O(1)
+    private void addRecency(int id, long epochSeconds) {
+        // checking if this is the first timed use of the phrase
+        if (lastUsed[id] == TimestampParser.NO_TIMESTAMP) {
+            recencyWeight[id] = 1.0;
+            lastUsed[id] = epochSeconds;
+        }
+        // decaying the old weight to the new use, then adding the use
+        else if (epochSeconds >= lastUsed[id]) {
+            recencyWeight[id] = recencyWeight[id] * decay(epochSeconds - lastUsed[id]) + 1.0;
+            lastUsed[id] = epochSeconds;
+        }
+        // adding an older use already decayed to the time of the weight
+        else {
+            recencyWeight[id] += decay(lastUsed[id] - epochSeconds);
+        }
+    }
+
+    // calculateRecencyScore() method will calculate the recency score for a phrase ID at nowSeconds by decaying its weight to that time
+    // a phrase used just now scores 100, and the score halves every half-life after that
+    private double calculateRecencyScore(int id, long nowSeconds) {
+        // checking if the phrase has ever been used at a known time
+        if (lastUsed[id] == TimestampParser.NO_TIMESTAMP) {
+            return 0;
+        }
+
+        // decaying the weight from its last update to now
+        double weight = recencyWeight[id] * decay(Math.max(0, nowSeconds - lastUsed[id]));
+
+        // returning the weight as a percentage, capped at 100
+        return Math.min(1.0, weight) * 100;
+    }
+
+    // decay() method will return how much a weight is left after the given number of seconds
+    private double decay(long elapsedSeconds) {
+        return Math.pow(0.5, elapsedSeconds / halfLifeSeconds);
+    }
+
+    // calculateTimeBonus() method will calculate a time-based bonus score for a phrase ID based on its usage at the current time of day
+    private double calculateTimeBonus(int id, boolean[] currentHours) {
+        // counting matches of the phrase used at the current time of day
+        int match = 0;
+        int total = counts[id];
+
+        // iterating through the hours of the day to count matches
+        for (int hour = 0; hour < 24; hour++) {
+            // checking if the hour corresponds to the current time of day
+            if (currentHours[hour]) {
+                // adding the messages with the phrase sent during this hour
+                match += hourCounts[id * 24 + hour];
+            }
+        }
+
+        if (total >= 2 && match >= (total * 0.6)) {
+            // returning the time bonus if conditions are met
+            return TIME_BONUS;
+        }
+
+        // returning 0.0 if no time bonus is applicable
+        return 0.0;
+    }
+
+    // buildReasonString() method will construct a reason string explaining the suggestion score
+    private static String buildReasonString(int count, double timeBonus) {
+        // constructing the reason string based on counts and time bonus
+        String reason = "Used " + count + " time";
+
+        // pluralizing "time" if count is not 1
+        if (count != 1) {
+            reason += "s";
+        }
+
+        // the recent window covers the whole history, so the recent count is the same as the total count
+        int recentCount = count;
+
+        // appending recent usage information to the reason string
+        if (recentCount > 0 && count > 1) {
+            // adding recent count to reason if applicable
+            reason += " (" + recentCount + " recently)";
+        }
+
+        // appending time bonus information to the reason string if applicable
+        if (timeBonus > 0) {
+            // adding time bonus reason
+            reason += ", common at this time";
+        }
+
+        // returning the constructed reason string
+        return reason;
+    }
+}
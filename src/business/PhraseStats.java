@@ -0,0 +1,97 @@
+/*
+    Vivaan Echambadi
+    10/17/2026
+
+    PhraseStats() class will represent the usage statistics of a single phrase in a user's message history.
+    It will keep track of how many messages contained the phrase, how many times the phrase was used in total,
+    the position of the last message that used it, an hour-of-day histogram of when it was used, and its decaying recency weight
+    together with the time the weight was last updated. When the statistics come from an approximate PhraseScorer, the error is the
+    most that the count and the uses can be overestimated by.
+    It will provide getter methods to read the statistics, which are collected by the PhraseScorer kernel.
+
+*/
+
+// importing package
+package business;
+
+// PhraseStats class definition
+public class PhraseStats {
+    // private attributes for the phrase and its statistics
+    private String phrase;
+    private int count;
+    private int uses;
+    private int lastSeen;
+    private int[] hourCounts;
+    private long lastUsed;
+    private double recencyWeight;
+    private int error;
+
+    // constructor to initialize exact phrase statistics with their values
+    public PhraseStats(String phrase, int count, int uses, int lastSeen, int[] hourCounts, long lastUsed, double recencyWeight) {
+        this(phrase, count, uses, lastSeen, hourCounts, lastUsed, recencyWeight, 0);
+    }
+
+    // constructor to initialize phrase statistics with their values and the most their counts can be overestimated by
+    public PhraseStats(String phrase, int count, int uses, int lastSeen, int[] hourCounts, long lastUsed, double recencyWeight, int error) {
+        // setting the phrase and loaded statistics
+        this.phrase = phrase;
+        this.count = count;
+        this.uses = uses;
+        this.lastSeen = lastSeen;
+        this.hourCounts = hourCounts;
+        this.lastUsed = lastUsed;
+        this.recencyWeight = recencyWeight;
+        this.error = error;
+    }
+
+    // getPhrase() method will return the phrase
+    public String getPhrase() {
+        return phrase;
+    }
+
+    // getCount() method will return the number of messages that contained the phrase
+    public int getCount() {
+        return count;
+    }
+
+    // getUses() method will return the total number of times the phrase was used
+    public int getUses() {
+        return uses;
+    }
+
+    // getLastSeen() method will return the position of the last message that contained the phrase, or -1 if never seen
+    public int getLastSeen() {
+        return lastSeen;
+    }
+
+    // getLastUsed() method will return when the recency weight was last updated, in epoch seconds (TimestampParser.NO_TIMESTAMP if never)
+    public long getLastUsed() {
+        return lastUsed;
+    }
+
+    // getRecencyWeight() method will return the decaying recency weight as it was at getLastUsed()
+    public double getRecencyWeight() {
+        return recencyWeight;
+    }
+
+    // getError() method will return the most that the count and the uses can be overestimated by, 0 for exact statistics
+    public int getError() {
+        return error;
+    }
+
+    // getHourCount() method will return the number of messages with the phrase that were sent during the given hour
+    public int getHourCount(int hour) {
+        // checking if the hour is valid
+        if (hour < 0 || hour >= 24) {
+            return 0;
+        }
+
+        // returning the count for the hour
+        return hourCounts[hour];
+    }
+
+    // toString() method will return a string representation of the phrase statistics
+    public String toString() {
+        return phrase + " (Count: " + count + ", Uses: " + uses + ", Last Seen: " + lastSeen + ")";
+    }
+}
@@ -0,0 +1,353 @@
+/*
+    Vivaan Echambadi
+    10/17/2026
+
+    PhraseStatsIndex() class will keep a per-user index of phrase statistics (count, last seen position, hour-of-day histogram and recency)
+    in a PhraseScorer kernel so that suggestions can be scored without re-reading and re-splitting the whole message history every time.
+    The index is stored next to the profile in profiles/<user>_stats.txt and is updated incrementally whenever a message is saved.
+    If the stored index does not match the profile file on disk, or was built with a different recency half-life or phrase error bound,
+    it will be rebuilt once from the profile's whole message history, including its older history segments. A profile with a phrase
+    error bound is counted approximately with a fixed number of phrase slots, so the index stays the same size however long the
+    history grows.
+
+*/
+
+// importing package
+package business;
+
+import java.util.*;
+import java.io.*;
+import data.FileManager;
+import data.HistorySegments;
+import data.HistoryStore;
+import data.MessageJournal;
+import data.ProfileCatalog;
+import data.TimestampParser;
+import data.UserProfile;
+
+// PhraseStatsIndex class definition
+public class PhraseStatsIndex {
+    // private attributes for username, files, and the phrase statistics
+    private String userName;
+    private File indexFile;
+    private File profileFile;
+    private File journalFile;
+    private PhraseScorer scorer;
+    private double halfLifeHours;
+    private double errorBound;
+    private long version;
+    private long savedVersion;
+    private boolean stale;
+    private boolean unloaded;
+
+    private static final String PROFILES_FOLDER = "profiles/";
+
+    // static map to hold one loaded index per user, read without locking and filled under the user's lock stripe
+    private static final Map<String, PhraseStatsIndex> INDEXES = new java.util.concurrent.ConcurrentHashMap<>();
+
+    // private constructor, indexes are shared per user through forUser()
+    private PhraseStatsIndex(String userName) {
+        // setting the username and file attributes
+        this.userName = userName;
+        this.indexFile = new File(PROFILES_FOLDER + userName + "_stats.txt");
+        this.profileFile = new File(ProfileCatalog.getShared().pathFor(userName));
+        this.journalFile = new File(MessageJournal.journalPathFor(profileFile.getPath()));
+        loadProfileSettings();
+        this.scorer = new PhraseScorer(halfLifeHours, errorBound);
+        this.version = 0;
+        this.stale = false;
+        this.unloaded = false;
+
+        // loading the index from file, or rebuilding it from the profile if it is missing or stale
+        if (!loadFromFile()) {
+            rebuildFromProfile();
+        }
+
+        // the loaded index matches what is on disk
+        this.savedVersion = version;
+    }
+
+    // forUser() method will return the shared index for a user, loading it the first time it is needed
+    // loading holds only the user's lock stripe, so loading a large profile does not block other users
+    public static PhraseStatsIndex forUser(String userName) {
+        // checking if the index has already been loaded
+        PhraseStatsIndex index = INDEXES.get(userName);
+        if (index != null) {
+            return index;
+        }
+
+        // loading the index under the user's lock, checking again in case another thread loaded it first
+        synchronized (SuggestionService.lockFor(userName)) {
+            index = INDEXES.get(userName);
+            if (index == null) {
+                index = new PhraseStatsIndex(userName);
+                INDEXES.put(userName, index);
+            }
+        }
+
+        // returning the index for the user
+        return index;
+    }
+
+    // unloadIfSynced() method will drop a user's loaded index so its memory can be reclaimed, it is loaded again from disk when next
+    // needed, returns false and keeps the index if it has statistics that are not saved to disk yet, since they would be lost
+    static boolean unloadIfSynced(String userName) {
+        // checking if the index is loaded
+        PhraseStatsIndex index = INDEXES.get(userName);
+        if (index == null) {
+            return true;
+        }
+
+        // keeping the index if it changed since it was last saved
+        synchronized (index) {
+            if (index.stale || index.version != index.savedVersion) {
+                return false;
+            }
+
+            // marking the index as unloaded so a save still waiting with it does not write over the file of the next index
+            index.unloaded = true;
+            INDEXES.remove(userName, index);
+            return true;
+        }
+    }
+
+    // recordMessage() method will update the statistics with a new message sent at epochSeconds (TimestampParser.NO_TIMESTAMP if unknown)
+    // if the message brings a new phrase that older messages may also contain, the index is marked stale and rebuilt from the profile
+    // the next time it is synced, since only the whole history can count the new phrase in those messages
+    public synchronized void recordMessage(String message, long epochSeconds) {
+        if (scorer.addMessage(message, epochSeconds)) {
+            stale = true;
+        }
+        version += 1;
+    }
+
+    // markSynced() method will save the index to disk after the profile has been saved, so both files match
+    public synchronized void markSynced() {
+        saveOrRebuild();
+    }
+
+    // markSyncedIfUnchanged() method will save the index to disk only if it is still at the given version, used after the profile
+    // file was rewritten in the background so the saved index does not claim messages that the profile does not have yet
+    // returns the version that matches the saved profile now, which changes if a stale index was rebuilt
+    public synchronized long markSyncedIfUnchanged(long expectedVersion) {
+        if (version == expectedVersion) {
+            saveOrRebuild();
+            return version;
+        }
+        return expectedVersion;
+    }
+
+    // clear() method will remove all statistics, used when the message history is cleared
+    public synchronized void clear() {
+        scorer = new PhraseScorer(halfLifeHours, errorBound);
+        stale = false;
+        version += 1;
+    }
+
+    // score() method will score every phrase in the index for the given time of day and return the best maxResults suggestions
+    public synchronized List<PhraseSuggestion> score(String currentTimeOfDay, int maxResults) {
+        // scoring with recency decayed to the current wall-clock time
+        long nowSeconds = TimestampParser.fromLocalDateTime(java.time.LocalDateTime.now());
+        return scorer.scoreTop(currentTimeOfDay, maxResults, nowSeconds);
+    }
+
+    // getVersion() method will return a number that changes every time the statistics change
+    public synchronized long getVersion() {
+        return version;
+    }
+
+    // getMessageCount() method will return the number of messages in the index
+    public synchronized int getMessageCount() {
+        return scorer.getMessageCount();
+    }
+
+    // getMaxUses() method will return the highest number of uses of any phrase
+    public synchronized int getMaxUses() {
+        return scorer.getMaxUses();
+    }
+
+    // getAllStats() method will return a list with the statistics of every phrase in the index
+    public synchronized List<PhraseStats> getAllStats() {
+        return scorer.toStats();
+    }
+
+    // getStats() method will return the statistics for a phrase, or null if the phrase has never been used
+    public synchronized PhraseStats getStats(String phrase) {
+        return scorer.getStats(phrase);
+    }
+
+    // estimateBytes() method will return a rough estimate of the heap used by the index
+    public synchronized long estimateBytes() {
+        return scorer.estimateBytes();
+    }
+
+    // HELPER METHODS
+
+    // saveOrRebuild() method will save the index to disk, or rebuild it from the saved profile first if it was marked stale
+    private void saveOrRebuild() {
+        // skipping an index that has been unloaded, since the index loaded after it owns the file now
+        if (unloaded) {
+            return;
+        }
+
+        // saving the index as it is if its counts match the history
+        if (!stale) {
+            saveToFile();
+            savedVersion = version;
+            return;
+        }
+
+        // rebuilding the index from the profile, which now holds every recorded message, and changing the version since the
+        // statistics changed
+        rebuildFromProfile();
+        stale = false;
+        version += 1;
+        savedVersion = version;
+    }
+
+    // rebuildFromProfile() method will rebuild the index from the message history in the user's profile file
+    private void rebuildFromProfile() {
+        // loading the history from the profile and tokenizing every message once
+        HistoryStore history = AISuggestionEngine.loadHistoryFromProfile(userName);
+        scorer = PhraseScorer.fromHistory(history, halfLifeHours, errorBound);
+
+        // saving the rebuilt index only if there is a profile to match it with
+        if (profileFile.exists()) {
+            saveToFile();
+        }
+    }
+
+    // loadProfileSettings() method will read the recency half-life and the phrase error bound from the details of the user's profile,
+    // without reading its messages
+    private void loadProfileSettings() {
+        // using the defaults if there is no profile
+        if (!profileFile.exists()) {
+            halfLifeHours = UserProfile.DEFAULT_RECENCY_HALF_LIFE_HOURS;
+            errorBound = UserProfile.DEFAULT_PHRASE_ERROR_BOUND;
+            return;
+        }
+
+        // reading the settings from the profile details
+        UserProfile details = FileManager.loadProfileHeaderFromTxt(profileFile.getPath());
+        halfLifeHours = details.getRecencyHalfLifeHours();
+        errorBound = details.getPhraseErrorBound();
+    }
+
+    // profileStamp() method will return a short string that changes whenever the profile file, its message journal or its history
+    // segment index changes
+    private String profileStamp() {
+        // checking if the profile file exists
+        if (!profileFile.exists()) {
+            return "none";
+        }
+
+        // returning the file length and last modified time, the length of the journal, and the size and time of the segment index
+        return profileFile.length() + ":" + profileFile.lastModified() + ":" + journalFile.length() + ":"
+                + HistorySegments.forProfile(profileFile.getPath()).getIndexStamp();
+    }
+
+    // loadFromFile() method will load the index from the index file, returning false if it is missing or stale
+    private boolean loadFromFile() {
+        // checking if the index file exists
+        if (!indexFile.exists()) {
+            return false;
+        }
+
+        // reading the index file
+        try (BufferedReader reader = new BufferedReader(new FileReader(indexFile))) {
+            // reading the message count, the profile stamp, the half-life and the error bound from the first four lines
+            String countLine = reader.readLine();
+            String stampLine = reader.readLine();
+            String halfLifeLine = reader.readLine();
+            String errorBoundLine = reader.readLine();
+
+            // checking if the header is valid and matches the current profile file, half-life and error bound
+            if (countLine == null || stampLine == null || halfLifeLine == null || errorBoundLine == null
+                    || !countLine.startsWith("Messages:") || !stampLine.startsWith("Profile Stamp:")
+                    || !halfLifeLine.startsWith("Half-Life:") || !errorBoundLine.startsWith("Error Bound:")) {
+                return false;
+            }
+            if (!stampLine.substring(14).trim().equals(profileStamp())) {
+                return false;
+            }
+            if (Double.parseDouble(halfLifeLine.substring(10).trim()) != halfLifeHours) {
+                return false;
+            }
+            if (Double.parseDouble(errorBoundLine.substring(12).trim()) != errorBound) {
+                return false;
+            }
+            scorer.setMessageCount(Integer.parseInt(countLine.substring(9).trim()));
+
+            // reading each phrase line
+            String line;
+            while ((line = reader.readLine()) != null) {
+                // skipping lines that are not phrase lines
+                if (!line.startsWith("Phrase:")) {
+                    continue;
+                }
+
+                // splitting the line into count, uses, last seen, last used, recency weight, hour histogram, error, and phrase
+                String[] parts = line.substring(7).trim().split(" \\| ", 8);
+                if (parts.length != 8) {
+                    return false;
+                }
+
+                // parsing the hour histogram
+                String[] hourParts = parts[5].split(",");
+                if (hourParts.length != 24) {
+                    return false;
+                }
+                int[] hourCounts = new int[24];
+                for (int i = 0; i < 24; i++) {
+                    hourCounts[i] = Integer.parseInt(hourParts[i].trim());
+                }
+
+                // adding the loaded statistics to the scoring kernel
+                scorer.addStats(new PhraseStats(parts[7], Integer.parseInt(parts[0].trim()),
+                        Integer.parseInt(parts[1].trim()), Integer.parseInt(parts[2].trim()), hourCounts,
+                        Long.parseLong(parts[3].trim()), Double.parseDouble(parts[4].trim()), Integer.parseInt(parts[6].trim())));
+            }
+        }
+        // handling IOException and NumberFormatException during file reading
+        catch (IOException | NumberFormatException e) {
+            System.out.println("Error reading phrase index, rebuilding: " + e.getMessage());
+            return false;
+        }
+
+        // returning true since the index was loaded
+        return true;
+    }
+
+    // saveToFile() method will save the index to the index file
+    private void saveToFile() {
+        // writing the header and each phrase to the index file
+        try (PrintWriter writer = new PrintWriter(new FileWriter(indexFile))) {
+            // writing the message count and the profile stamp
+            writer.println("Messages: " + scorer.getMessageCount());
+            writer.println("Profile Stamp: " + profileStamp());
+            writer.println("Half-Life: " + halfLifeHours);
+            writer.println("Error Bound: " + errorBound);
+
+            // writing each phrase with its statistics using a for each loop
+            for (PhraseStats phraseStats : scorer.toStats()) {
+                // building the hour histogram as a comma separated list
+                StringBuilder hours = new StringBuilder();
+                for (int i = 0; i < 24; i++) {
+                    if (i > 0) {
+                        hours.append(",");
+                    }
+                    hours.append(phraseStats.getHourCount(i));
+                }
+
+                // writing the phrase line
+                writer.println("Phrase: " + phraseStats.getCount() + " | " + phraseStats.getUses() + " | "
+                        + phraseStats.getLastSeen() + " | " + phraseStats.getLastUsed() + " | " + phraseStats.getRecencyWeight()
+                        + " | " + hours + " | " + phraseStats.getError() + " | " + phraseStats.getPhrase());
+            }
+        }
+        // handling IOException during file writing
+        catch (IOException e) {
+            System.out.println("Error saving phrase index: " + e.getMessage());
+        }
+    }
+}
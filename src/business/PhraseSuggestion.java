@@ -4,19 +4,24 @@
 
     PhraseSuggestion() class will represent a suggested phrase along with its score and the reason for the suggestion.
     It will provide getter methods to access the phrase, score, and reason, as well as a toString() method for easy display.
+    The reason can be given as a Supplier so its text is only built the first time it is asked for, which is usually when the
+    suggestion's tooltip is shown, and then kept for later calls.
 
 */
 
 // importing package
 package business;
 
+import java.util.function.Supplier;
+
 // PhraseSuggestion class definition
 public class PhraseSuggestion {
 
-    // private attributes for phrase, score, and reason
+    // private attributes for phrase, score, reason, and the supplier that builds the reason until it is asked for
     private String phrase;
     private double score;
     private String reason;
+    private Supplier<String> reasonSupplier;
 
     // constructor to initialize phrase suggestion with a phrase, score, and reason
     public PhraseSuggestion(String phrase, double score, String reason) {
@@ -25,6 +30,13 @@ public class PhraseSuggestion {
         this.reason = reason;
     }
 
+    // constructor to initialize phrase suggestion with a phrase, score, and a supplier that builds the reason when it is first needed
+    public PhraseSuggestion(String phrase, double score, Supplier<String> reasonSupplier) {
+        this.phrase = phrase;
+        this.score = score;
+        this.reasonSupplier = reasonSupplier;
+    }
+
     // getPhrase() method will return the suggested phrase
     public String getPhrase() {
         return phrase;
@@ -35,14 +47,22 @@ public class PhraseSuggestion {
         return score;
     }
 
-    // getReason() method will return the reason for the suggestion
-    public String getReason() {
+    // getReason() method will return the reason for the suggestion, building it the first time if it was given as a supplier
+    // synchronized because suggestions are built on a worker thread and read on the JavaFX thread
+    public synchronized String getReason() {
+        // building the reason once and dropping the supplier so it is not built again
+        if (reason == null && reasonSupplier != null) {
+            reason = reasonSupplier.get();
+            reasonSupplier = null;
+        }
+
+        // returning the reason
         return reason;
     }
 
     // toString() method will return a string representation of the phrase suggestion
     public String toString() {
         // returning the phrase along with its score and reason
-        return phrase + " (Score: " + score + ", Reason: " + reason + ")";
+        return phrase + " (Score: " + score + ", Reason: " + getReason() + ")";
     }
 }
@@ -0,0 +1,155 @@
+/*
+    Vivaan Echambadi
+    10/17/2026
+
+    SpaceSavingHeap() class will keep the slots of a Space-Saving counter ordered by their counts in an indexed min-heap, so the slot
+    with the lowest count can always be found in O(1) and a count can be raised in O(log k). A Space-Saving counter has a fixed number
+    of slots: when a new item arrives and every slot is taken, it replaces the item with the lowest count and starts from that count.
+    With ceil(1 / errorBound) slots, every count is overestimated by at most errorBound times the total of all counts, and every item
+    whose true count is above that is guaranteed to still have a slot.
+
+*/
+
+// importing package
+package business;
+
+// SpaceSavingHeap class definition
+public class SpaceSavingHeap {
+    // private attributes for the heap of slots, the position of each slot in the heap, and the count of each slot
+    private int[] heap;
+    private int[] position;
+    private long[] counts;
+    private int size;
+
+    // constructor to initialize an empty heap for the given number of slots
+    public SpaceSavingHeap(int capacity) {
+        // creating the arrays, with every slot outside of the heap
+        this.heap = new int[capacity];
+        this.position = new int[capacity];
+        this.counts = new long[capacity];
+        this.size = 0;
+        for (int slot = 0; slot < capacity; slot++) {
+            position[slot] = -1;
+        }
+    }
+
+    // capacityFor() method will return the number of slots needed to keep every count within errorBound of the total
+    public static int capacityFor(double errorBound) {
+        // checking if the error bound is valid
+        if (errorBound <= 0 || errorBound >= 1) {
+            throw new IllegalArgumentException("Error bound must be between 0 and 1: " + errorBound);
+        }
+
+        // returning one slot for every errorBound share of the total
+        return (int) Math.ceil(1.0 / errorBound);
+    }
+
+    // getCapacity() method will return the number of slots
+    public int getCapacity() {
+        return heap.length;
+    }
+
+    // size() method will return the number of slots that are in use
+    public int size() {
+        return size;
+    }
+
+    // isFull() method will return true if every slot is in use
+    public boolean isFull() {
+        return size == heap.length;
+    }
+
+    // add() method will put a slot that was not in use into the heap with its count
+    public void add(int slot, long count) {
+        // checking if the slot is already in the heap
+        if (position[slot] >= 0) {
+            update(slot, count);
+            return;
+        }
+
+        // adding the slot at the end of the heap and moving it up
+        counts[slot] = count;
+        heap[size] = slot;
+        position[slot] = size;
+        size += 1;
+        siftUp(position[slot]);
+    }
+
+    // update() method will change the count of a slot and move it to its new place in the heap
+    public void update(int slot, long count) {
+        // checking if the slot is in the heap
+        if (position[slot] < 0) {
+            add(slot, count);
+            return;
+        }
+
+        // moving the slot down if its count went up, or up if it went down
+        long previous = counts[slot];
+        counts[slot] = count;
+        if (count > previous) {
+            siftDown(position[slot]);
+        }
+        else {
+            siftUp(position[slot]);
+        }
+    }
+
+    // peekMin() method will return the slot with the lowest count, or -1 if no slot is in use
+    public int peekMin() {
+        if (size == 0) {
+            return -1;
+        }
+        return heap[0];
+    }
+
+    // estimateBytes() method will return the heap used by the arrays
+    public long estimateBytes() {
+        return 3 * 16 + (long) heap.length * (4 + 4 + 8);
+    }
+
+    // HELPER METHODS
+
+    // siftUp() method will move the slot at index up until its parent has a lower or equal count
+    private void siftUp(int index) {
+        while (index > 0) {
+            int parent = (index - 1) / 2;
+            if (counts[heap[parent]] <= counts[heap[index]]) {
+                break;
+            }
+            swap(index, parent);
+            index = parent;
+        }
+    }
+
+    // siftDown() method will move the slot at index down until both of its children have higher or equal counts
+    private void siftDown(int index) {
+        while (true) {
+            // finding the child with the lowest count
+            int left = index * 2 + 1;
+            int right = left + 1;
+            int smallest = index;
+            if (left < size && counts[heap[left]] < counts[heap[smallest]]) {
+                smallest = left;
+            }
+            if (right < size && counts[heap[right]] < counts[heap[smallest]]) {
+                smallest = right;
+            }
+
+            // stopping once the slot is in place
+            if (smallest == index) {
+                break;
+            }
+            swap(index, smallest);
+            index = smallest;
+        }
+    }
+
+    // swap() method will swap two positions of the heap and update where each slot is
+    private void swap(int a, int b) {
+        int slot = heap[a];
+        heap[a] = heap[b];
+        heap[b] = slot;
+        position[heap[a]] = a;
+        position[heap[b]] = b;
+    }
+}
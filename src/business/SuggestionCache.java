@@ -0,0 +1,172 @@
+/*
+    Vivaan Echambadi
+    10/17/2026
+
+    SuggestionCache() class will keep a ranked suggestion list for each time of day (morning, afternoon, evening and night) for a user.
+    The four lists are computed together from the user's PhraseStatsIndex and are recomputed after the history version changes, which
+    is bumped whenever a message is saved or the history is cleared. A request for maxResults suggestions is served from the first
+    maxResults entries of the active list, and the lists are made deeper if a request asks for more than they keep.
+    A shared scheduler switches the active time of day when the wall clock crosses a time-of-day boundary, so serving suggestions
+    is just a lookup of the active list instead of scoring every phrase again.
+    The lists are also recomputed once they are MAX_AGE_MILLIS old, even if the history has not changed. This is on purpose: the
+    recency score decays with the wall clock rather than with the number of messages saved, and each phrase's score is compared
+    against the others as an absolute value, so a phrase that has not been used for an hour really should drop below one that was
+    used a minute ago. Folding the decay into the ranking would need every phrase to be decayed to the same moment anyway, so a
+    list scored once and kept until the next message would let an old burst of use hold the top spots for the rest of the day.
+
+*/
+
+// importing package
+package business;
+
+import java.util.*;
+import java.util.concurrent.*;
+import presentation.TimeHelper;
+
+// SuggestionCache class definition
+public class SuggestionCache {
+    // private attributes for the index, the history version, and the cached lists with how deep they are and when they were built
+    private PhraseStatsIndex index;
+    private long historyVersion;
+    private Map<String, List<PhraseSuggestion>> rankedByTimeOfDay;
+    private int cacheDepth;
+    private long cachedVersion;
+    private long cachedAtMillis;
+
+    // number of suggestions kept for each time of day at first, raised to the largest number asked for
+    private static final int CACHE_DEPTH = 20;
+
+    // how long the lists are kept before recency is decayed to the current time again, the one case where they are recomputed
+    // without the history changing (see the comment at the top of the class)
+    private static final long MAX_AGE_MILLIS = 5 * 60 * 1000;
+
+    // static map to hold one cache per user, read without locking and filled under the user's lock stripe
+    private static final Map<String, SuggestionCache> CACHES = new ConcurrentHashMap<>();
+
+    // the time of day that suggestions are served for, switched by the scheduler below
+    private static volatile String activeTimeOfDay = TimeHelper.getTimeOfDay();
+
+    // shared background thread that switches the active time of day at each boundary
+    private static final ScheduledExecutorService TIME_OF_DAY_SCHEDULER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "time-of-day-switch");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // scheduling the first switch when the class is loaded
+    static {
+        scheduleNextSwitch();
+    }
+
+    // private constructor, caches are shared per user through forUser()
+    private SuggestionCache(String userName) {
+        // setting the index and starting with an empty cache
+        this.index = PhraseStatsIndex.forUser(userName);
+        this.historyVersion = 0;
+        this.rankedByTimeOfDay = null;
+        this.cacheDepth = CACHE_DEPTH;
+        this.cachedVersion = 0;
+        this.cachedAtMillis = System.currentTimeMillis();
+    }
+
+    // forUser() method will return the shared cache for a user, creating it the first time it is needed
+    public static SuggestionCache forUser(String userName) {
+        // checking if the cache has already been created
+        SuggestionCache cache = CACHES.get(userName);
+        if (cache != null) {
+            return cache;
+        }
+
+        // creating the cache under the user's lock, checking again in case another thread created it first
+        synchronized (SuggestionService.lockFor(userName)) {
+            cache = CACHES.get(userName);
+            if (cache == null) {
+                cache = new SuggestionCache(userName);
+                CACHES.put(userName, cache);
+            }
+        }
+
+        // returning the cache for the user
+        return cache;
+    }
+
+    // unload() method will drop a user's cache so its memory can be reclaimed
+    static void unload(String userName) {
+        CACHES.remove(userName);
+    }
+
+    // estimateBytes() method will return a rough estimate of the heap used by the cache and the index behind it
+    public synchronized long estimateBytes() {
+        // adding the cached suggestions to the index estimate
+        long bytes = index.estimateBytes();
+        if (rankedByTimeOfDay != null) {
+            for (List<PhraseSuggestion> ranked : rankedByTimeOfDay.values()) {
+                bytes += 64 + ranked.size() * 160L;
+            }
+        }
+
+        // returning the estimate
+        return bytes;
+    }
+
+    // getSuggestions() method will return the best maxResults suggestions for the active time of day
+    public synchronized List<PhraseSuggestion> getSuggestions(int maxResults) {
+        // making the lists deeper if more suggestions are asked for than they keep
+        boolean deeper = maxResults > cacheDepth;
+        if (deeper) {
+            cacheDepth = maxResults;
+        }
+
+        // recomputing the lists if they are missing or too short, the history has changed since they were built, or they are too old
+        if (rankedByTimeOfDay == null || deeper || cachedVersion != historyVersion
+                || System.currentTimeMillis() - cachedAtMillis > MAX_AGE_MILLIS) {
+            rebuild();
+        }
+
+        // returning the first maxResults suggestions of the active list, copied so callers cannot change the cached list
+        List<PhraseSuggestion> ranked = rankedByTimeOfDay.get(activeTimeOfDay);
+        int count = Math.min(Math.max(0, maxResults), ranked.size());
+        return new ArrayList<>(ranked.subList(0, count));
+    }
+
+    // bumpHistoryVersion() method will mark the message history as changed, so the next request scores the phrases again
+    public synchronized void bumpHistoryVersion() {
+        historyVersion += 1;
+    }
+
+    // getHistoryVersion() method will return the current history version
+    public synchronized long getHistoryVersion() {
+        return historyVersion;
+    }
+
+    // getActiveTimeOfDay() method will return the time of day that suggestions are currently served for
+    public static String getActiveTimeOfDay() {
+        return activeTimeOfDay;
+    }
+
+    // HELPER METHODS
+
+    // rebuild() method will score the index once for every time of day and remember which history version the lists belong to
+    private void rebuild() {
+        Map<String, List<PhraseSuggestion>> lists = new HashMap<>();
+
+        // scoring the phrases for each time of day using a for each loop
+        for (String timeOfDay : TimeHelper.TIMES_OF_DAY) {
+            lists.put(timeOfDay, index.score(timeOfDay, cacheDepth));
+        }
+
+        // replacing the cached lists, the version and the time they were built
+        rankedByTimeOfDay = lists;
+        cachedVersion = historyVersion;
+        cachedAtMillis = System.currentTimeMillis();
+    }
+
+    // scheduleNextSwitch() method will schedule the active time of day to be updated at the next boundary
+    private static void scheduleNextSwitch() {
+        // waiting until the next boundary, then updating the active time of day and scheduling the switch after it
+        TIME_OF_DAY_SCHEDULER.schedule(() -> {
+            activeTimeOfDay = TimeHelper.getTimeOfDay();
+            scheduleNextSwitch();
+        }, TimeHelper.getMillisUntilNextTimeOfDay(), TimeUnit.MILLISECONDS);
+    }
+}
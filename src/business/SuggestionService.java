@@ -0,0 +1,210 @@
+/*
+    Vivaan Echambadi
+    10/17/2026
+
+    SuggestionService() class will serve phrase suggestions for many user profiles at once, for example a classroom machine
+    shared by many students. It will keep one AISuggestionEngine per user, compute suggestions on a fixed pool of worker threads,
+    and load each user's phrase index under a lock stripe picked by the user name, so users only wait for other users that share
+    their stripe. The loaded indexes are kept in least-recently-used order, and when their estimated size goes over the memory
+    budget the least recently used users are unloaded, except users whose phrase index has statistics that are not saved to disk yet,
+    which stay loaded until their profile is saved. An unloaded user is loaded again from disk the next time they are needed.
+    Updates to a user's phrase index, such as recording a saved message, also run on the workers, one after another in the order
+    they were queued for that user, so the JavaFX thread never waits for an index to be loaded or rebuilt.
+
+*/
+
+// importing package
+package business;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+// SuggestionService class definition
+public class SuggestionService {
+    // private attributes for the engines, the workers, and the loaded users in least-recently-used order
+    private final Map<String, AISuggestionEngine> engines;
+    private final ScheduledExecutorService workers;
+    private final LinkedHashMap<String, Long> loadedBytes;
+    private final Map<String, CompletableFuture<?>> indexUpdates;
+    private final long memoryBudgetBytes;
+    private long totalBytes;
+
+    // default memory budget for the loaded phrase indexes
+    private static final long DEFAULT_MEMORY_BUDGET_BYTES = 64L * 1024 * 1024;
+
+    // number of locks that the users are spread over
+    private static final int LOCK_STRIPES = 64;
+    private static final Object[] LOCKS = new Object[LOCK_STRIPES];
+
+    // creating the lock stripes when the class is loaded
+    static {
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            LOCKS[i] = new Object();
+        }
+    }
+
+    // the service shared by every screen in the app
+    private static SuggestionService shared;
+
+    // constructor to initialize a service with a memory budget in bytes and a number of worker threads
+    public SuggestionService(long memoryBudgetBytes, int workerCount) {
+        // setting the budget and creating the empty maps
+        this.memoryBudgetBytes = memoryBudgetBytes;
+        this.engines = new ConcurrentHashMap<>();
+        this.loadedBytes = new LinkedHashMap<>(16, 0.75f, true);
+        this.indexUpdates = new ConcurrentHashMap<>();
+        this.totalBytes = 0;
+
+        // creating the fixed pool of daemon worker threads
+        this.workers = Executors.newScheduledThreadPool(workerCount, new ThreadFactory() {
+            private int created = 0;
+
+            // newThread() method will name each worker and make it a daemon so it does not keep the app running
+            public synchronized Thread newThread(Runnable runnable) {
+                created += 1;
+                Thread thread = new Thread(runnable, "suggestion-worker-" + created);
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+    }
+
+    // getShared() method will return the service shared by the whole app, creating it the first time it is needed
+    public static synchronized SuggestionService getShared() {
+        // creating the service with the default budget and one worker per processor
+        if (shared == null) {
+            int workerCount = Math.max(2, Runtime.getRuntime().availableProcessors());
+            shared = new SuggestionService(DEFAULT_MEMORY_BUDGET_BYTES, workerCount);
+        }
+
+        // returning the shared service
+        return shared;
+    }
+
+    // lockFor() method will return the lock stripe that guards loading and unloading a user's data
+    static Object lockFor(String userName) {
+        // spreading the user names over the stripes by their hash code
+        return LOCKS[(userName.hashCode() & 0x7fffffff) % LOCK_STRIPES];
+    }
+
+    // getEngine() method will return the suggestion engine for a user, creating it the first time it is needed
+    public AISuggestionEngine getEngine(String userName) {
+        return engines.computeIfAbsent(userName, AISuggestionEngine::new);
+    }
+
+    // getSuggestions() method will return the best maxResults suggestions for a user on the calling thread
+    public List<PhraseSuggestion> getSuggestions(String userName, int maxResults) {
+        // getting the user's cache, which loads their phrase index the first time
+        SuggestionCache cache = SuggestionCache.forUser(userName);
+        List<PhraseSuggestion> suggestions = cache.getSuggestions(maxResults);
+
+        // recording the use and unloading other users if the budget is exceeded
+        markUsed(userName, cache.estimateBytes());
+
+        // returning the suggestions
+        return suggestions;
+    }
+
+    // getSuggestionsAsync() method will compute a user's suggestions on a worker thread after delayMillis and pass them to onReady
+    // the returned future can be cancelled, which stops the computation if it has not started yet
+    public Future<?> getSuggestionsAsync(String userName, int maxResults, long delayMillis, Consumer<List<PhraseSuggestion>> onReady) {
+        // scheduling the computation on the worker pool
+        return workers.schedule(() -> {
+            // computing the suggestions and handing them to the callback
+            try {
+                onReady.accept(getSuggestions(userName, maxResults));
+            }
+            // handling any exception so the worker keeps running
+            catch (Exception e) {
+                System.out.println("Error computing suggestions for " + userName + ": " + e.getMessage());
+            }
+        }, delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    // updateIndex() method will run an update of a user's phrase index on a worker thread, after every update queued for the user
+    // before it, and return a future with the update's result
+    public <T> CompletableFuture<T> updateIndex(String userName, Function<PhraseStatsIndex, T> update) {
+        // chaining the update after the user's last queued update, whether that one worked or not
+        CompletableFuture<T> next = new CompletableFuture<>();
+        indexUpdates.compute(userName, (name, last) -> {
+            CompletableFuture<?> previous = last == null ? CompletableFuture.completedFuture(null) : last;
+            previous.whenCompleteAsync((ignored, error) -> {
+                // loading the index if needed and running the update under the user's lock stripe, so the index is not unloaded
+                // between looking it up and updating it
+                try {
+                    synchronized (lockFor(userName)) {
+                        next.complete(update.apply(PhraseStatsIndex.forUser(userName)));
+                    }
+                }
+                // handling any exception so the updates after it still run
+                catch (Exception e) {
+                    System.out.println("Error updating phrase index for " + userName + ": " + e.getMessage());
+                    next.completeExceptionally(e);
+                }
+            }, workers);
+            return next;
+        });
+
+        // forgetting the user's queue once its last update has run
+        next.whenComplete((result, error) -> indexUpdates.remove(userName, next));
+        return next;
+    }
+
+    // getLoadedUserCount() method will return how many users currently have their phrase index loaded
+    public synchronized int getLoadedUserCount() {
+        return loadedBytes.size();
+    }
+
+    // getLoadedBytes() method will return the estimated size of every loaded phrase index together
+    public synchronized long getLoadedBytes() {
+        return totalBytes;
+    }
+
+    // HELPER METHODS
+
+    // markUsed() method will move a user to the most recently used end and unload the least recently used users over the budget
+    private void markUsed(String userName, long bytes) {
+        // users to unload with their sizes, collected while holding the service lock and unloaded after releasing it
+        Map<String, Long> evicted = new LinkedHashMap<>();
+
+        synchronized (this) {
+            // updating the user's size and moving them to the most recently used end
+            Long previous = loadedBytes.put(userName, bytes);
+            totalBytes += bytes - (previous == null ? 0 : previous);
+
+            // removing the least recently used users until the budget is met, always keeping the current user
+            Iterator<Map.Entry<String, Long>> iterator = loadedBytes.entrySet().iterator();
+            while (totalBytes > memoryBudgetBytes && iterator.hasNext()) {
+                Map.Entry<String, Long> eldest = iterator.next();
+                if (eldest.getKey().equals(userName)) {
+                    continue;
+                }
+                totalBytes -= eldest.getValue();
+                evicted.put(eldest.getKey(), eldest.getValue());
+                iterator.remove();
+            }
+        }
+
+        // unloading each evicted user under their own lock stripe, with their engine, unless their index has unsaved statistics
+        for (Map.Entry<String, Long> entry : evicted.entrySet()) {
+            String name = entry.getKey();
+            synchronized (lockFor(name)) {
+                if (PhraseStatsIndex.unloadIfSynced(name)) {
+                    SuggestionCache.unload(name);
+                    engines.remove(name);
+                    continue;
+                }
+            }
+
+            // keeping the user loaded until their profile and index are saved, counting them again as recently used
+            synchronized (this) {
+                if (!loadedBytes.containsKey(name)) {
+                    loadedBytes.put(name, entry.getValue());
+                    totalBytes += entry.getValue();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,227 @@
+/*
+    Vivaan Echambadi
+    10/17/2026
+
+    TileModel class will hold the n-gram counts that a TilePredictor predicts from. It will turn each message back into the sequence
+    of tiles that built it, using a vocabulary that maps each tile's meaning to the tile, and count every tile sequence of up to ORDER
+    tiles in a trie that is stored in flat int arrays. To predict, it will look up the last tiles the user tapped and rank the tiles
+    that followed them, backing off to shorter sequences when the longer ones have not been seen. A model is not thread-safe: it is
+    built on one thread and then handed to its TilePredictor, which guards it with its lock.
+
+*/
+
+// importing package
+package business;
+
+import java.util.*;
+import data.StringTable;
+
+// TileModel class definition
+public class TileModel {
+    // private attributes for the vocabulary and the tile dictionary
+    private final Map<String, String> tilesByMeaning;
+    private StringTable tiles;
+
+    // trie nodes, node 0 is the root and each node is the last tile of a sequence that starts at the root
+    private int[] symbol;
+    private int[] count;
+    private int[] firstChild;
+    private int[] nextSibling;
+    private int nodeCount;
+
+    // longest tile sequence counted, so predictions look at up to ORDER - 1 previous tiles
+    private static final int ORDER = 3;
+
+    // how much a prediction from a shorter sequence is worth compared to the next longer one
+    private static final double BACKOFF_WEIGHT = 0.4;
+
+    // symbol used before the first tile of a message, the empty string is never a tile name
+    private static final String START = "";
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    // constructor to create an empty model with a map from each tile's meaning (without the final period) to the tile name
+    public TileModel(Map<String, String> tilesByMeaning) {
+        this.tilesByMeaning = tilesByMeaning;
+        reset();
+    }
+
+    // predictNext() method will return up to maxResults tiles that are likely to follow the tiles tapped so far, best first
+    public List<String> predictNext(List<String> previousTiles, int maxResults) {
+        // building the context: the last ORDER - 1 tiles, with the start symbol in front if the message is shorter than that
+        int[] context = new int[ORDER - 1];
+        int contextLength = 0;
+        int first = Math.max(0, previousTiles.size() - (ORDER - 1));
+        if (previousTiles.size() < ORDER - 1) {
+            context[contextLength++] = tiles.idOf(START);
+        }
+        for (int i = first; i < previousTiles.size() && contextLength < context.length; i++) {
+            context[contextLength++] = tiles.idOf(previousTiles.get(i));
+        }
+
+        // best score of each tile over all the context lengths
+        double[] scores = new double[tiles.size()];
+
+        // scoring from the longest context down to no context at all, with a smaller weight for each step down
+        double weight = 1.0;
+        for (int skip = 0; skip <= contextLength; skip++) {
+            // finding the trie node of this context, skipping it if it has never been seen
+            int node = findNode(context, skip, contextLength);
+            if (node >= 0) {
+                // adding up the counts of the tiles that followed the context
+                int total = 0;
+                for (int child = firstChild[node]; child >= 0; child = nextSibling[child]) {
+                    total += count[child];
+                }
+
+                // scoring each following tile by how often it followed the context
+                for (int child = firstChild[node]; child >= 0 && total > 0; child = nextSibling[child]) {
+                    double score = weight * count[child] / total;
+                    if (score > scores[symbol[child]]) {
+                        scores[symbol[child]] = score;
+                    }
+                }
+            }
+            weight *= BACKOFF_WEIGHT;
+        }
+
+        // keeping only the best maxResults tiles
+        TopKRanker<String> ranker = new TopKRanker<>(maxResults);
+        for (int id = 0; id < scores.length; id++) {
+            if (scores[id] > 0 && ranker.wouldAccept(scores[id])) {
+                ranker.offer(tiles.get(id), scores[id]);
+            }
+        }
+
+        // returning the predicted tiles
+        return ranker.toSortedList();
+    }
+
+    // learn() method will split a message into its tiles and count every tile sequence in it
+    public void learn(String message) {
+        // sequence of symbols for the current run of tiles, starting with the start symbol
+        int[] sequence = new int[8];
+        int length = 0;
+        sequence[length++] = tiles.intern(START);
+
+        // going through each sentence of the message, which is the meaning of one tile
+        int start = 0;
+        while (start < message.length()) {
+            // finding the end of the sentence
+            int end = message.indexOf('.', start);
+            if (end < 0) {
+                end = message.length();
+            }
+
+            // looking up which tile has this sentence as its meaning
+            String sentence = message.substring(start, end).trim();
+            if (!sentence.isEmpty()) {
+                String tile = tilesByMeaning.get(sentence);
+                if (tile != null) {
+                    // adding the tile to the current run, growing the array if it is full
+                    if (length == sequence.length) {
+                        sequence = Arrays.copyOf(sequence, length * 2);
+                    }
+                    sequence[length++] = tiles.intern(tile);
+                } else {
+                    // a sentence that is not a tile breaks the run, so the tiles around it are not counted as neighbours
+                    countSequence(sequence, length);
+                    length = 1;
+                }
+            }
+
+            // moving to the character after the period
+            start = end + 1;
+        }
+
+        // counting the last run of tiles
+        countSequence(sequence, length);
+    }
+
+    // HELPER METHODS
+
+    // countSequence() method will add one to the count of every tile sequence of up to ORDER symbols that ends at a tile
+    private void countSequence(int[] sequence, int length) {
+        // going through every tile after the start symbol
+        for (int end = 1; end < length; end++) {
+            // counting each sequence that ends at this tile, from the tile alone up to ORDER symbols
+            for (int begin = end; begin >= 0 && begin > end - ORDER; begin--) {
+                int node = 0;
+                for (int i = begin; i <= end; i++) {
+                    node = childFor(node, sequence[i]);
+                }
+                count[node] += 1;
+            }
+        }
+    }
+
+    // findNode() method will return the trie node for context[from..to), or -1 if that sequence has never been seen
+    private int findNode(int[] context, int from, int to) {
+        // following the context from the root one tile at a time
+        int node = 0;
+        for (int i = from; i < to && node >= 0; i++) {
+            // unknown tiles have no node
+            if (context[i] < 0) {
+                return -1;
+            }
+
+            // searching the children of the node for the tile
+            int child = firstChild[node];
+            while (child >= 0 && symbol[child] != context[i]) {
+                child = nextSibling[child];
+            }
+            node = child;
+        }
+
+        // returning the node, or -1 if the sequence was not found
+        return node;
+    }
+
+    // childFor() method will return the child of a node for a symbol, adding it if it does not exist yet
+    private int childFor(int node, int value) {
+        // searching the children of the node for the symbol
+        for (int child = firstChild[node]; child >= 0; child = nextSibling[child]) {
+            if (symbol[child] == value) {
+                return child;
+            }
+        }
+
+        // growing the arrays if they are full
+        if (nodeCount == symbol.length) {
+            int capacity = nodeCount * 2;
+            symbol = Arrays.copyOf(symbol, capacity);
+            count = Arrays.copyOf(count, capacity);
+            firstChild = Arrays.copyOf(firstChild, capacity);
+            nextSibling = Arrays.copyOf(nextSibling, capacity);
+        }
+
+        // adding the new node at the front of the node's children
+        int child = nodeCount;
+        nodeCount += 1;
+        symbol[child] = value;
+        count[child] = 0;
+        firstChild[child] = -1;
+        nextSibling[child] = firstChild[node];
+        firstChild[node] = child;
+
+        // returning the new node
+        return child;
+    }
+
+    // reset() method will empty the trie and the tile dictionary
+    private void reset() {
+        // creating the tile dictionary with the start symbol as ID 0
+        this.tiles = new StringTable();
+        this.tiles.intern(START);
+
+        // creating the trie arrays with just the root node
+        this.symbol = new int[INITIAL_CAPACITY];
+        this.count = new int[INITIAL_CAPACITY];
+        this.firstChild = new int[INITIAL_CAPACITY];
+        this.nextSibling = new int[INITIAL_CAPACITY];
+        this.symbol[0] = -1;
+        this.firstChild[0] = -1;
+        this.nextSibling[0] = -1;
+        this.nodeCount = 1;
+    }
+}
@@ -0,0 +1,214 @@
+/*
+    Vivaan Echambadi
+    10/17/2026
+
+    TilePredictor() class will predict which phrase tiles a user is likely to tap next while they build a message.
+    It keeps a TileModel, an n-gram model of the tile sequences in the user's saved messages, and asks it for the tiles that are
+    likely to follow the tiles tapped so far. The tile vocabulary is passed in with setVocabulary() once the phrase dictionary has
+    been loaded. The model is learned from the newest messages in the user's profile on a background thread the first time it is
+    used: a new model is built there without holding the predictor's lock and swapped in once it is done, so reading the profile
+    and learning from it never hold up the screen. Until then the predictor predicts nothing, messages saved in the meantime are
+    kept and added to the new model before it is swapped in, and the onTrained callback is called so the screen can show the
+    predictions. After that the model is updated as each new message is saved.
+
+*/
+
+// importing package
+package business;
+
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import data.HistoryStore;
+
+// TilePredictor class definition
+public class TilePredictor {
+    // private attributes for the user, the model, and the state of its training
+    private String userName;
+    private TileModel model;
+    private boolean trained;
+    private boolean training;
+    private List<String> learnedWhileTraining;
+    private long generation;
+    private Runnable onTrained;
+
+    // number of the newest saved messages the model is learned from
+    private static final int TRAINING_MESSAGES = 10000;
+
+    // static map to hold one predictor per user
+    private static final Map<String, TilePredictor> PREDICTORS = new HashMap<>();
+
+    // map from each tile's meaning (without the final period) back to the tile name, null until setVocabulary() is called
+    private static Map<String, String> tilesByMeaning;
+
+    // single background thread that reads the saved messages and builds the models
+    private static final ExecutorService TRAINER = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "tile-trainer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // private constructor, predictors are shared per user through forUser()
+    private TilePredictor(String userName) {
+        // setting the user and starting with an empty model
+        this.userName = userName;
+        this.model = new TileModel(Collections.emptyMap());
+        this.trained = false;
+        this.training = false;
+        this.learnedWhileTraining = new ArrayList<>();
+        this.generation = 0;
+        this.onTrained = null;
+    }
+
+    // forUser() method will return the shared predictor for a user, creating it the first time it is needed
+    public static synchronized TilePredictor forUser(String userName) {
+        // checking if the predictor has already been created
+        TilePredictor predictor = PREDICTORS.get(userName);
+        if (predictor == null) {
+            // creating the predictor and remembering it for the next call
+            predictor = new TilePredictor(userName);
+            PREDICTORS.put(userName, predictor);
+        }
+
+        // returning the predictor for the user
+        return predictor;
+    }
+
+    // setVocabulary() method will set the tiles the predictors know from the phrase-meaning dictionary (tile name to meaning), and
+    // start training the predictors that were already asked for predictions
+    public static void setVocabulary(Map<String, String> phraseMeanings) {
+        // reversing the phrase-meaning dictionary using a for each loop
+        Map<String, String> reversed = new HashMap<>();
+        for (Map.Entry<String, String> entry : phraseMeanings.entrySet()) {
+            String meaning = entry.getValue().trim();
+            if (meaning.endsWith(".")) {
+                meaning = meaning.substring(0, meaning.length() - 1).trim();
+            }
+            reversed.put(meaning, entry.getKey());
+        }
+
+        // keeping the vocabulary and collecting the predictors created so far
+        List<TilePredictor> waiting;
+        synchronized (TilePredictor.class) {
+            tilesByMeaning = reversed;
+            waiting = new ArrayList<>(PREDICTORS.values());
+        }
+
+        // starting to train each predictor that has not been trained yet
+        for (TilePredictor predictor : waiting) {
+            synchronized (predictor) {
+                if (!predictor.trained) {
+                    predictor.startTraining();
+                }
+            }
+        }
+    }
+
+    // setOnTrained() method will set what to run on the training thread once the saved messages have been learned
+    public synchronized void setOnTrained(Runnable onTrained) {
+        this.onTrained = onTrained;
+    }
+
+    // isTrained() method will return true once the saved messages have been learned and predictions can be made
+    public synchronized boolean isTrained() {
+        return trained;
+    }
+
+    // predictNext() method will return up to maxResults tiles that are likely to follow the tiles tapped so far, best first
+    // returns an empty list while the saved messages are still being learned
+    public synchronized List<String> predictNext(List<String> previousTiles, int maxResults) {
+        // starting to learn the saved messages the first time the model is used, predicting nothing until that is done
+        if (!trained) {
+            startTraining();
+            return new ArrayList<>();
+        }
+        return model.predictNext(previousTiles, maxResults);
+    }
+
+    // learnMessage() method will update the model with a newly saved message
+    public synchronized void learnMessage(String message) {
+        // keeping the message until the saved messages are learned, since it is added on top of them
+        if (!trained) {
+            startTraining();
+            learnedWhileTraining.add(message);
+            return;
+        }
+        model.learn(message);
+    }
+
+    // clear() method will forget everything the model has learned, used when the message history is cleared
+    public synchronized void clear() {
+        // changing the generation so a training that is still reading the old history is thrown away
+        learnedWhileTraining.clear();
+        generation += 1;
+        training = false;
+
+        // starting over with an empty model, or training from the cleared history once there is a vocabulary
+        Map<String, String> vocabulary = vocabulary();
+        if (vocabulary != null) {
+            model = new TileModel(vocabulary);
+            trained = true;
+        } else {
+            trained = false;
+        }
+    }
+
+    // HELPER METHODS
+
+    // vocabulary() method will return the tiles by meaning, or null if setVocabulary() has not been called yet
+    private static synchronized Map<String, String> vocabulary() {
+        return tilesByMeaning;
+    }
+
+    // startTraining() method will start building the model from the newest messages in the user's profile on the background thread,
+    // unless it has already started or there is no vocabulary yet, the caller must hold the lock
+    private void startTraining() {
+        // checking if the training has already started, or has to wait for setVocabulary()
+        Map<String, String> vocabulary = vocabulary();
+        if (training || vocabulary == null) {
+            return;
+        }
+        training = true;
+        long startGeneration = generation;
+
+        // reading the history and learning it into a new model on the background thread, without holding the predictor's lock
+        TRAINER.submit(() -> {
+            TileModel trainedModel = new TileModel(vocabulary);
+            try {
+                HistoryStore history = AISuggestionEngine.loadRecentHistoryFromProfile(userName, TRAINING_MESSAGES);
+                for (int i = 0; i < history.size(); i++) {
+                    trainedModel.learn(history.getMessage(i));
+                }
+            }
+            // handling any exception so the trainer keeps running, and predicting from the messages saved since then
+            catch (Exception e) {
+                System.out.println("Error learning tile predictions for " + userName + ": " + e.getMessage());
+                trainedModel = new TileModel(vocabulary);
+            }
+
+            // swapping in the model and letting the screen know
+            Runnable callback = finishTraining(trainedModel, startGeneration);
+            if (callback != null) {
+                callback.run();
+            }
+        });
+    }
+
+    // finishTraining() method will add the messages saved during training to the new model and swap it in, unless the history was
+    // cleared in the meantime, and return the onTrained callback to run, or null if the model was thrown away
+    private synchronized Runnable finishTraining(TileModel trainedModel, long startGeneration) {
+        // checking if the history was cleared while it was being read
+        if (generation != startGeneration) {
+            return null;
+        }
+
+        // adding the messages saved since training started, then swapping in the model
+        for (String message : learnedWhileTraining) {
+            trainedModel.learn(message);
+        }
+        learnedWhileTraining.clear();
+        model = trainedModel;
+        trained = true;
+        return onTrained;
+    }
+}
@@ -0,0 +1,206 @@
+/*
+    Vivaan Echambadi
+    10/17/2026
+
+    TopKRanker() class will keep the k best scored items out of any number of offered items using a bounded min-heap.
+    The worst kept item is always at the top of the heap, so each offer costs O(log k) and the full candidate list never has to be stored or sorted.
+    Ties are broken deterministically: when two items have the same score, the one that was offered first ranks higher.
+    It will also provide a partialSort() method that moves the k best items of a list to the front in ranked order.
+
+*/
+
+// importing package
+package business;
+
+import java.util.*;
+import java.util.function.ToDoubleFunction;
+
+// TopKRanker class definition
+public class TopKRanker<T> {
+    // private attributes for the heap arrays and its size
+    private int k;
+    private Object[] items;
+    private double[] scores;
+    private long[] offerOrder;
+    private int size;
+    private long nextOrder;
+
+    // constructor to initialize a ranker that keeps at most k items
+    public TopKRanker(int k) {
+        // making sure k is never negative
+        this.k = Math.max(0, k);
+        this.items = new Object[this.k];
+        this.scores = new double[this.k];
+        this.offerOrder = new long[this.k];
+        this.size = 0;
+        this.nextOrder = 0;
+    }
+
+    // wouldAccept() method will return true if an item with this score would be kept, so callers can skip building items that would not
+    public boolean wouldAccept(double score) {
+        // checking if the ranker keeps any items at all
+        if (k == 0) {
+            return false;
+        }
+
+        // checking if there is still room, or if the score beats the worst kept item (ties lose to earlier offers)
+        return size < k || score > scores[0];
+    }
+
+    // offer() method will offer an item with a score, returning true if the item was kept
+    public boolean offer(T item, double score) {
+        // every offer gets an order number, even rejected ones, so ties are decided by offer order
+        long order = nextOrder;
+        nextOrder += 1;
+
+        // checking if the item would be kept
+        if (!wouldAccept(score)) {
+            return false;
+        }
+
+        // adding the item at the end of the heap and moving it up if there is still room
+        if (size < k) {
+            items[size] = item;
+            scores[size] = score;
+            offerOrder[size] = order;
+            siftUp(size);
+            size += 1;
+        }
+        // replacing the worst kept item and moving the new item down
+        else {
+            items[0] = item;
+            scores[0] = score;
+            offerOrder[0] = order;
+            siftDown(0);
+        }
+
+        // returning true since the item was kept
+        return true;
+    }
+
+    // size() method will return the number of items currently kept
+    public int size() {
+        return size;
+    }
+
+    // toSortedList() method will return the kept items from best to worst without changing the ranker
+    @SuppressWarnings("unchecked")
+    public List<T> toSortedList() {
+        // copying the heap positions into an array of indexes
+        Integer[] positions = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            positions[i] = i;
+        }
+
+        // sorting the positions from best to worst, at most k items so this is O(k log k)
+        Arrays.sort(positions, (a, b) -> isWorse(a, b) ? 1 : (isWorse(b, a) ? -1 : 0));
+
+        // building the sorted list of items
+        List<T> sorted = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            sorted.add((T) items[positions[i]]);
+        }
+
+        // returning the sorted list
+        return sorted;
+    }
+
+    // partialSort() method will move the k best items of a list to the front in ranked order, keeping the rest in their original order
+    public static <T> void partialSort(List<T> list, int k, ToDoubleFunction<T> scoreOf) {
+        // ranking every item in the list
+        TopKRanker<T> ranker = new TopKRanker<>(k);
+        for (int i = 0; i < list.size(); i++) {
+            T item = list.get(i);
+            ranker.offer(item, scoreOf.applyAsDouble(item));
+        }
+
+        // remembering which items made the top k, by identity
+        List<T> top = ranker.toSortedList();
+        Set<T> kept = Collections.newSetFromMap(new IdentityHashMap<>());
+        kept.addAll(top);
+
+        // building the new order: the top k first, then everything else in its original order
+        List<T> reordered = new ArrayList<>(list.size());
+        reordered.addAll(top);
+        for (int i = 0; i < list.size(); i++) {
+            T item = list.get(i);
+            if (!kept.contains(item)) {
+                reordered.add(item);
+            }
+        }
+
+        // writing the new order back into the list
+        for (int i = 0; i < reordered.size(); i++) {
+            list.set(i, reordered.get(i));
+        }
+    }
+
+    // HELPER METHODS
+
+    // isWorse() method will return true if the item at heap position a ranks below the item at heap position b
+    private boolean isWorse(int a, int b) {
+        // comparing scores first
+        if (scores[a] != scores[b]) {
+            return scores[a] < scores[b];
+        }
+
+        // breaking ties by offer order, later offers rank lower
+        return offerOrder[a] > offerOrder[b];
+    }
+
+    // siftUp() method will move the item at a heap position up until its parent is worse than it
+    private void siftUp(int position) {
+        // moving up while the item is worse than its parent
+        while (position > 0) {
+            int parent = (position - 1) / 2;
+            if (!isWorse(position, parent)) {
+                break;
+            }
+            swap(position, parent);
+            position = parent;
+        }
+    }
+
+    // siftDown() method will move the item at a heap position down until both children are better than it
+    private void siftDown(int position) {
+        // moving down while a child is worse than the item
+        while (true) {
+            int left = position * 2 + 1;
+            int right = left + 1;
+            int worst = position;
+
+            // finding the worst of the item and its children
+            if (left < size && isWorse(left, worst)) {
+                worst = left;
+            }
+            if (right < size && isWorse(right, worst)) {
+                worst = right;
+            }
+
+            // stopping if the item is already the worst
+            if (worst == position) {
+                break;
+            }
+            swap(position, worst);
+            position = worst;
+        }
+    }
+
+    // swap() method will swap two heap positions in all of the heap arrays
+    private void swap(int a, int b) {
+        // swapping the items
+        Object item = items[a];
+        items[a] = items[b];
+        items[b] = item;
+
+        // swapping the scores
+        double score = scores[a];
+        scores[a] = scores[b];
+        scores[b] = score;
+
+        // swapping the offer order numbers
+        long order = offerOrder[a];
+        offerOrder[a] = offerOrder[b];
+        offerOrder[b] = order;
+    }
+}
@@ -0,0 +1,356 @@
+/*
+    Vivaan Echambadi
+    10/17/2026
+
+    BinaryProfileFormat class will read and write profiles in a compact binary file instead of one text line per field and message.
+    The file starts with the magic bytes "NBPF", a format version, and the length of the header, so the profile details can be read
+    without touching the messages. The header holds each profile field as its FileManager key number and the same value text the
+    text format uses. The message section after it holds every distinct message text once, followed by each message as its message
+    ID and the difference from the previous timestamp, both written as variable-length numbers, so a message usually takes 2 to 4
+    bytes instead of a whole line. When a profile is loaded with its messages, the message section is read but only decoded into a
+    HistoryStore the first time the history is used.
+
+    Layout (numbers marked varint use 7 bits per byte, low bits first, and the high bit means another byte follows):
+        magic "NBPF" (4 bytes) | version (2 bytes) | header length (4 bytes)
+        header:   field count (varint), then for each field its key (varint) and value (string)
+        messages: distinct text count (varint), then each text (string) in message ID order,
+                  message count (varint), then for each message (ID << 1 | has timestamp) (varint) and,
+                  if it has a timestamp, the zigzag-encoded seconds since the previous timestamp (varint)
+        a string is its length in UTF-8 bytes (varint) followed by the bytes
+
+*/
+
+// importing packages
+package data;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+
+// BinaryProfileFormat class definition
+class BinaryProfileFormat {
+
+    // bytes every binary profile starts with, and the newest version this class can read and the one it writes
+    static final byte[] MAGIC = {'N', 'B', 'P', 'F'};
+    static final int VERSION = 1;
+
+    // file extension used for binary profiles
+    static final String EXTENSION = ".nbp";
+
+    // size of the magic bytes, version and header length at the start of the file
+    private static final int PREAMBLE_LENGTH = 10;
+
+    // size of the buffer the file is written through, and the most bytes one varint can take
+    private static final int CHUNK_SIZE = 64 * 1024;
+    private static final int MAX_VARINT_LENGTH = 10;
+
+    // isBinary() method will return true if a file starts with the magic bytes of a binary profile
+    static boolean isBinary(File file) {
+        // checking if the file is long enough to hold the magic bytes
+        if (!file.isFile() || file.length() < MAGIC.length) {
+            return false;
+        }
+
+        // reading the first bytes of the file and comparing them with the magic bytes
+        try (FileChannel in = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            ByteBuffer start = ByteBuffer.allocate(MAGIC.length);
+            readFully(in, start, 0);
+            for (int i = 0; i < MAGIC.length; i++) {
+                if (start.get(i) != MAGIC[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        // handling IOException during reading by treating the file as text
+        catch (IOException e) {
+            return false;
+        }
+    }
+
+    // write() method will write a profile and its whole history to a binary profile file
+    static void write(UserProfile profile, String filePath) throws IOException {
+        // encoding the header first, since its length is written before it
+        ByteArrayOutputStream headerBytes = new ByteArrayOutputStream();
+        try (WritableByteChannel header = Channels.newChannel(headerBytes)) {
+            ByteBuffer chunk = ByteBuffer.allocate(CHUNK_SIZE);
+            putVarint(chunk, FileManager.KEY_MESSAGE);
+            for (int key = 0; key < FileManager.KEY_MESSAGE; key++) {
+                ensureRoom(header, chunk);
+                putVarint(chunk, key);
+                putString(header, chunk, FileManager.formatField(profile, key));
+            }
+            flush(header, chunk);
+        }
+
+        // writing the file through one reused buffer
+        HistoryStore history = profile.getHistory();
+        try (FileChannel out = FileChannel.open(new File(filePath).toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            // writing the magic bytes, the version and the header
+            ByteBuffer chunk = ByteBuffer.allocate(CHUNK_SIZE);
+            chunk.put(MAGIC);
+            chunk.putShort((short) VERSION);
+            chunk.putInt(headerBytes.size());
+            putBytes(out, chunk, headerBytes.toByteArray());
+
+            // writing every distinct message text in message ID order
+            StringTable table = history.getMessageTable();
+            ensureRoom(out, chunk);
+            putVarint(chunk, table.size());
+            for (int id = 0; id < table.size(); id++) {
+                ensureRoom(out, chunk);
+                putString(out, chunk, table.get(id));
+            }
+
+            // writing each message as its ID and the seconds since the previous timestamp
+            ensureRoom(out, chunk);
+            putVarint(chunk, history.size());
+            long previous = 0;
+            for (int i = 0; i < history.size(); i++) {
+                ensureRoom(out, chunk);
+                long time = history.getEpochSeconds(i);
+                long code = (long) history.getMessageId(i) << 1;
+
+                // writing a message without a timestamp as just its ID
+                if (time == TimestampParser.NO_TIMESTAMP) {
+                    putVarint(chunk, code);
+                    continue;
+                }
+
+                // writing the ID with the timestamp flag, then the difference from the previous timestamp
+                putVarint(chunk, code | 1);
+                putVarint(chunk, zigzag(time - previous));
+                previous = time;
+            }
+
+            // writing what is left in the buffer
+            flush(out, chunk);
+        }
+    }
+
+    // read() method will read a binary profile file, with or without its messages
+    // the message section is read into memory right away, but only decoded when the history is first used
+    static UserProfile read(String filePath, boolean includeMessages) throws IOException {
+        try (FileChannel in = FileChannel.open(new File(filePath).toPath(), StandardOpenOption.READ)) {
+            // reading and checking the magic bytes, the version and the header length
+            ByteBuffer preamble = ByteBuffer.allocate(PREAMBLE_LENGTH);
+            readFully(in, preamble, 0);
+            for (int i = 0; i < MAGIC.length; i++) {
+                if (preamble.get(i) != MAGIC[i]) {
+                    throw new IOException("Not a binary profile: " + filePath);
+                }
+            }
+            int version = preamble.getShort(MAGIC.length) & 0xFFFF;
+            if (version < 1 || version > VERSION) {
+                throw new IOException("Unsupported binary profile version " + version + " in " + filePath);
+            }
+            int headerLength = preamble.getInt(MAGIC.length + 2);
+            if (headerLength < 0 || PREAMBLE_LENGTH + (long) headerLength > in.size()) {
+                throw new IOException("Binary profile header is cut off in " + filePath);
+            }
+
+            // reading the header and setting each profile field from it
+            ByteBuffer header = ByteBuffer.allocate(headerLength);
+            readFully(in, header, PREAMBLE_LENGTH);
+            UserProfile profile = new UserProfile("Unknown");
+            try {
+                readHeader(header, profile);
+            }
+            // handling a header that does not decode as a corrupt file
+            catch (BufferUnderflowException | IllegalArgumentException e) {
+                throw new IOException("Binary profile header is corrupt in " + filePath);
+            }
+
+            // stopping here if only the profile details were asked for
+            if (!includeMessages) {
+                return profile;
+            }
+
+            // reading the message section without decoding it
+            long messagesStart = PREAMBLE_LENGTH + (long) headerLength;
+            long messagesLength = in.size() - messagesStart;
+            if (messagesLength > Integer.MAX_VALUE - 8) {
+                throw new IOException("Binary profile message section is too large in " + filePath);
+            }
+            ByteBuffer messages = ByteBuffer.allocate((int) messagesLength);
+            readFully(in, messages, messagesStart);
+
+            // decoding the messages the first time the history is used
+            profile.setHistoryLoader(() -> decodeMessages(messages, filePath));
+            return profile;
+        }
+    }
+
+    // HELPER METHODS
+
+    // readHeader() method will set each profile field stored in the header, skipping keys this version does not know
+    private static void readHeader(ByteBuffer header, UserProfile profile) {
+        // reading each field as its key and value
+        long fieldCount = readVarint(header);
+        for (long i = 0; i < fieldCount; i++) {
+            long key = readVarint(header);
+            String value = readString(header);
+            if (key >= 0 && key < FileManager.KEY_MESSAGE) {
+                FileManager.applyField(profile, (int) key, value.trim());
+            }
+        }
+    }
+
+    // decodeMessages() method will decode the message section into a new history
+    private static HistoryStore decodeMessages(ByteBuffer messages, String filePath) {
+        HistoryStore history = null;
+        try {
+            // adding every distinct text to the table so each one gets the message ID it was written with
+            int textCount = readCount(messages);
+            StringTable table = new StringTable();
+            for (int id = 0; id < textCount; id++) {
+                if (table.intern(readString(messages)) != id) {
+                    throw new IllegalArgumentException("Message text " + id + " is repeated");
+                }
+            }
+
+            // adding each message with its ID and the timestamp rebuilt from the differences
+            int count = readCount(messages);
+            history = new HistoryStore(count, table);
+            long previous = 0;
+            for (int i = 0; i < count; i++) {
+                long code = readVarint(messages);
+                long time = TimestampParser.NO_TIMESTAMP;
+                if ((code & 1) != 0) {
+                    previous += unzigzag(readVarint(messages));
+                    time = previous;
+                }
+                history.appendId(time, (int) (code >>> 1));
+            }
+        }
+        // handling a message section that does not decode, keeping the messages read before the problem
+        catch (BufferUnderflowException | IllegalArgumentException | IndexOutOfBoundsException e) {
+            System.out.println("Error decoding messages of binary profile " + filePath + ": " + e.getMessage());
+            if (history == null) {
+                history = new HistoryStore();
+            }
+        }
+        return history;
+    }
+
+    // readVarint() method will read a variable-length number from the buffer
+    private static long readVarint(ByteBuffer buffer) {
+        // adding 7 bits from each byte until a byte without the high bit
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Variable-length number is too long");
+    }
+
+    // readCount() method will read a varint that counts something held in an array, checking that it fits in an int
+    private static int readCount(ByteBuffer buffer) {
+        long count = readVarint(buffer);
+        if (count < 0 || count > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Count " + count + " is too large");
+        }
+        return (int) count;
+    }
+
+    // readString() method will read a length-prefixed UTF-8 string from the buffer
+    private static String readString(ByteBuffer buffer) {
+        // checking that the whole string is in the buffer
+        long length = readVarint(buffer);
+        if (length < 0 || length > buffer.remaining()) {
+            throw new BufferUnderflowException();
+        }
+
+        // decoding the bytes and moving past them
+        String value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), (int) length, StandardCharsets.UTF_8);
+        buffer.position(buffer.position() + (int) length);
+        return value;
+    }
+
+    // putVarint() method will write a number to the buffer as a variable-length number, which the buffer must have room for
+    private static void putVarint(ByteBuffer buffer, long value) {
+        // writing 7 bits at a time with the high bit set while more bytes follow
+        while ((value & ~0x7FL) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    // putString() method will write a string as its UTF-8 length and bytes, the buffer must have room for the length
+    private static void putString(WritableByteChannel out, ByteBuffer buffer, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        putVarint(buffer, bytes.length);
+        putBytes(out, buffer, bytes);
+    }
+
+    // putBytes() method will write bytes through the buffer, writing them straight to the channel if they do not fit in it
+    private static void putBytes(WritableByteChannel out, ByteBuffer buffer, byte[] bytes) throws IOException {
+        // making room in the buffer if needed
+        if (bytes.length > buffer.remaining()) {
+            flush(out, buffer);
+        }
+
+        // copying the bytes into the buffer, or writing them directly if they are bigger than the whole buffer
+        if (bytes.length <= buffer.remaining()) {
+            buffer.put(bytes);
+        } else {
+            writeFully(out, ByteBuffer.wrap(bytes));
+        }
+    }
+
+    // ensureRoom() method will flush the buffer if it does not have room for one message, which is at most two varints
+    private static void ensureRoom(WritableByteChannel out, ByteBuffer buffer) throws IOException {
+        if (buffer.remaining() < 2 * MAX_VARINT_LENGTH) {
+            flush(out, buffer);
+        }
+    }
+
+    // flush() method will write everything in the buffer to the channel and empty the buffer
+    private static void flush(WritableByteChannel out, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        writeFully(out, buffer);
+        buffer.clear();
+    }
+
+    // writeFully() method will write every remaining byte of the buffer to the channel
+    private static void writeFully(WritableByteChannel out, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            out.write(buffer);
+        }
+    }
+
+    // readFully() method will fill the buffer from the file starting at position, failing if the file ends first
+    private static void readFully(FileChannel in, ByteBuffer buffer, long position) throws IOException {
+        // reading until the buffer is full
+        while (buffer.hasRemaining()) {
+            int read = in.read(buffer, position);
+            if (read < 0) {
+                throw new IOException("Binary profile is cut off");
+            }
+            position += read;
+        }
+        buffer.flip();
+    }
+
+    // zigzag() method will map a signed difference to an unsigned number so small negative differences also stay short
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    // unzigzag() method will undo zigzag()
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
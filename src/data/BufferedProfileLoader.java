@@ -0,0 +1,401 @@
+/*
+    Vivaan Echambadi
+    10/17/2026
+
+    BufferedProfileLoader class will load a profile text file by reading it with NIO, a few megabytes at a time, into one reused
+    direct buffer and scanning its bytes directly, instead of reading it into a String one line at a time. New lines are found
+    eight bytes at a time, the key of each line is recognized with a ProfileKeyMatcher, and message timestamps are parsed straight
+    from the bytes. Strings are only made for the profile fields and for the first time each distinct message text is seen:
+    repeated messages are found by their bytes in a hash table and added to the HistoryStore by their message ID, so loading a
+    very large history does little work beyond scanning its bytes. Lines that do not start with a known key are handed to
+    FileManager's normal line handling, so both loaders read the same profiles. The file is read into the buffer rather than
+    memory-mapped, since a mapping stays open until it is garbage collected and on Windows an open mapping stops the profile file
+    from being replaced while the app saves it.
+
+*/
+
+// importing packages
+package data;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+// BufferedProfileLoader class definition
+public class BufferedProfileLoader {
+    // private attributes for the profile and history being loaded, and whether messages are wanted
+    private final UserProfile profile;
+    private final HistoryStore history;
+    private final boolean includeMessages;
+
+    // hash table from the bytes of each distinct message text to its message ID, stored as entry index + 1 (0 means empty)
+    private int[] table;
+    private int[] entryHashes;
+    private ByteBuffer[] entryBytes;
+    private int[] entryIds;
+    private int entryCount;
+
+    // matcher of the profile keys, compiled once
+    private static final ProfileKeyMatcher KEY_MATCHER = new ProfileKeyMatcher(FileManager.KEYS);
+
+    // the profile files use the same character set as FileManager's readers and writers
+    private static final Charset CHARSET = Charset.defaultCharset();
+
+    // size of the part of a file that is read at once, the window grows if a single line does not fit in it
+    private static final int WINDOW_BYTES = 4 * 1024 * 1024;
+
+    // separator between the timestamp and the message text in a message line
+    private static final byte[] SEPARATOR = {' ', '|', ' '};
+
+    // private constructor, profiles are loaded through loadProfile() and loadHistory()
+    private BufferedProfileLoader(UserProfile profile, HistoryStore history, boolean includeMessages) {
+        // setting the targets of the load
+        this.profile = profile;
+        this.history = history;
+        this.includeMessages = includeMessages;
+
+        // creating the empty message table
+        this.table = new int[1024];
+        this.entryHashes = new int[512];
+        this.entryBytes = new ByteBuffer[512];
+        this.entryIds = new int[512];
+        this.entryCount = 0;
+    }
+
+    // isSupported() method will return true if the character set stores the keys, separators and new lines as single ASCII bytes,
+    // which the byte scanning depends on
+    public static boolean isSupported() {
+        // encoding every key and the separator characters and checking that each character became its own ASCII byte
+        String sample = String.join("", FileManager.KEYS) + " |\t\r\n/0123456789";
+        byte[] encoded = sample.getBytes(CHARSET);
+        if (encoded.length != sample.length()) {
+            return false;
+        }
+        for (int i = 0; i < encoded.length; i++) {
+            if (encoded[i] != (byte) sample.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // loadProfile() method will load a profile from a text file, with or without its messages
+    public static UserProfile loadProfile(String filePath, boolean includeMessages) throws IOException {
+        // loading the profile fields and messages into a new profile
+        UserProfile profile = new UserProfile("Unknown");
+        new BufferedProfileLoader(profile, profile.getHistory(), includeMessages).scan(filePath);
+        return profile;
+    }
+
+    // loadHistory() method will load only the message history of a profile text file
+    public static HistoryStore loadHistory(String filePath) throws IOException {
+        // loading the messages into a new history, skipping the profile fields
+        HistoryStore history = new HistoryStore();
+        loadHistoryInto(filePath, history);
+        return history;
+    }
+
+    // loadHistoryInto() method will add the messages of a profile text file to the end of a history, skipping the profile fields
+    static void loadHistoryInto(String filePath, HistoryStore history) throws IOException {
+        new BufferedProfileLoader(null, history, true).scan(filePath);
+    }
+
+    // HELPER METHODS
+
+    // scan() method will read the file one window at a time and handle each line in it
+    private void scan(String filePath) throws IOException {
+        try (FileChannel channel = FileChannel.open(Paths.get(filePath), StandardOpenOption.READ)) {
+            // reading words in little-endian order so the first new line in a word is its lowest byte
+            long fileSize = channel.size();
+            ByteBuffer buffer = ByteBuffer.allocateDirect((int) Math.min(WINDOW_BYTES, Math.max(fileSize, 1)));
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+
+            // reading windows until the whole file has been read
+            long position = 0;
+            while (position < fileSize) {
+                // reading the next window, which may end early if the file was shortened
+                int limit = readWindow(channel, buffer, position);
+                if (limit == 0) {
+                    return;
+                }
+                boolean lastWindow = position + limit >= fileSize || limit < buffer.capacity();
+
+                // handling each line that ends inside the window
+                int lineStart = 0;
+                while (lineStart < limit) {
+                    int lineEnd = indexOfNewLine(buffer, lineStart, limit);
+                    if (lineEnd < 0) {
+                        // reading the next window from the start of a line that goes past this one
+                        if (!lastWindow) {
+                            break;
+                        }
+                        // otherwise the line ends with the file
+                        lineEnd = limit;
+                    }
+
+                    // stopping if the line says nothing more is needed
+                    if (!handleLine(buffer, lineStart, lineEnd)) {
+                        return;
+                    }
+                    lineStart = lineEnd + 1;
+                }
+
+                // doubling the window if a single line did not fit in it, and reading it again from the same place
+                if (lineStart == 0) {
+                    buffer = ByteBuffer.allocateDirect((int) Math.min((long) buffer.capacity() * 2, Integer.MAX_VALUE - 8));
+                    buffer.order(ByteOrder.LITTLE_ENDIAN);
+                    continue;
+                }
+
+                // moving to the first line that was not handled
+                position += Math.min(lineStart, limit);
+            }
+        }
+    }
+
+    // readWindow() method will fill the buffer with the bytes of the file from position on, returning how many were read
+    private static int readWindow(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        // reading until the buffer is full or the file ends
+        buffer.clear();
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position + buffer.position());
+            if (read < 0) {
+                break;
+            }
+        }
+        return buffer.position();
+    }
+
+    // handleLine() method will apply one line of the file, returning false if loading should stop
+    private boolean handleLine(ByteBuffer buffer, int start, int end) {
+        // trimming the line like String.trim() does
+        while (start < end && (buffer.get(start) & 0xff) <= ' ') {
+            start += 1;
+        }
+        while (end > start && (buffer.get(end - 1) & 0xff) <= ' ') {
+            end -= 1;
+        }
+
+        // skipping empty lines
+        if (start == end) {
+            return true;
+        }
+
+        // finding the key the line starts with, and handing lines without one to FileManager's line handling
+        int key = KEY_MATCHER.match(buffer, start, end);
+        if (key < 0) {
+            return handleUnkeyedLine(decode(buffer, start, end));
+        }
+
+        // adding message lines straight from their bytes
+        if (key == FileManager.KEY_MESSAGE) {
+            // stopping at the first message if only the profile details were asked for
+            if (!includeMessages) {
+                return false;
+            }
+
+            // skipping the spaces after the key and adding the message if there is one
+            int valueStart = start + KEY_MATCHER.getKeyLength(key);
+            while (valueStart < end && (buffer.get(valueStart) & 0xff) <= ' ') {
+                valueStart += 1;
+            }
+            if (valueStart < end) {
+                addMessage(buffer, valueStart, end);
+            }
+            return true;
+        }
+
+        // setting a profile field, only making its String if a profile is being loaded
+        if (profile != null) {
+            FileManager.applyField(profile, key, decode(buffer, start + KEY_MATCHER.getKeyLength(key), end).trim());
+        }
+        return true;
+    }
+
+    // handleUnkeyedLine() method will handle a line with extra text before its key the same way FileManager's reader does
+    private boolean handleUnkeyedLine(String line) {
+        // finding the first known key in the line
+        line = FileManager.normalizeToFirstKnownKey(line);
+        int key = FileManager.keyOf(line);
+        if (key < 0) {
+            return true;
+        }
+
+        // adding a message line
+        if (key == FileManager.KEY_MESSAGE) {
+            if (!includeMessages) {
+                return false;
+            }
+            String message = line.substring(FileManager.KEYS[key].length()).trim();
+            if (!message.isEmpty()) {
+                history.appendLine(message);
+            }
+            return true;
+        }
+
+        // setting a profile field
+        if (profile != null) {
+            FileManager.applyField(profile, key, line.substring(FileManager.KEYS[key].length()).trim());
+        }
+        return true;
+    }
+
+    // addMessage() method will add the message in the bytes from start to end, written as "yyyy/MM/dd HH:mm:ss | message"
+    private void addMessage(ByteBuffer buffer, int start, int end) {
+        // parsing the timestamp at the start of the message, if there is room for one and the separator after it
+        long epochSeconds = TimestampParser.NO_TIMESTAMP;
+        int textStart = start;
+        int stampLength = TimestampParser.TIMESTAMP_LENGTH;
+        if (end - start >= stampLength + SEPARATOR.length) {
+            // parsing the timestamp straight from the bytes
+            long parsed = TimestampParser.parse(buffer, start, end);
+
+            // using the timestamp only if the separator follows it, otherwise the whole line is the message
+            if (parsed != TimestampParser.NO_TIMESTAMP && buffer.get(start + stampLength) == SEPARATOR[0]
+                    && buffer.get(start + stampLength + 1) == SEPARATOR[1] && buffer.get(start + stampLength + 2) == SEPARATOR[2]) {
+                epochSeconds = parsed;
+                textStart = start + stampLength + SEPARATOR.length;
+            }
+        }
+
+        // adding the message by the ID of its text
+        history.appendId(epochSeconds, messageIdOf(buffer, textStart, end));
+    }
+
+    // messageIdOf() method will return the message ID of the text in the bytes from start to end, making its String only the first time
+    private int messageIdOf(ByteBuffer buffer, int start, int end) {
+        // hashing the bytes
+        int hash = hashBytes(buffer, start, end);
+
+        // looking for an entry with the same bytes
+        int mask = table.length - 1;
+        int slot = hash & mask;
+        while (table[slot] != 0) {
+            int entry = table[slot] - 1;
+            if (entryHashes[entry] == hash && sameBytes(entryBytes[entry], buffer, start, end)) {
+                return entryIds[entry];
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        // copying the bytes, making the String, and adding it to the history's message table
+        byte[] bytes = new byte[end - start];
+        buffer.get(start, bytes);
+        int id = history.getMessageTable().intern(new String(bytes, CHARSET));
+
+        // adding the entry, growing the arrays and the table when they get full
+        if (entryCount == entryIds.length) {
+            entryHashes = Arrays.copyOf(entryHashes, entryCount * 2);
+            entryBytes = Arrays.copyOf(entryBytes, entryCount * 2);
+            entryIds = Arrays.copyOf(entryIds, entryCount * 2);
+        }
+        entryHashes[entryCount] = hash;
+        entryBytes[entryCount] = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+        entryIds[entryCount] = id;
+        entryCount += 1;
+        table[slot] = entryCount;
+        if (entryCount * 2 > table.length) {
+            rehash();
+        }
+
+        // returning the message ID
+        return id;
+    }
+
+    // rehash() method will double the hash table and put every entry back into it
+    private void rehash() {
+        // creating the larger table
+        table = new int[table.length * 2];
+        int mask = table.length - 1;
+
+        // putting each entry in its first free slot
+        for (int entry = 0; entry < entryCount; entry++) {
+            int slot = entryHashes[entry] & mask;
+            while (table[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            table[slot] = entry + 1;
+        }
+    }
+
+    // hashBytes() method will return a hash of the bytes from start to end, mixing in eight bytes at a time
+    private static int hashBytes(ByteBuffer buffer, int start, int end) {
+        // mixing in whole words
+        long hash = end - start;
+        int i = start;
+        while (i + 8 <= end) {
+            hash = (hash ^ buffer.getLong(i)) * 0x9E3779B97F4A7C15L;
+            i += 8;
+        }
+
+        // mixing in the bytes left over at the end
+        while (i < end) {
+            hash = (hash ^ (buffer.get(i) & 0xff)) * 0x9E3779B97F4A7C15L;
+            i += 1;
+        }
+
+        // folding the high bits down so the low bits can index the table
+        return (int) (hash ^ (hash >>> 32) ^ (hash >>> 17));
+    }
+
+    // sameBytes() method will return true if the buffer holds exactly the given bytes from start to end, comparing eight bytes at a time
+    private static boolean sameBytes(ByteBuffer bytes, ByteBuffer buffer, int start, int end) {
+        // checking the lengths first
+        int length = bytes.capacity();
+        if (length != end - start) {
+            return false;
+        }
+
+        // comparing whole words, then the bytes left over at the end
+        int i = 0;
+        while (i + 8 <= length) {
+            if (bytes.getLong(i) != buffer.getLong(start + i)) {
+                return false;
+            }
+            i += 8;
+        }
+        while (i < length) {
+            if (bytes.get(i) != buffer.get(start + i)) {
+                return false;
+            }
+            i += 1;
+        }
+        return true;
+    }
+
+    // decode() method will make a String from the bytes from start to end
+    private static String decode(ByteBuffer buffer, int start, int end) {
+        byte[] bytes = new byte[end - start];
+        buffer.get(start, bytes);
+        return new String(bytes, CHARSET);
+    }
+
+    // indexOfNewLine() method will return the position of the first new line from start to end, or -1 if there is none
+    // it checks eight bytes at a time: a byte of the word equals '\n' exactly when the same byte of word ^ 0x0A0A... is zero
+    private static int indexOfNewLine(ByteBuffer buffer, int start, int end) {
+        // checking whole words
+        int i = start;
+        while (i + 8 <= end) {
+            long word = buffer.getLong(i) ^ 0x0A0A0A0A0A0A0A0AL;
+            long found = (word - 0x0101010101010101L) & ~word & 0x8080808080808080L;
+            if (found != 0) {
+                return i + (Long.numberOfTrailingZeros(found) >>> 3);
+            }
+            i += 8;
+        }
+
+        // checking the bytes left over at the end
+        while (i < end) {
+            if (buffer.get(i) == '\n') {
+                return i;
+            }
+            i += 1;
+        }
+        return -1;
+    }
+}
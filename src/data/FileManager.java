@@ -4,7 +4,16 @@
 
     FileManager class will handle loading and saving UserProfile data to and from text files. It will provide methods 
     to read a user profile from a specified text file and to save a UserProfile object back to a text file. The class will include
-    helper methods to parse different data types and handle formatting of the profile data.
+    helper methods to parse different data types and handle formatting of the profile data. It can also load just the message
+    history of a profile into a HistoryStore, or just the profile details without the messages. Messages saved since the profile was
+    last written are kept in the profile's MessageJournal, which is replayed on top of the file whenever its messages are loaded.
+    Profiles are read with the byte-scanning BufferedProfileLoader, which reads them through a reused NIO buffer, and line by line
+    with a BufferedReader if its bytes cannot be scanned.
+    Profiles can also be kept in the compact BinaryProfileFormat: every load method checks the start of the file and reads either
+    format, and saveProfile() keeps a profile in the format it already has on disk. Messages older than the current month are kept in
+    the profile's HistorySegments: a loaded profile holds only the most recent segments, while loadHistoryFromTxt() reads them all.
+    When only the newest messages are needed, loadRecentHistory() reads them from the end of the files with a HistoryTailReader.
+    Whole profiles are saved by writing a temporary file and moving it over the profile in one atomic step.
 
 */
 
@@ -12,14 +21,119 @@
 package data;
 
 import java.io.BufferedReader;
+import java.io.File;
 import java.io.FileReader;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 
 // FileManager class definition
 public class FileManager {
-    
+
+    // keys of the profile fields, in the order of the KEY_ constants below
+    // binary profiles store fields by these numbers, so new keys must be added at the end, before KEY_MESSAGE
+    static final String[] KEYS = {
+            "Name:", "Age:", "Primary Diagnosis:", "Sensory Preferences:", "Communication Methods:",
+            "Known Triggers:", "Calming Strategies:", "Favorite Activities:", "Preferred Learning Style:",
+            "Nonverbal:", "Notes:", "Recency Half-Life:", "Phrase Error Bound:", "Message:"
+    };
+    static final int KEY_NAME = 0;
+    static final int KEY_AGE = 1;
+    static final int KEY_PRIMARY_DIAGNOSIS = 2;
+    static final int KEY_SENSORY_PREFERENCES = 3;
+    static final int KEY_COMMUNICATION_METHODS = 4;
+    static final int KEY_KNOWN_TRIGGERS = 5;
+    static final int KEY_CALMING_STRATEGIES = 6;
+    static final int KEY_FAVORITE_ACTIVITIES = 7;
+    static final int KEY_PREFERRED_LEARNING_STYLE = 8;
+    static final int KEY_NONVERBAL = 9;
+    static final int KEY_NOTES = 10;
+    static final int KEY_RECENCY_HALF_LIFE = 11;
+    static final int KEY_PHRASE_ERROR_BOUND = 12;
+    static final int KEY_MESSAGE = 13;
+
     // loadProfileFromTxt() method will take a filePath String as input and load a user profile from a text file
     public static UserProfile loadProfileFromTxt(String filePath) {
+        return loadProfile(filePath, true);
+    }
+
+    // loadProfileHeaderFromTxt() method will load only the profile details, stopping at the first message line
+    public static UserProfile loadProfileHeaderFromTxt(String filePath) {
+        return loadProfile(filePath, false);
+    }
+
+    // loadProfile() method will load a user profile from a text file, with or without its messages
+    private static UserProfile loadProfile(String filePath, boolean includeMessages) {
+        // loading the details and the messages in the profile file itself
+        UserProfile profile = loadSnapshot(filePath, includeMessages);
+        profile.markClean(profile.getDirtyFields());
+        if (!includeMessages) {
+            return profile;
+        }
+
+        // reading the messages saved to the journal now, since the journal may be merged into the profile file before they are used
+        HistoryStore journalMessages = new HistoryStore();
+        MessageJournal.replay(filePath, journalMessages);
+
+        // putting the most recent history segments in front of the profile's messages and adding the journal messages after them,
+        // the first time the history is used
+        HistorySegments segments = HistorySegments.forProfile(filePath);
+        profile.wrapHistory(snapshot -> segments.compose(appendAll(snapshot, journalMessages), HistorySegments.RECENT_SEGMENTS));
+
+        // returning the loaded UserProfile instance
+        return profile;
+    }
+
+    // loadHistoryFromTxt() method will take a filePath String as input and load the whole message history of a profile, including
+    // every history segment, used when the full history is really needed such as rebuilding the phrase statistics
+    public static HistoryStore loadHistoryFromTxt(String filePath) {
+        // loading the messages in the profile file itself
+        HistoryStore history;
+        if (BinaryProfileFormat.isBinary(new File(filePath))) {
+            history = loadSnapshot(filePath, true).getHistory();
+        } else {
+            history = new HistoryStore();
+            readMessagesInto(filePath, history);
+        }
+
+        // adding the messages saved to the journal since the profile file was written
+        MessageJournal.replay(filePath, history);
+
+        // putting every history segment in front of them
+        return HistorySegments.forProfile(filePath).compose(history, -1);
+    }
+
+    // loadRecentHistory() method will take a filePath String and a count as input and load only the newest count messages of a
+    // profile, reading its files backwards with a HistoryTailReader so the cost does not depend on how long the history is
+    public static HistoryStore loadRecentHistory(String filePath, int count) {
+        return HistoryTailReader.readLatest(filePath, count);
+    }
+
+    // loadSnapshot() method will load a profile from its file alone, without its journal or history segments
+    static UserProfile loadSnapshot(String filePath, boolean includeMessages) {
+        // loading a binary profile, which is decoded by BinaryProfileFormat
+        if (BinaryProfileFormat.isBinary(new File(filePath))) {
+            try {
+                return BinaryProfileFormat.read(filePath, includeMessages);
+            }
+            // handling IOException during reading by returning an empty profile like the text reader does
+            catch (IOException e) {
+                System.out.println("Error loading binary profile from " + filePath + ": " + e.getMessage());
+                return new UserProfile("Unknown");
+            }
+        }
+
+        // loading the profile with the byte-scanning loader if the file exists and its character set can be scanned as bytes
+        if (BufferedProfileLoader.isSupported() && new File(filePath).isFile()) {
+            try {
+                return BufferedProfileLoader.loadProfile(filePath, includeMessages);
+            }
+            // handling IOException during scanning by reading the file line by line instead
+            catch (IOException e) {
+                System.out.println("Error scanning profile " + filePath + ", reading it line by line: " + e.getMessage());
+            }
+        }
+
         // creating a new UserProfile instance with default name
         UserProfile profile = new UserProfile("Unknown");
 
@@ -39,119 +153,192 @@ public class FileManager {
                 // normalizing line to start with a known key
                 line = normalizeToFirstKnownKey(line);
 
-                // parsing different attributes based on line prefixes
-                if (line.startsWith("Name:")) {
-                    // setting the name attribute of the profile
-                    String name = valueAfter(line, "Name:");
-
-                    // only set name if it is not empty
-                    if (!name.isEmpty()) {
-                        profile.setName(name);
-                    }
+                // finding which field the line holds, skipping lines without a known key
+                int key = keyOf(line);
+                if (key < 0) {
                     continue;
                 }
 
-                // parsing age attribute
-                if (line.startsWith("Age:")) {
-                    // setting the age attribute of the profile
-                    profile.setAge(parseIntSafe(valueAfter(line, "Age:"), -1));
-                    continue;
-                }
+                // parsing message attribute
+                if (key == KEY_MESSAGE) {
+                    // stopping at the first message if only the profile details were asked for
+                    if (!includeMessages) {
+                        break;
+                    }
 
-                // parsing primary diagnosis attribute
-                if (line.startsWith("Primary Diagnosis:")) {
-                    // setting the primary diagnosis attribute of the profile
-                    profile.setPrimaryDiagnosis(valueAfter(line, "Primary Diagnosis:"));
+                    // adding the message to the profile
+                    String msg = valueAfter(line, "Message:");
+                    if (!msg.isEmpty()) profile.addMessage(msg);
                     continue;
                 }
 
-                // parsing sensory preferences attribute
-                if (line.startsWith("Sensory Preferences:")) {
-                    // adding each sensory preference to the profile using a for each loop
-                    for (String item : splitSemicolonList(valueAfter(line, "Sensory Preferences:"))) {
-                        profile.addSensoryPref(item);
-                    }
-                    continue;
-                }
+                // setting the profile field from the value after its key
+                applyField(profile, key, valueAfter(line, KEYS[key]));
+            }
 
-                // parsing communication methods attribute
-                if (line.startsWith("Communication Methods:")) {
-                    // adding each communication method to the profile using a for each loop
-                    for (String item : splitSemicolonList(valueAfter(line, "Communication Methods:"))) {
-                        profile.addCommunicationMethod(item);
-                    }
-                    continue;
-                }
+        } 
+        // handling IOException during file reading
+        catch (IOException e) {
+            System.out.println("Error loading profile from " + filePath + ": " + e.getMessage());
+        }
 
-                // parsing known triggers attribute
-                if (line.startsWith("Known Triggers:")) {
-                    // adding each known trigger to the profile using a for each loop
-                    for (String item : splitSemicolonList(valueAfter(line, "Known Triggers:"))) {
-                        profile.addTrigger(item);
-                    }
-                    continue;
-                }
+        // returning the loaded UserProfile instance
+        return profile;
+    }
 
-                // parsing calming strategies attribute
-                if (line.startsWith("Calming Strategies:")) {
-                    // adding each calming strategy to the profile using a for each loop
-                    for (String item : splitSemicolonList(valueAfter(line, "Calming Strategies:"))) {
-                        profile.addCalmingStrategy(item);
-                    }
-                    continue;
-                }
+    // readMessagesInto() method will add the messages of a text profile or history segment file to a history, skipping its other fields
+    static void readMessagesInto(String filePath, HistoryStore history) {
+        // loading the messages with the byte-scanning loader if the file exists and its character set can be scanned as bytes
+        if (BufferedProfileLoader.isSupported() && new File(filePath).isFile()) {
+            try {
+                BufferedProfileLoader.loadHistoryInto(filePath, history);
+                return;
+            }
+            // handling IOException during scanning by reading the file line by line instead
+            catch (IOException e) {
+                System.out.println("Error scanning profile " + filePath + ", reading it line by line: " + e.getMessage());
+            }
+        }
 
-                // parsing favorite activities attribute
-                if (line.startsWith("Favorite Activities:")) {
-                    // adding each favorite activity to the profile using a for each loop
-                    for (String item : splitSemicolonList(valueAfter(line, "Favorite Activities:"))) {
-                        profile.addFavoriteActivity(item);
-                    }
-                    continue;
-                }
+        // reading the file line by line
+        try (BufferedReader br = new BufferedReader(new FileReader(filePath))) {
+            // variable to hold each line read from the file
+            String line;
 
-                // parsing preferred learning style attribute
-                if (line.startsWith("Preferred Learning Style:")) {
-                    // setting the preferred learning style attribute of the profile
-                    profile.setLearningPreference(valueAfter(line, "Preferred Learning Style:"));
-                    continue;
-                }
+            // reading each line until the end of the file
+            while ((line = br.readLine()) != null) {
+                line = line.trim();
 
-                // parsing nonverbal attribute
-                if (line.startsWith("Nonverbal:")) {
-                    // setting the nonverbal attribute of the profile
-                    profile.setNonVerbal(parseBooleanLoose(valueAfter(line, "Nonverbal:")));
+                // skipping lines that cannot hold a message
+                if (!line.contains("Message:")) {
                     continue;
                 }
 
-                // parsing notes attribute
-                if (line.startsWith("Notes:")) {
-                    // setting the notes attribute of the profile
-                    profile.setNotes(valueAfter(line, "Notes:"));
-                    continue;
-                }
-                
-                // parsing message attribute
+                // normalizing line to start with a known key
+                line = normalizeToFirstKnownKey(line);
+
+                // adding the message to the history
                 if (line.startsWith("Message:")) {
-                    // adding the message to the profile
                     String msg = valueAfter(line, "Message:");
-                    if (!msg.isEmpty()) profile.addMessage(msg);
-                    continue;
+                    if (!msg.isEmpty()) history.appendLine(msg);
                 }
             }
-
-        } 
+        }
         // handling IOException during file reading
         catch (IOException e) {
-            System.out.println("Error loading profile from " + filePath + ": " + e.getMessage());
+            System.out.println("Error loading history from " + filePath + ": " + e.getMessage());
         }
-
-        // returning the loaded UserProfile instance
-        return profile;
     }
 
     // HELPER METHODS
 
+    // appendAll() method will add every message of one history to the end of another and return it
+    private static HistoryStore appendAll(HistoryStore history, HistoryStore more) {
+        for (int i = 0; i < more.size(); i++) {
+            history.append(more.getEpochSeconds(i), more.getMessage(i));
+        }
+        return history;
+    }
+
+    // keyOf() method will return the KEY_ constant of the key a normalized line starts with, or -1 if it starts with no known key
+    static int keyOf(String line) {
+        // checking each key in order
+        for (int key = 0; key < KEYS.length; key++) {
+            if (line.startsWith(KEYS[key])) {
+                return key;
+            }
+        }
+
+        // returning -1 since no key matched
+        return -1;
+    }
+
+    // applyField() method will set the profile field of a key (any KEY_ constant except KEY_MESSAGE) from the trimmed value after the key
+    static void applyField(UserProfile profile, int key, String value) {
+        // parsing the value based on its key
+        switch (key) {
+            // parsing name attribute
+            case KEY_NAME:
+                // setting the name attribute of the profile
+                if (!value.isEmpty()) {
+                    profile.setName(value);
+                }
+                break;
+            // parsing age attribute
+            case KEY_AGE:
+                // setting the age attribute of the profile
+                profile.setAge(parseIntSafe(value, -1));
+                break;
+            // parsing primary diagnosis attribute
+            case KEY_PRIMARY_DIAGNOSIS:
+                // setting the primary diagnosis attribute of the profile
+                profile.setPrimaryDiagnosis(value);
+                break;
+            // parsing sensory preferences attribute
+            case KEY_SENSORY_PREFERENCES:
+                // adding each sensory preference to the profile using a for each loop
+                for (String item : splitSemicolonList(value)) {
+                    profile.addSensoryPref(item);
+                }
+                break;
+            // parsing communication methods attribute
+            case KEY_COMMUNICATION_METHODS:
+                // adding each communication method to the profile using a for each loop
+                for (String item : splitSemicolonList(value)) {
+                    profile.addCommunicationMethod(item);
+                }
+                break;
+            // parsing known triggers attribute
+            case KEY_KNOWN_TRIGGERS:
+                // adding each known trigger to the profile using a for each loop
+                for (String item : splitSemicolonList(value)) {
+                    profile.addTrigger(item);
+                }
+                break;
+            // parsing calming strategies attribute
+            case KEY_CALMING_STRATEGIES:
+                // adding each calming strategy to the profile using a for each loop
+                for (String item : splitSemicolonList(value)) {
+                    profile.addCalmingStrategy(item);
+                }
+                break;
+            // parsing favorite activities attribute
+            case KEY_FAVORITE_ACTIVITIES:
+                // adding each favorite activity to the profile using a for each loop
+                for (String item : splitSemicolonList(value)) {
+                    profile.addFavoriteActivity(item);
+                }
+                break;
+            // parsing preferred learning style attribute
+            case KEY_PREFERRED_LEARNING_STYLE:
+                // setting the preferred learning style attribute of the profile
+                profile.setLearningPreference(value);
+                break;
+            // parsing nonverbal attribute
+            case KEY_NONVERBAL:
+                // setting the nonverbal attribute of the profile
+                profile.setNonVerbal(parseBooleanLoose(value));
+                break;
+            // parsing notes attribute
+            case KEY_NOTES:
+                // setting the notes attribute of the profile
+                profile.setNotes(value);
+                break;
+            // parsing recency half-life attribute
+            case KEY_RECENCY_HALF_LIFE:
+                // setting the recency half-life of the profile, in hours
+                profile.setRecencyHalfLifeHours(parseDoubleSafe(value, UserProfile.DEFAULT_RECENCY_HALF_LIFE_HOURS));
+                break;
+            // parsing phrase error bound attribute
+            case KEY_PHRASE_ERROR_BOUND:
+                // setting how far the phrase counts may be overestimated, 0 for exact counts
+                profile.setPhraseErrorBound(parseDoubleSafe(value, UserProfile.DEFAULT_PHRASE_ERROR_BOUND));
+                break;
+            default:
+                break;
+        }
+    }
+
     // valueAfter() method will return the substring after a specified prefix
     private static String valueAfter(String line, String prefix) {
         return line.substring(prefix.length()).trim();
@@ -169,33 +356,163 @@ public class FileManager {
         }
     }
 
+    // parseDoubleSafe() method will safely parse a decimal number from a string, returning a fallback value if parsing fails
+    private static double parseDoubleSafe(String s, double fallback) {
+        // attempting to parse the number
+        try {
+            return Double.parseDouble(s.trim());
+        }
+        // returning fallback value if parsing fails
+        catch (Exception e) {
+            return fallback;
+        }
+    }
+
+    // saveProfile() method will save a profile in the format its file already has, or in the binary format for a new .nbp file
+    public static void saveProfile(UserProfile profile, String filePath) {
+        // checking which format to write
+        File file = new File(filePath);
+        boolean binary = file.exists() ? BinaryProfileFormat.isBinary(file) : isBinaryPath(filePath);
+
+        // writing the profile in that format
+        if (binary) {
+            saveProfileToBinary(profile, filePath);
+        } else {
+            saveProfileToTxt(profile, filePath);
+        }
+    }
+
     // saveProfileToTxt() method will save a UserProfile instance to a specified text file
+    // this writes every message, so profiles saved through a MessageJournal should be rewritten with the journal instead
     public static void saveProfileToTxt(UserProfile profile, String filePath) {
+        // writing the profile data to a temporary file and moving it over the file
+        try {
+            replaceProfile(profile, filePath, false);
+        }
+        // handling IOException during file writing
+        catch (IOException e) {
+            System.out.println("Error saving profile: " + e.getMessage());
+        }
+    }
+
+    // writeProfile() method will write a profile to a file in the text or binary format, throwing an IOException if it fails
+    static void writeProfile(UserProfile profile, String filePath, boolean binary) throws IOException {
+        if (binary) {
+            BinaryProfileFormat.write(profile, filePath);
+        } else {
+            writeProfileText(profile, filePath);
+        }
+    }
+
+    // replaceProfile() method will write a profile to a temporary file next to filePath and then move it over filePath in one
+    // atomic step, so the file on disk is always either the old profile or the whole new one, throwing an IOException if it fails
+    static void replaceProfile(UserProfile profile, String filePath, boolean binary) throws IOException {
+        // writing the whole profile to the temporary file
+        File tempFile = new File(filePath + ".saving");
+        try {
+            writeProfile(profile, tempFile.getPath(), binary);
+            Files.move(tempFile.toPath(), new File(filePath).toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        // deleting the temporary file if the write or the move failed, leaving the old profile as it was
+        catch (IOException e) {
+            tempFile.delete();
+            throw e;
+        }
+    }
+
+    // copyProfile() method will return a new profile with the details of a profile as they are saved, and a copy of its messages
+    // if includeMessages is true, so the copy can be written on another thread while the profile keeps changing
+    static UserProfile copyProfile(UserProfile profile, boolean includeMessages) {
+        // copying each field through the text it is saved as
+        UserProfile copy = new UserProfile(profile.getName());
+        for (int key = 0; key < KEY_MESSAGE; key++) {
+            applyField(copy, key, formatField(profile, key).trim());
+        }
+
+        // copying the messages
+        if (includeMessages) {
+            appendAll(copy.getHistory(), profile.getHistory());
+        }
+        return copy;
+    }
+
+    // saveProfileToBinary() method will save a UserProfile instance to a specified binary profile file
+    public static void saveProfileToBinary(UserProfile profile, String filePath) {
+        // writing the profile with BinaryProfileFormat to a temporary file and moving it over the file
+        try {
+            replaceProfile(profile, filePath, true);
+        }
+        // handling IOException during file writing
+        catch (IOException e) {
+            System.out.println("Error saving binary profile: " + e.getMessage());
+        }
+    }
+
+    // isBinaryProfile() method will return true if a profile file is in the binary format
+    public static boolean isBinaryProfile(String filePath) {
+        return BinaryProfileFormat.isBinary(new File(filePath));
+    }
+
+    // isBinaryPath() method will return true if a path has the file extension of binary profiles
+    public static boolean isBinaryPath(String filePath) {
+        return filePath.endsWith(BinaryProfileFormat.EXTENSION);
+    }
+
+    // writeProfileText() method will write every field and message of a profile to a text file, throwing an IOException if it fails
+    private static void writeProfileText(UserProfile profile, String filePath) throws IOException {
         // writing the profile data to the file
         try (java.io.PrintWriter out = new java.io.PrintWriter(new java.io.FileWriter(filePath))) {
 
             // writing each attribute of the profile to the file
-            out.println("Name: " + profile.getName());
-            out.println("Age: " + profile.getAge());
-            out.println("Primary Diagnosis: " + profile.getPrimaryDiagnosis());
-            out.println("Sensory Preferences: " + String.join("; ", profile.getSensoryPref()));
-            out.println("Communication Methods: " + String.join("; ", profile.getCommunicationMethods()));
-            out.println("Known Triggers: " + String.join("; ", profile.getKnownTriggers()));
-            out.println("Calming Strategies: " + String.join("; ", profile.getCalmingStrategies()));
-            out.println("Favorite Activities: " + String.join("; ", profile.getFavoriteActivities()));
-            out.println("Preferred Learning Style: " + profile.getPreferredLearning());
-            out.println("Nonverbal: " + profile.getIsNonVerbal());
-            out.println("Notes: " + profile.getNotes());
-
-            // writing each message of the profile to the file using a for each loop
-            for (String msg : profile.getMessages()) {
-                out.println("Message: " + msg);
+            for (int key = 0; key < KEY_MESSAGE; key++) {
+                out.println(KEYS[key] + " " + formatField(profile, key));
+            }
+
+            // writing each message of the profile's history to the file
+            HistoryStore history = profile.getHistory();
+            for (int i = 0; i < history.size(); i++) {
+                out.println("Message: " + history.formatLine(i));
+            }
+
+            // checking that every line was written, since PrintWriter does not throw
+            if (out.checkError()) {
+                throw new IOException("could not write " + filePath);
             }
-    
-        } 
-        // handling IOException during file writing
-        catch (java.io.IOException e) {
-            System.out.println("Error saving profile: " + e.getMessage());
+        }
+    }
+
+    // formatField() method will return the value text of a profile field (any KEY_ constant except KEY_MESSAGE), as it is saved
+    static String formatField(UserProfile profile, int key) {
+        // formatting the value based on its key
+        switch (key) {
+            case KEY_NAME:
+                return profile.getName();
+            case KEY_AGE:
+                return String.valueOf(profile.getAge());
+            case KEY_PRIMARY_DIAGNOSIS:
+                return profile.getPrimaryDiagnosis();
+            case KEY_SENSORY_PREFERENCES:
+                return String.join("; ", profile.getSensoryPref());
+            case KEY_COMMUNICATION_METHODS:
+                return String.join("; ", profile.getCommunicationMethods());
+            case KEY_KNOWN_TRIGGERS:
+                return String.join("; ", profile.getKnownTriggers());
+            case KEY_CALMING_STRATEGIES:
+                return String.join("; ", profile.getCalmingStrategies());
+            case KEY_FAVORITE_ACTIVITIES:
+                return String.join("; ", profile.getFavoriteActivities());
+            case KEY_PREFERRED_LEARNING_STYLE:
+                return profile.getPreferredLearning();
+            case KEY_NONVERBAL:
+                return String.valueOf(profile.getIsNonVerbal());
+            case KEY_NOTES:
+                return profile.getNotes();
+            case KEY_RECENCY_HALF_LIFE:
+                return String.valueOf(profile.getRecencyHalfLifeHours());
+            case KEY_PHRASE_ERROR_BOUND:
+                return String.valueOf(profile.getPhraseErrorBound());
+            default:
+                return "";
         }
     }
 
@@ -229,19 +546,12 @@ public class FileManager {
     }
 
     // If a line contains extra text before a known key, strip everything before the first known key.
-    private static String normalizeToFirstKnownKey(String line) {
-        // array of known keys to search for
-        String[] keys = {
-                "Name:", "Age:", "Primary Diagnosis:", "Sensory Preferences:", "Communication Methods:",
-                "Known Triggers:", "Calming Strategies:", "Favorite Activities:", "Preferred Learning Style:",
-                "Nonverbal:", "Notes:", "Message:"
-        };
-
+    static String normalizeToFirstKnownKey(String line) {
         // finding the earliest occurrence of any known key in the line
         int best = -1;
 
         // looping through each known key to find its index in the line using a for each loop
-        for (String k : keys) {
+        for (String k : KEYS) {
             // index of the current key in the line
             int idx = line.indexOf(k);
 
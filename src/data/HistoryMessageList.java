@@ -0,0 +1,54 @@
+/*
+    Vivaan Echambadi
+    10/17/2026
+
+    HistoryMessageList class will show a HistoryStore as a List of profile line strings ("yyyy/MM/dd HH:mm:ss | message"),
+    so code that used UserProfile.getMessages() as a list keeps working. The lines are built only when they are read,
+    adding a line appends it to the store, and clear() clears the store.
+
+*/
+
+// importing packages
+package data;
+
+import java.util.AbstractList;
+
+// HistoryMessageList class definition
+class HistoryMessageList extends AbstractList<String> {
+    // private attribute for the store the list reads from
+    private final HistoryStore store;
+
+    // constructor to initialize the list with the store it shows
+    HistoryMessageList(HistoryStore store) {
+        this.store = store;
+    }
+
+    // get() method will return the message at a position as a profile line
+    @Override
+    public String get(int index) {
+        return store.formatLine(index);
+    }
+
+    // size() method will return the number of messages in the store
+    @Override
+    public int size() {
+        return store.size();
+    }
+
+    // add() method will append a profile line to the end of the store
+    @Override
+    public boolean add(String line) {
+        // appending the line and recording the change for iterators
+        store.appendLine(line);
+        modCount += 1;
+        return true;
+    }
+
+    // clear() method will remove every message from the store
+    @Override
+    public void clear() {
+        // clearing the store and recording the change for iterators
+        store.clear();
+        modCount += 1;
+    }
+}
@@ -0,0 +1,67 @@
+/*
+    Vivaan Echambadi
+    10/17/2026
+
+    HistorySegment class will describe one monthly segment file of a profile's message history, as it is listed in the
+    HistorySegments index: the month it holds, how many messages it has, the timestamps of its first and last message, and
+    how many bytes of the segment file belong to it.
+
+*/
+
+// importing package
+package data;
+
+// HistorySegment class definition
+public class HistorySegment {
+    // private attributes for the month ("yyyy-MM"), the number of messages, the time range, and the size of the segment file
+    private final String month;
+    private final int count;
+    private final long firstSeconds;
+    private final long lastSeconds;
+    private final long bytes;
+
+    // constructor to initialize a segment with its month, message count, time range and file size
+    public HistorySegment(String month, int count, long firstSeconds, long lastSeconds, long bytes) {
+        this.month = month;
+        this.count = count;
+        this.firstSeconds = firstSeconds;
+        this.lastSeconds = lastSeconds;
+        this.bytes = bytes;
+    }
+
+    // getMonth() method will return the month of the segment as "yyyy-MM"
+    public String getMonth() {
+        return month;
+    }
+
+    // getCount() method will return the number of messages in the segment
+    public int getCount() {
+        return count;
+    }
+
+    // getFirstSeconds() method will return the timestamp of the oldest message in the segment, in epoch seconds
+    public long getFirstSeconds() {
+        return firstSeconds;
+    }
+
+    // getLastSeconds() method will return the timestamp of the newest message in the segment, in epoch seconds
+    public long getLastSeconds() {
+        return lastSeconds;
+    }
+
+    // getBytes() method will return how many bytes of the segment file hold its messages
+    public long getBytes() {
+        return bytes;
+    }
+
+    // overlaps() method will return true if the segment has messages from fromSeconds (inclusive) to toSeconds (exclusive)
+    public boolean overlaps(long fromSeconds, long toSeconds) {
+        return lastSeconds >= fromSeconds && firstSeconds < toSeconds;
+    }
+
+    // toString method for the segment as one line of the index
+    @Override
+    public String toString() {
+        return month + " | " + count + " | " + firstSeconds + " | " + lastSeconds + " | " + bytes;
+    }
+}
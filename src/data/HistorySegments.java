@@ -0,0 +1,392 @@
+/*
+    Vivaan Echambadi
+    10/17/2026
+
+    HistorySegments class will keep the older messages of a profile in monthly segment files next to it
+    (profiles/<user>_segments/yyyy-MM.txt), so the profile file only holds the messages of the current month and loading a profile
+    does not have to read years of history. A small index (index.txt in the same folder) lists each segment's month, message count,
+    time range and file size, and the time before which every message has been moved out of the profile file.
+    Loading a profile pulls in only the most recent segments, older ones are read on demand with load() and loadRange(), and the
+    whole history is put together only when it is really needed, such as rebuilding the phrase statistics.
+    Messages are moved into segments by MessageJournal's background rotation. Segment files are only appended to, and the index records
+    how many bytes of each file are complete, so anything written after the last index update (for example if the app stopped in the
+    middle of a rotation) is cut off again, and messages still in the profile file from before the last rotation are skipped on load.
+
+*/
+
+// importing packages
+package data;
+
+import java.io.*;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+// HistorySegments class definition
+public class HistorySegments {
+    // private attributes for the segment folder and index, the segments by month, and the rotation time
+    private final File folder;
+    private final File indexFile;
+    private final File tempIndexFile;
+    private final TreeMap<String, HistorySegment> segments;
+    private long rotatedBefore;
+
+    // number of the most recent segments that are loaded together with a profile
+    public static final int RECENT_SEGMENTS = 2;
+
+    // rotation time of a profile that has never been rotated
+    private static final long NEVER_ROTATED = Long.MIN_VALUE;
+
+    // keys of the index lines
+    private static final String ROTATED_KEY = "Rotated Before:";
+    private static final String SEGMENT_KEY = "Segment:";
+
+    // the segment files use the same character set as FileManager's readers and writers
+    private static final Charset CHARSET = Charset.defaultCharset();
+
+    // static map to hold one set of segments per profile file
+    private static final Map<String, HistorySegments> SEGMENTS = new ConcurrentHashMap<>();
+
+    // private constructor, segments are shared per profile through forProfile()
+    private HistorySegments(String profilePath) {
+        // setting the folder and index files
+        this.folder = new File(folderPathFor(profilePath));
+        this.indexFile = new File(folder, "index.txt");
+        this.tempIndexFile = new File(folder, "index.txt.tmp");
+        this.segments = new TreeMap<>();
+        this.rotatedBefore = NEVER_ROTATED;
+
+        // reading the index and cutting off anything written after it was last saved
+        readIndex();
+        repair();
+    }
+
+    // forProfile() method will return the shared segments of a profile file, reading the index the first time they are needed
+    public static HistorySegments forProfile(String profilePath) {
+        return SEGMENTS.computeIfAbsent(profilePath, HistorySegments::new);
+    }
+
+    // folderPathFor() method will return the path of the folder that holds the segments of a profile file
+    public static String folderPathFor(String profilePath) {
+        // replacing the .txt or binary profile extension with _segments
+        if (profilePath.endsWith(".txt") || FileManager.isBinaryPath(profilePath)) {
+            return profilePath.substring(0, profilePath.lastIndexOf('.')) + "_segments";
+        }
+        return profilePath + "_segments";
+    }
+
+    // getSegments() method will return every segment, oldest month first
+    public synchronized List<HistorySegment> getSegments() {
+        return new ArrayList<>(segments.values());
+    }
+
+    // getSegmentMessageCount() method will return how many messages are in all of the segments together
+    public synchronized long getSegmentMessageCount() {
+        long total = 0;
+        for (HistorySegment segment : segments.values()) {
+            total += segment.getCount();
+        }
+        return total;
+    }
+
+    // getRotatedBefore() method will return the time before which every message has been moved into segments, in epoch seconds
+    public synchronized long getRotatedBefore() {
+        return rotatedBefore;
+    }
+
+    // getIndexStamp() method will return a short string that changes whenever the segment index changes
+    public String getIndexStamp() {
+        return indexFile.length() + ":" + indexFile.lastModified();
+    }
+
+    // needsRotation() method will return true if a new month has started since the profile was last rotated
+    public synchronized boolean needsRotation(long nowSeconds) {
+        return monthStart(nowSeconds) > rotatedBefore;
+    }
+
+    // load() method will read every message of one segment into a new history
+    public synchronized HistoryStore load(HistorySegment segment) {
+        HistoryStore history = new HistoryStore();
+        FileManager.readMessagesInto(segmentFile(segment.getMonth()).getPath(), history);
+        return history;
+    }
+
+    // loadRange() method will read the messages with a timestamp from fromSeconds (inclusive) to toSeconds (exclusive) from the
+    // segments, reading only the segments that overlap the range
+    public synchronized HistoryStore loadRange(long fromSeconds, long toSeconds) {
+        // adding the messages of each overlapping segment that are inside the range
+        HistoryStore history = new HistoryStore();
+        for (HistorySegment segment : segments.values()) {
+            if (!segment.overlaps(fromSeconds, toSeconds)) {
+                continue;
+            }
+            HistoryStore part = load(segment);
+            part.scanRange(fromSeconds, toSeconds, (index, epochSeconds, messageId) ->
+                    history.append(epochSeconds, part.getMessageTable().get(messageId)));
+        }
+
+        // returning the messages in the range
+        return history;
+    }
+
+    // monthStart() method will return the start of the month that a timestamp is in, in epoch seconds
+    public static long monthStart(long epochSeconds) {
+        LocalDate date = TimestampParser.toLocalDateTime(epochSeconds).toLocalDate();
+        return TimestampParser.fromLocalDateTime(date.withDayOfMonth(1).atStartOfDay());
+    }
+
+    // compose() method will build the history of a profile from its last segmentCount segments (every segment if segmentCount is
+    // negative) followed by the messages of the profile file and journal that have not been moved into segments yet
+    synchronized HistoryStore compose(HistoryStore current, int segmentCount) {
+        // using the profile's messages as they are if nothing has been moved into segments
+        if (segments.isEmpty()) {
+            return current;
+        }
+
+        // reading the wanted segments, oldest first, into one history
+        HistoryStore history = new HistoryStore();
+        int skip = segmentCount < 0 ? 0 : Math.max(0, segments.size() - segmentCount);
+        for (HistorySegment segment : segments.values()) {
+            if (skip > 0) {
+                skip -= 1;
+                continue;
+            }
+            FileManager.readMessagesInto(segmentFile(segment.getMonth()).getPath(), history);
+        }
+
+        // adding the profile's messages, skipping ones from before the last rotation since those are already in the segments
+        for (int i = 0; i < current.size(); i++) {
+            long time = current.getEpochSeconds(i);
+            if (time == TimestampParser.NO_TIMESTAMP || time >= rotatedBefore) {
+                history.append(time, current.getMessage(i));
+            }
+        }
+        return history;
+    }
+
+    // store() method will append the messages of a history from the last rotation time up to before to their monthly segments and
+    // save the index with before as the new rotation time, returning false if the segments could not be written
+    synchronized boolean store(HistoryStore history, long before) {
+        // opening writers lazily for each month that gets messages
+        folder.mkdirs();
+        Map<String, FileOutputStream> streams = new HashMap<>();
+        Map<String, Writer> writers = new HashMap<>();
+        Map<String, long[]> added = new HashMap<>();
+        try {
+            // remembering the month of the last message so the month is only worked out again when it changes
+            String month = null;
+            long monthFrom = 0;
+            long monthTo = 0;
+
+            // appending each message in the range to the segment of its month
+            for (int i = 0; i < history.size(); i++) {
+                long time = history.getEpochSeconds(i);
+                if (time == TimestampParser.NO_TIMESTAMP || time < rotatedBefore || time >= before) {
+                    continue;
+                }
+
+                // finding the month of the message
+                if (month == null || time < monthFrom || time >= monthTo) {
+                    LocalDateTime start = TimestampParser.toLocalDateTime(monthStart(time));
+                    month = String.format("%04d-%02d", start.getYear(), start.getMonthValue());
+                    monthFrom = TimestampParser.fromLocalDateTime(start);
+                    monthTo = TimestampParser.fromLocalDateTime(start.plusMonths(1));
+                }
+
+                // opening the segment of the month for appending the first time it is needed
+                Writer writer = writers.get(month);
+                if (writer == null) {
+                    FileOutputStream stream = new FileOutputStream(segmentFile(month), true);
+                    streams.put(month, stream);
+                    writer = new BufferedWriter(new OutputStreamWriter(stream, CHARSET));
+                    writers.put(month, writer);
+                    added.put(month, new long[] {0, Long.MAX_VALUE, Long.MIN_VALUE});
+                }
+
+                // writing the message line and counting it for the index
+                writer.write("Message: " + history.formatLine(i));
+                writer.write(System.lineSeparator());
+                long[] stats = added.get(month);
+                stats[0] += 1;
+                stats[1] = Math.min(stats[1], time);
+                stats[2] = Math.max(stats[2], time);
+            }
+
+            // syncing every segment to disk before the index counts the new messages
+            for (String written : writers.keySet()) {
+                writers.get(written).flush();
+                streams.get(written).getChannel().force(false);
+            }
+        }
+        // handling IOException during writing by leaving the index as it was, so the partly written segments are cut off again
+        catch (IOException e) {
+            System.out.println("Error writing history segments: " + e.getMessage());
+            closeAll(writers.values());
+            repair();
+            return false;
+        }
+        closeAll(writers.values());
+
+        // adding the new messages to the segments in the index
+        for (String written : added.keySet()) {
+            long[] stats = added.get(written);
+            HistorySegment old = segments.get(written);
+            long length = segmentFile(written).length();
+            if (old == null) {
+                segments.put(written, new HistorySegment(written, (int) stats[0], stats[1], stats[2], length));
+            } else {
+                segments.put(written, new HistorySegment(written, old.getCount() + (int) stats[0],
+                        Math.min(old.getFirstSeconds(), stats[1]), Math.max(old.getLastSeconds(), stats[2]), length));
+            }
+        }
+
+        // saving the index with the new rotation time
+        rotatedBefore = Math.max(rotatedBefore, before);
+        if (!writeIndex()) {
+            readIndex();
+            repair();
+            return false;
+        }
+        return true;
+    }
+
+    // clear() method will delete every segment and the index, used when the message history is cleared
+    synchronized void clear() {
+        // deleting each segment file and the index
+        for (String month : segments.keySet()) {
+            segmentFile(month).delete();
+        }
+        indexFile.delete();
+
+        // forgetting the segments and the rotation time
+        segments.clear();
+        rotatedBefore = NEVER_ROTATED;
+    }
+
+    // HELPER METHODS
+
+    // segmentFile() method will return the file of the segment for a month
+    File segmentFile(String month) {
+        return new File(folder, month + ".txt");
+    }
+
+    // readIndex() method will read the rotation time and the segments from the index file, if there is one
+    private void readIndex() {
+        // starting from no segments
+        segments.clear();
+        rotatedBefore = NEVER_ROTATED;
+        if (!indexFile.exists()) {
+            return;
+        }
+
+        // reading each line of the index
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(indexFile), CHARSET))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+
+                // reading the rotation time
+                if (line.startsWith(ROTATED_KEY)) {
+                    rotatedBefore = Long.parseLong(line.substring(ROTATED_KEY.length()).trim());
+                    continue;
+                }
+
+                // reading a segment as month | count | first | last | bytes
+                if (line.startsWith(SEGMENT_KEY)) {
+                    String[] parts = line.substring(SEGMENT_KEY.length()).trim().split(" \\| ");
+                    if (parts.length != 5) {
+                        continue;
+                    }
+                    segments.put(parts[0].trim(), new HistorySegment(parts[0].trim(), Integer.parseInt(parts[1].trim()),
+                            Long.parseLong(parts[2].trim()), Long.parseLong(parts[3].trim()), Long.parseLong(parts[4].trim())));
+                }
+            }
+        }
+        // handling IOException and NumberFormatException during reading
+        catch (IOException | NumberFormatException e) {
+            System.out.println("Error reading history segment index: " + e.getMessage());
+        }
+    }
+
+    // writeIndex() method will write the index to a temporary file and move it over the index in one step, returning true if it worked
+    private boolean writeIndex() {
+        // writing the rotation time and each segment
+        try (PrintWriter writer = new PrintWriter(new OutputStreamWriter(new FileOutputStream(tempIndexFile), CHARSET))) {
+            writer.println(ROTATED_KEY + " " + rotatedBefore);
+            for (HistorySegment segment : segments.values()) {
+                writer.println(SEGMENT_KEY + " " + segment);
+            }
+            if (writer.checkError()) {
+                throw new IOException("could not write " + tempIndexFile.getPath());
+            }
+        }
+        // handling IOException during writing
+        catch (IOException e) {
+            System.out.println("Error writing history segment index: " + e.getMessage());
+            return false;
+        }
+
+        // replacing the index in one step
+        try {
+            Files.move(tempIndexFile.toPath(), indexFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        // handling IOException during the move
+        catch (IOException e) {
+            System.out.println("Error saving history segment index: " + e.getMessage());
+            return false;
+        }
+        return true;
+    }
+
+    // repair() method will cut each segment file back to the size in the index and delete segment files the index does not list
+    private void repair() {
+        // checking if there is a folder
+        File[] files = folder.listFiles();
+        if (files == null) {
+            return;
+        }
+
+        // checking each segment file in the folder
+        for (File file : files) {
+            String name = file.getName();
+            if (!name.matches("\\d{4}-\\d{2}\\.txt")) {
+                continue;
+            }
+
+            // deleting segment files that were started after the index was last saved
+            HistorySegment segment = segments.get(name.substring(0, name.length() - 4));
+            if (segment == null) {
+                file.delete();
+                continue;
+            }
+
+            // cutting off messages that were appended after the index was last saved
+            if (file.length() > segment.getBytes()) {
+                try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+                    raf.setLength(segment.getBytes());
+                }
+                // handling IOException during the cut
+                catch (IOException e) {
+                    System.out.println("Error repairing history segment " + name + ": " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    // closeAll() method will close every writer, ignoring errors since the index decides what was written
+    private static void closeAll(Collection<Writer> writers) {
+        for (Writer writer : writers) {
+            try {
+                writer.close();
+            }
+            // ignoring IOException during closing
+            catch (IOException e) {
+                System.out.println("Error closing history segment: " + e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,203 @@
+/*
+    Vivaan Echambadi
+    10/17/2026
+
+    HistoryStore class will hold a user's message history as columns instead of one object per message.
+    Each message is a long of epoch seconds (see TimestampParser) and an int message ID in parallel arrays, and the message text is
+    kept once in a shared StringTable no matter how many times it was sent. It will provide methods to append messages, read them
+    back by position, scan all of them or a time range without boxing, and write a message back out as a profile line.
+
+*/
+
+// importing package
+package data;
+
+import java.util.Arrays;
+
+// HistoryStore class definition
+public class HistoryStore {
+    // private attributes for the columns, the number of messages, and the interned message text
+    private long[] timestamps;
+    private int[] messageIds;
+    private int size;
+    private StringTable messages;
+
+    // whether the timestamps are in ascending order, so time ranges can be found with a binary search
+    private boolean sorted;
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    // separator between the timestamp and the message text in a profile line
+    private static final String SEPARATOR = " | ";
+
+    // constructor to initialize an empty history
+    public HistoryStore() {
+        this.timestamps = new long[INITIAL_CAPACITY];
+        this.messageIds = new int[INITIAL_CAPACITY];
+        this.size = 0;
+        this.messages = new StringTable();
+        this.sorted = true;
+    }
+
+    // constructor to initialize an empty history with room for capacity messages, whose message IDs refer to an already filled table,
+    // used by loaders that know how many messages they will add
+    HistoryStore(int capacity, StringTable messages) {
+        this.timestamps = new long[Math.max(INITIAL_CAPACITY, capacity)];
+        this.messageIds = new int[Math.max(INITIAL_CAPACITY, capacity)];
+        this.size = 0;
+        this.messages = messages;
+        this.sorted = true;
+    }
+
+    // append() method will add a message with its timestamp in epoch seconds (TimestampParser.NO_TIMESTAMP if unknown)
+    public void append(long epochSeconds, String message) {
+        appendId(epochSeconds, messages.intern(message));
+    }
+
+    // appendId() method will add a message that is already in the message table by its ID, used by loaders that intern the text themselves
+    public void appendId(long epochSeconds, int messageId) {
+        // checking that the ID is in the message table
+        if (messageId < 0 || messageId >= messages.size()) {
+            throw new IndexOutOfBoundsException("Message ID " + messageId + " is not in the message table");
+        }
+
+        // growing the columns if they are full
+        if (size == timestamps.length) {
+            timestamps = Arrays.copyOf(timestamps, size * 2);
+            messageIds = Arrays.copyOf(messageIds, size * 2);
+        }
+
+        // checking if the new timestamp keeps the history in order
+        if (size > 0 && epochSeconds < timestamps[size - 1]) {
+            sorted = false;
+        }
+
+        // adding the timestamp and the message ID
+        timestamps[size] = epochSeconds;
+        messageIds[size] = messageId;
+        size += 1;
+    }
+
+    // appendLine() method will add a message from its profile line text, "yyyy/MM/dd HH:mm:ss | message"
+    public void appendLine(String line) {
+        // parsing the timestamp at the start of the line
+        long epochSeconds = TimestampParser.parse(line, 0);
+
+        // checking if the timestamp is followed by the separator
+        if (epochSeconds != TimestampParser.NO_TIMESTAMP && line.startsWith(SEPARATOR, TimestampParser.TIMESTAMP_LENGTH)) {
+            // adding just the message content after the separator
+            append(epochSeconds, line.substring(TimestampParser.TIMESTAMP_LENGTH + SEPARATOR.length()));
+        } else {
+            // if there is no timestamp, keep the whole line as the message
+            append(TimestampParser.NO_TIMESTAMP, line);
+        }
+    }
+
+    // size() method will return the number of messages in the history
+    public int size() {
+        return size;
+    }
+
+    // getEpochSeconds() method will return the timestamp of the message at a position
+    public long getEpochSeconds(int index) {
+        checkIndex(index);
+        return timestamps[index];
+    }
+
+    // getMessageId() method will return the interned message ID of the message at a position
+    public int getMessageId(int index) {
+        checkIndex(index);
+        return messageIds[index];
+    }
+
+    // getMessage() method will return the text of the message at a position
+    public String getMessage(int index) {
+        checkIndex(index);
+        return messages.get(messageIds[index]);
+    }
+
+    // getMessageTable() method will return the table of distinct message texts, indexed by message ID
+    public StringTable getMessageTable() {
+        return messages;
+    }
+
+    // formatLine() method will return the message at a position as a profile line, the same text appendLine() reads
+    public String formatLine(int index) {
+        // checking if the message has a timestamp
+        checkIndex(index);
+        if (timestamps[index] == TimestampParser.NO_TIMESTAMP) {
+            return messages.get(messageIds[index]);
+        }
+
+        // writing the timestamp, the separator, and the message text
+        StringBuilder line = new StringBuilder();
+        TimestampParser.appendTo(line, timestamps[index]);
+        line.append(SEPARATOR).append(messages.get(messageIds[index]));
+        return line.toString();
+    }
+
+    // forEach() method will call the visitor once for every message, oldest first
+    public void forEach(HistoryVisitor visitor) {
+        // visiting each message in order
+        for (int i = 0; i < size; i++) {
+            visitor.visit(i, timestamps[i], messageIds[i]);
+        }
+    }
+
+    // scanRange() method will call the visitor for every message with a timestamp from fromSeconds (inclusive) to toSeconds (exclusive)
+    public void scanRange(long fromSeconds, long toSeconds, HistoryVisitor visitor) {
+        // starting at the first message in the range if the history is in order, otherwise checking every message
+        int start = sorted ? lowerBound(fromSeconds) : 0;
+
+        // visiting the messages in the range
+        for (int i = start; i < size; i++) {
+            long time = timestamps[i];
+
+            // stopping at the end of the range once the history is in order
+            if (sorted && time >= toSeconds) {
+                break;
+            }
+
+            // skipping messages outside of the range and messages without a timestamp
+            if (time != TimestampParser.NO_TIMESTAMP && time >= fromSeconds && time < toSeconds) {
+                visitor.visit(i, time, messageIds[i]);
+            }
+        }
+    }
+
+    // clear() method will remove every message from the history
+    public void clear() {
+        this.timestamps = new long[INITIAL_CAPACITY];
+        this.messageIds = new int[INITIAL_CAPACITY];
+        this.size = 0;
+        this.messages.clear();
+        this.sorted = true;
+    }
+
+    // HELPER METHODS
+
+    // lowerBound() method will return the position of the first message with a timestamp of at least seconds
+    private int lowerBound(long seconds) {
+        // binary searching the sorted timestamps
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (timestamps[middle] < seconds) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+
+        // returning the first position that is not before seconds
+        return low;
+    }
+
+    // checkIndex() method will make sure a position is inside the history
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for history of size " + size);
+        }
+    }
+}
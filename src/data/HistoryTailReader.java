@@ -0,0 +1,339 @@
+/*
+    Vivaan Echambadi
+    10/17/2026
+
+    HistoryTailReader class will read the messages of a profile backwards, newest first, without reading the rest of the files.
+    It reads each file with a FileChannel in blocks from the end towards the start and hands back one message at a time as its
+    profile line ("yyyy/MM/dd HH:mm:ss | message"): first the messages in the journal, then the ones in the profile file, then the
+    history segments from the newest month to the oldest. The caller stops as soon as it has enough messages, so reading the last
+    50 messages costs about the same whatever the size of the history. A binary profile file cannot be read backwards line by line,
+    so its messages are decoded once, which is cheap because rotation keeps only the current month in the profile file.
+    Like FileManager, it skips a journal that belongs to an older snapshot and profile messages from before the last rotation.
+
+*/
+
+// importing packages
+package data;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+// HistoryTailReader class definition
+public class HistoryTailReader implements AutoCloseable {
+    // private attributes for the profile, the files that are read in order, and the rotation time
+    private final String profilePath;
+    private FileChannel journalChannel;
+    private FileChannel snapshotChannel;
+    private final List<HistorySegment> segments;
+    private final HistorySegments segmentFiles;
+    private final long rotatedBefore;
+    private int nextSource;
+
+    // private attributes for the file being read: its channel, the bytes read so far from blockStart, and the end of the next line
+    private FileChannel channel;
+    private byte[] buffer;
+    private long blockStart;
+    private int cursor;
+    private boolean skipNextLine;
+    private boolean beforeRotation;
+
+    // messages of a binary profile file, handed back from the end
+    private HistoryStore binaryMessages;
+    private int binaryIndex;
+
+    // size of each block read from the end of a file
+    private static final int BLOCK_SIZE = 64 * 1024;
+
+    // the profile files use the same character set as FileManager's readers and writers
+    private static final Charset CHARSET = Charset.defaultCharset();
+
+    // constructor to open the journal and the profile file of a profile, so both are read as they are right now
+    public HistoryTailReader(String profilePath) {
+        this(profilePath, true, Long.MAX_VALUE);
+    }
+
+    // private constructor to read a profile from its journal and profile file if readProfileFile is true, followed by the history
+    // segments whose newest message is from before beforeSeconds
+    private HistoryTailReader(String profilePath, boolean readProfileFile, long beforeSeconds) {
+        // setting the profile and the empty read state
+        this.profilePath = profilePath;
+        this.nextSource = 0;
+        this.buffer = new byte[0];
+
+        // opening the profile file, and the journal if it belongs to that snapshot
+        try {
+            File profileFile = new File(profilePath);
+            if (readProfileFile && profileFile.isFile()) {
+                snapshotChannel = FileChannel.open(profileFile.toPath(), StandardOpenOption.READ);
+                File journalFile = new File(MessageJournal.journalPathFor(profilePath));
+                if (journalFile.isFile() && MessageJournal.belongsTo(journalFile, profileFile, snapshotChannel)) {
+                    journalChannel = FileChannel.open(journalFile.toPath(), StandardOpenOption.READ);
+                }
+            }
+        }
+        // handling IOException during opening by reading nothing
+        catch (IOException e) {
+            System.out.println("Error opening profile " + profilePath + " for reading backwards: " + e.getMessage());
+            close();
+        }
+
+        // listing the segments from newest to oldest after opening the profile file, so a rotation in between can only make a
+        // message appear in both, and those are skipped in the profile file by the rotation time
+        this.segmentFiles = HistorySegments.forProfile(profilePath);
+        this.segments = new ArrayList<>();
+        for (HistorySegment segment : segmentFiles.getSegments()) {
+            if (segment.getLastSeconds() < beforeSeconds) {
+                this.segments.add(segment);
+            }
+        }
+        Collections.reverse(this.segments);
+        this.rotatedBefore = segmentFiles.getRotatedBefore();
+    }
+
+    // segmentsBefore() method will return a reader for only the history segments of a profile whose newest message is from before
+    // beforeSeconds, used to continue reading backwards from messages that are already loaded
+    public static HistoryTailReader segmentsBefore(String profilePath, long beforeSeconds) {
+        return new HistoryTailReader(profilePath, false, beforeSeconds);
+    }
+
+    // readLatest() method will read the newest count messages of a profile into a history, oldest first like a loaded history
+    public static HistoryStore readLatest(String profilePath, int count) {
+        // reading the messages newest first until there are enough
+        List<String> lines = new ArrayList<>();
+        try (HistoryTailReader reader = new HistoryTailReader(profilePath)) {
+            String line;
+            while (lines.size() < count && (line = reader.nextLine()) != null) {
+                lines.add(line);
+            }
+        }
+
+        // adding them to the history in time order
+        HistoryStore history = new HistoryStore();
+        for (int i = lines.size() - 1; i >= 0; i--) {
+            history.appendLine(lines.get(i));
+        }
+        return history;
+    }
+
+    // nextLine() method will return the next older message as its profile line, or null once every message has been read
+    public String nextLine() {
+        try {
+            while (true) {
+                // handing back the messages of a binary profile file from the end
+                if (binaryMessages != null) {
+                    if (binaryIndex > 0) {
+                        binaryIndex -= 1;
+                        if (!isAlreadyRotated(binaryMessages.getEpochSeconds(binaryIndex))) {
+                            return binaryMessages.formatLine(binaryIndex);
+                        }
+                        continue;
+                    }
+                    binaryMessages = null;
+                }
+
+                // moving to the next file once the current one has been read to the start
+                if (channel == null) {
+                    if (!openNextSource()) {
+                        return null;
+                    }
+                    continue;
+                }
+                String line = previousLine();
+                if (line == null) {
+                    closeChannel();
+                    continue;
+                }
+
+                // skipping a last journal line that was only partly written
+                if (skipNextLine) {
+                    skipNextLine = false;
+                    continue;
+                }
+
+                // handing back message lines, skipping the profile fields, the journal base line and messages already rotated
+                String message = messageOf(line);
+                if (message != null && !(beforeRotation && isAlreadyRotated(TimestampParser.parse(message, 0)))) {
+                    return message;
+                }
+            }
+        }
+        // handling IOException during reading by stopping
+        catch (IOException e) {
+            System.out.println("Error reading profile " + profilePath + " backwards: " + e.getMessage());
+            close();
+            return null;
+        }
+    }
+
+    // close() method will close every file that is still open
+    @Override
+    public void close() {
+        closeChannel();
+        closeQuietly(journalChannel);
+        closeQuietly(snapshotChannel);
+        journalChannel = null;
+        snapshotChannel = null;
+        nextSource = Integer.MAX_VALUE;
+        binaryMessages = null;
+    }
+
+    // HELPER METHODS
+
+    // openNextSource() method will start reading the next file, returning false if there are no more
+    private boolean openNextSource() throws IOException {
+        while (nextSource < segments.size() + 2) {
+            int source = nextSource;
+            nextSource += 1;
+
+            // reading the journal first, skipping a last line without a new line since it is still being written
+            if (source == 0) {
+                if (journalChannel != null) {
+                    startFile(journalChannel, journalChannel.size(), true);
+                    journalChannel = null;
+                    skipNextLine = !endsWithNewLine(channel, blockStart);
+                    return true;
+                }
+                continue;
+            }
+
+            // reading the profile file next, decoding it if it is a binary profile
+            if (source == 1) {
+                if (snapshotChannel == null) {
+                    continue;
+                }
+                if (BinaryProfileFormat.isBinary(new File(profilePath))) {
+                    closeQuietly(snapshotChannel);
+                    snapshotChannel = null;
+                    binaryMessages = FileManager.loadSnapshot(profilePath, true).getHistory();
+                    binaryIndex = binaryMessages.size();
+                    beforeRotation = true;
+                    return true;
+                }
+                startFile(snapshotChannel, snapshotChannel.size(), true);
+                snapshotChannel = null;
+                return true;
+            }
+
+            // reading the history segments from the newest month, only up to the size in the index
+            HistorySegment segment = segments.get(source - 2);
+            File file = segmentFiles.segmentFile(segment.getMonth());
+            if (!file.isFile()) {
+                continue;
+            }
+            FileChannel segmentChannel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+            startFile(segmentChannel, Math.min(segment.getBytes(), segmentChannel.size()), false);
+            return true;
+        }
+        return false;
+    }
+
+    // startFile() method will start reading a channel backwards from end
+    private void startFile(FileChannel fileChannel, long end, boolean profileMessages) {
+        channel = fileChannel;
+        buffer = new byte[0];
+        blockStart = end;
+        cursor = 0;
+        skipNextLine = false;
+        beforeRotation = profileMessages;
+    }
+
+    // previousLine() method will return the line before the cursor, reading earlier blocks as needed, or null at the start of the file
+    private String previousLine() throws IOException {
+        while (true) {
+            // returning the line after the last new line before the cursor
+            for (int i = cursor - 1; i >= 0; i--) {
+                if (buffer[i] == '\n') {
+                    String line = new String(buffer, i + 1, cursor - i - 1, CHARSET);
+                    cursor = i;
+                    return line;
+                }
+            }
+
+            // returning the first line of the file once the start of the file has been read
+            if (blockStart == 0) {
+                if (cursor < 0) {
+                    return null;
+                }
+                String line = new String(buffer, 0, cursor, CHARSET);
+                cursor = -1;
+                return line;
+            }
+
+            // reading the block before the bytes read so far, keeping the part of the line that has been read
+            int size = (int) Math.min(BLOCK_SIZE, blockStart);
+            byte[] grown = new byte[size + cursor];
+            System.arraycopy(buffer, 0, grown, size, cursor);
+            ByteBuffer block = ByteBuffer.wrap(grown, 0, size);
+            long position = blockStart - size;
+            while (block.hasRemaining()) {
+                int read = channel.read(block, position + block.position());
+                if (read < 0) {
+                    throw new IOException("File ended while reading it backwards");
+                }
+            }
+            buffer = grown;
+            cursor += size;
+            blockStart -= size;
+        }
+    }
+
+    // messageOf() method will return the profile line of a message line, or null if the line does not hold a message
+    private static String messageOf(String line) {
+        // normalizing the line like FileManager does and checking that it is a message
+        line = line.trim();
+        if (line.isEmpty() || !line.contains("Message:")) {
+            return null;
+        }
+        line = FileManager.normalizeToFirstKnownKey(line);
+        if (FileManager.keyOf(line) != FileManager.KEY_MESSAGE) {
+            return null;
+        }
+
+        // returning the text after the key, skipping empty messages
+        String message = line.substring(FileManager.KEYS[FileManager.KEY_MESSAGE].length()).trim();
+        return message.isEmpty() ? null : message;
+    }
+
+    // isAlreadyRotated() method will return true if a message in the profile or journal is from before the last rotation, which
+    // means it is already in a segment
+    private boolean isAlreadyRotated(long epochSeconds) {
+        return !segments.isEmpty() && epochSeconds != TimestampParser.NO_TIMESTAMP && epochSeconds < rotatedBefore;
+    }
+
+    // endsWithNewLine() method will return true if the byte before end is a new line, or the file is empty
+    private static boolean endsWithNewLine(FileChannel fileChannel, long end) throws IOException {
+        if (end == 0) {
+            return true;
+        }
+        ByteBuffer last = ByteBuffer.allocate(1);
+        fileChannel.read(last, end - 1);
+        return last.get(0) == '\n';
+    }
+
+    // closeChannel() method will close the file being read
+    private void closeChannel() {
+        closeQuietly(channel);
+        channel = null;
+    }
+
+    // closeQuietly() method will close a channel, printing any error
+    private static void closeQuietly(FileChannel fileChannel) {
+        if (fileChannel == null) {
+            return;
+        }
+        try {
+            fileChannel.close();
+        }
+        // handling IOException during closing
+        catch (IOException e) {
+            System.out.println("Error closing profile file: " + e.getMessage());
+        }
+    }
+}
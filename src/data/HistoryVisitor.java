@@ -0,0 +1,18 @@
+/*
+    Vivaan Echambadi
+    10/17/2026
+
+    HistoryVisitor interface will be called once for each message when a HistoryStore is scanned.
+    The values are passed as primitives so that scanning a large history does not box anything.
+
+*/
+
+// importing package
+package data;
+
+// HistoryVisitor interface definition
+@FunctionalInterface
+public interface HistoryVisitor {
+    // visit() method will receive the position of a message, its timestamp in epoch seconds, and its message ID
+    void visit(int index, long epochSeconds, int messageId);
+}
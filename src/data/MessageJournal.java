@@ -0,0 +1,711 @@
+/*
+    Vivaan Echambadi
+    10/17/2026
+
+    MessageJournal class will keep new messages in an append-only journal next to a profile (profiles/<user>_journal.txt), so saving
+    costs only the new messages instead of rewriting every profile field and message. New messages are kept in memory until the next
+    save, which appends all of them in one write and syncs it to disk. When the journal grows past a size limit, a background thread
+    merges it into the profile snapshot: it copies the snapshot and the journal into a temporary file, moves that file over the
+    profile in one atomic step, and then deletes the journal.
+    The first line of the journal records the stamp of the snapshot it belongs to, its size and a CRC-32 checksum of its bytes, so a
+    journal that was already merged (for example if the app stopped between moving the snapshot and deleting the journal), or whose
+    profile was written again some other way, is ignored instead of adding its messages to the wrong snapshot. Journals written
+    before the checksum was added only record the size, and are still matched by size alone.
+    FileManager replays the journal on top of the snapshot whenever it loads the messages of a profile. A binary profile snapshot
+    cannot have text copied onto its end, so its journal is merged by loading the profile and writing the whole snapshot again.
+    Once a month the same background thread rotates the profile: messages from before the current month are appended to the
+    profile's HistorySegments, and the snapshot is written again with only the newer messages.
+
+*/
+
+// importing packages
+package data;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.CRC32;
+
+// MessageJournal class definition
+public class MessageJournal {
+    // private attributes for the files, the messages waiting for the next save, and the state of the journal
+    private final File profileFile;
+    private final File journalFile;
+    private final File tempFile;
+    private final List<String> pending;
+    private boolean rewriteNeeded;
+    private boolean compactionScheduled;
+    private boolean rotationScheduled;
+    private long generation;
+    private long clearCount;
+
+    // journal size that starts a background compaction
+    private static final long COMPACT_THRESHOLD_BYTES = 64 * 1024;
+
+    // key of the first journal line, which holds the stamp of the snapshot the journal belongs to
+    private static final String BASE_KEY = "Journal Base:";
+
+    // static map to hold the last stamp worked out for each profile file, with the size and time it was for, so the snapshot is
+    // only read again once it has changed
+    private static final Map<String, long[]> STAMPS = new ConcurrentHashMap<>();
+
+    // the journal and profile files use the same character set as FileManager's readers and writers
+    private static final Charset CHARSET = Charset.defaultCharset();
+
+    // static map to hold one journal per profile file
+    private static final Map<String, MessageJournal> JOURNALS = new ConcurrentHashMap<>();
+
+    // single background thread that merges journals into their snapshots
+    private static final ExecutorService COMPACTOR = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "journal-compactor");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // private constructor, journals are shared per profile through forProfile()
+    private MessageJournal(String profilePath) {
+        // setting the files and the empty state
+        this.profileFile = new File(profilePath);
+        this.journalFile = new File(journalPathFor(profilePath));
+        this.tempFile = new File(profilePath + ".tmp");
+        this.pending = new ArrayList<>();
+        this.rewriteNeeded = false;
+        this.compactionScheduled = false;
+        this.rotationScheduled = false;
+        this.generation = 0;
+        this.clearCount = 0;
+
+        // removing a journal that belongs to an older snapshot, since its messages were already merged
+        if (journalFile.exists() && !belongsTo(journalFile, profileFile)) {
+            journalFile.delete();
+        }
+
+        // cutting off a last line that was only partly written, so new messages do not join onto it
+        if (journalFile.exists()) {
+            trimPartialLine(journalFile);
+        }
+    }
+
+    // forProfile() method will return the shared journal of a profile file, creating it the first time it is needed
+    public static MessageJournal forProfile(String profilePath) {
+        return JOURNALS.computeIfAbsent(profilePath, MessageJournal::new);
+    }
+
+    // journalPathFor() method will return the path of the journal that belongs to a profile file
+    public static String journalPathFor(String profilePath) {
+        // replacing the .txt or binary profile extension with _journal.txt
+        if (profilePath.endsWith(".txt")) {
+            return profilePath.substring(0, profilePath.length() - 4) + "_journal.txt";
+        }
+        if (FileManager.isBinaryPath(profilePath)) {
+            return profilePath.substring(0, profilePath.lastIndexOf('.')) + "_journal.txt";
+        }
+        return profilePath + "_journal.txt";
+    }
+
+    // append() method will keep a new message profile line (timestamp | message) until the next save
+    public synchronized void append(String messageLine) {
+        pending.add(messageLine);
+    }
+
+    // clear() method will drop the messages waiting for the next save and make that save rewrite the whole profile,
+    // used when the message history is cleared
+    public synchronized void clear() {
+        pending.clear();
+        rewriteNeeded = true;
+    }
+
+    // isRewritePending() method will return true if the history was cleared and the next save will rewrite the whole profile
+    public synchronized boolean isRewritePending() {
+        return rewriteNeeded;
+    }
+
+    // getPendingCount() method will return how many messages are waiting for the next save
+    public synchronized int getPendingCount() {
+        return pending.size();
+    }
+
+    // save() method will make the profile on disk match the given profile: normally by appending the new messages to the journal,
+    // or by rewriting the whole profile after its history was cleared
+    public synchronized void save(UserProfile profile) {
+        // rewriting the whole profile if the history was cleared, which holds every waiting message
+        if (rewriteNeeded) {
+            pending.clear();
+            rewrite(profile);
+            return;
+        }
+
+        // appending the new messages to the journal
+        sync();
+    }
+
+    // sync() method will append every waiting message to the journal in one write and sync it to disk, returning how many were written
+    public synchronized int sync() {
+        // checking if there is anything to write
+        if (pending.isEmpty()) {
+            return 0;
+        }
+
+        // building one block with the base line for a new journal and every waiting message
+        StringBuilder block = new StringBuilder();
+        if (!journalFile.exists() || journalFile.length() == 0) {
+            block.append(BASE_KEY).append(' ').append(snapshotStamp(profileFile)).append('\n');
+        }
+        for (String line : pending) {
+            block.append("Message: ").append(line).append('\n');
+        }
+
+        // appending the block and forcing it to disk before the messages count as saved
+        try (FileChannel channel = FileChannel.open(journalFile.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND)) {
+            ByteBuffer buffer = ByteBuffer.wrap(block.toString().getBytes(CHARSET));
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        }
+        // handling IOException during writing, keeping the messages for the next save
+        catch (IOException e) {
+            System.out.println("Error writing message journal: " + e.getMessage());
+            return 0;
+        }
+
+        // returning the number of messages written
+        int written = pending.size();
+        pending.clear();
+        return written;
+    }
+
+    // compactIfNeeded() method will merge the journal into the profile on the background thread if it has grown past the size limit,
+    // calling onCompacted on that thread once the merge is done
+    public synchronized void compactIfNeeded(Runnable onCompacted) {
+        // checking if the journal is big enough and not already waiting to be merged
+        if (compactionScheduled || journalFile.length() < COMPACT_THRESHOLD_BYTES) {
+            return;
+        }
+        compactionScheduled = true;
+
+        // merging the journal on the background thread
+        COMPACTOR.submit(() -> {
+            boolean merged = compact();
+            synchronized (this) {
+                compactionScheduled = false;
+            }
+            if (merged && onCompacted != null) {
+                onCompacted.run();
+            }
+        });
+    }
+
+    // compact() method will merge the journal into the profile snapshot, returning true if it was merged
+    // the snapshot and the journal are copied without holding the lock, so saves can keep appending while the copy is made
+    public boolean compact() {
+        // remembering the journal as it is now
+        long journalLength;
+        long startGeneration;
+        synchronized (this) {
+            // checking if there is a journal that belongs to the current snapshot
+            if (!journalFile.exists() || !belongsTo(journalFile, profileFile)) {
+                return false;
+            }
+
+            // making sure only complete lines are merged
+            trimPartialLine(journalFile);
+            journalLength = journalFile.length();
+            startGeneration = generation;
+
+            // merging a binary snapshot by writing it again with the journal messages, holding the lock so no save is missed
+            if (FileManager.isBinaryProfile(profileFile.getPath())) {
+                return rewriteBinarySnapshot();
+            }
+        }
+
+        // copying the snapshot and the messages of the journal into the temporary file
+        try {
+            long copied;
+            try (FileChannel out = FileChannel.open(tempFile.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                // copying the snapshot, making sure it ends with a new line
+                if (profileFile.exists()) {
+                    try (FileChannel in = FileChannel.open(profileFile.toPath(), StandardOpenOption.READ)) {
+                        copy(in, 0, in.size(), out);
+                        if (in.size() > 0 && !endsWithNewLine(in)) {
+                            out.write(ByteBuffer.wrap(new byte[] {'\n'}));
+                        }
+                    }
+                }
+
+                // copying the journal messages that were there at the start, skipping the base line
+                try (FileChannel in = FileChannel.open(journalFile.toPath(), StandardOpenOption.READ)) {
+                    long start = firstLineLength(in);
+                    copy(in, start, journalLength - start, out);
+                    copied = journalLength;
+                }
+            }
+
+            synchronized (this) {
+                // giving up if the profile was rewritten while the copy was made
+                if (generation != startGeneration) {
+                    tempFile.delete();
+                    return false;
+                }
+
+                // copying the messages that were saved while the copy was made, then syncing the new snapshot to disk
+                try (FileChannel out = FileChannel.open(tempFile.toPath(), StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+                        FileChannel in = FileChannel.open(journalFile.toPath(), StandardOpenOption.READ)) {
+                    copy(in, copied, in.size() - copied, out);
+                    out.force(false);
+                }
+
+                // replacing the snapshot in one step once the temporary file is closed, and deleting the merged journal
+                Files.move(tempFile.toPath(), profileFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                journalFile.delete();
+                generation += 1;
+            }
+        }
+        // handling IOException during the merge, keeping the journal so nothing is lost
+        catch (IOException e) {
+            System.out.println("Error compacting message journal: " + e.getMessage());
+            tempFile.delete();
+            return false;
+        }
+
+        // returning true since the journal was merged
+        return true;
+    }
+
+    // replay() method will add the messages of a profile's journal to a history, if the journal belongs to the profile's current snapshot
+    public static void replay(String profilePath, HistoryStore history) {
+        replay(profilePath, history, 0, Long.MAX_VALUE);
+    }
+
+    // replay() method will add the messages of a profile's journal whose lines lie from fromOffset up to toOffset (in bytes) to a
+    // history, if the journal belongs to the profile's current snapshot
+    static void replay(String profilePath, HistoryStore history, long fromOffset, long toOffset) {
+        // checking if the journal exists
+        File journalFile = new File(journalPathFor(profilePath));
+        if (!journalFile.exists()) {
+            return;
+        }
+
+        // reading the journal
+        byte[] bytes;
+        try {
+            bytes = Files.readAllBytes(journalFile.toPath());
+        }
+        // handling IOException during reading
+        catch (IOException e) {
+            System.out.println("Error reading message journal: " + e.getMessage());
+            return;
+        }
+
+        // checking that the journal belongs to the current snapshot
+        int firstLineEnd = indexOfNewLine(bytes, 0);
+        File profileFile = new File(profilePath);
+        if (firstLineEnd < 0 || !isBaseOf(parseBase(new String(bytes, 0, firstLineEnd, CHARSET)), profileFile, profileFile.length())) {
+            return;
+        }
+
+        // adding each complete message line in the range, skipping a last line that was cut off while it was being written
+        int start = (int) Math.max(firstLineEnd + 1, Math.min(fromOffset, bytes.length));
+        int end = indexOfNewLine(bytes, start);
+        while (end >= 0 && end < toOffset) {
+            String line = new String(bytes, start, end - start, CHARSET).trim();
+            if (line.startsWith("Message:")) {
+                String message = line.substring(8).trim();
+                if (!message.isEmpty()) {
+                    history.appendLine(message);
+                }
+            }
+            start = end + 1;
+            end = indexOfNewLine(bytes, start);
+        }
+    }
+
+    // rotateIfNeeded() method will move the messages from before the current month into the profile's history segments on the
+    // background thread, if a new month has started since the last rotation, calling onRotated on that thread once it is done
+    public synchronized void rotateIfNeeded(Runnable onRotated) {
+        // checking if a rotation is due and not already waiting to run
+        long nowSeconds = TimestampParser.fromLocalDateTime(java.time.LocalDateTime.now());
+        if (rotationScheduled || !profileFile.exists() || !HistorySegments.forProfile(profileFile.getPath()).needsRotation(nowSeconds)) {
+            return;
+        }
+        rotationScheduled = true;
+
+        // rotating on the background thread
+        COMPACTOR.submit(() -> {
+            boolean rotated = rotate(HistorySegments.monthStart(nowSeconds));
+            synchronized (this) {
+                rotationScheduled = false;
+            }
+            if (rotated && onRotated != null) {
+                onRotated.run();
+            }
+        });
+    }
+
+    // rotate() method will move the messages from before the given time into the profile's history segments and write the snapshot
+    // again with the rest, returning true if the segments were updated
+    // the history is loaded and the segments are written without holding the lock, so saves can keep appending in the meantime
+    public boolean rotate(long beforeSeconds) {
+        // remembering the journal as it is now
+        long journalLength = 0;
+        long startGeneration;
+        long startClearCount;
+        synchronized (this) {
+            // checking if there is a profile to rotate
+            if (!profileFile.exists()) {
+                return false;
+            }
+
+            // making sure only complete journal lines are read, if the journal belongs to the current snapshot
+            if (journalFile.exists() && belongsTo(journalFile, profileFile)) {
+                trimPartialLine(journalFile);
+                journalLength = journalFile.length();
+            }
+            startGeneration = generation;
+            startClearCount = clearCount;
+        }
+
+        // loading the snapshot and the journal messages that were there at the start, and moving the older ones into segments
+        HistorySegments segments = HistorySegments.forProfile(profileFile.getPath());
+        UserProfile snapshot = FileManager.loadSnapshot(profileFile.getPath(), true);
+        HistoryStore history = snapshot.getHistory();
+        replay(profileFile.getPath(), history, 0, journalLength);
+        if (!segments.store(history, beforeSeconds)) {
+            return false;
+        }
+
+        synchronized (this) {
+            // dropping what was just stored if the history was cleared while the segments were written
+            if (clearCount != startClearCount) {
+                segments.clear();
+                return false;
+            }
+
+            // leaving the snapshot for the next rotation if it was written again for another reason, such as a compaction or new
+            // details, since the journal read above may be gone; loading skips the messages it still has that are in the segments
+            if (generation != startGeneration) {
+                return true;
+            }
+
+            // keeping the messages from the rotation time on and the ones without a timestamp, and the messages saved in the meantime
+            HistoryStore remaining = new HistoryStore();
+            for (int i = 0; i < history.size(); i++) {
+                long time = history.getEpochSeconds(i);
+                if (time == TimestampParser.NO_TIMESTAMP || time >= beforeSeconds) {
+                    remaining.append(time, history.getMessage(i));
+                }
+            }
+
+            // leaving the snapshot alone if no message was moved
+            if (remaining.size() == history.size()) {
+                return true;
+            }
+            replay(profileFile.getPath(), remaining, journalLength, Long.MAX_VALUE);
+
+            // writing the new snapshot in the format the profile already has and replacing the old one in one step
+            try {
+                snapshot.setHistoryLoader(() -> remaining);
+                FileManager.writeProfile(snapshot, tempFile.getPath(), FileManager.isBinaryProfile(profileFile.getPath()));
+                Files.move(tempFile.toPath(), profileFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            }
+            // handling IOException during writing, keeping the old snapshot since loading skips the messages already in segments
+            catch (IOException e) {
+                System.out.println("Error writing rotated profile: " + e.getMessage());
+                tempFile.delete();
+                return true;
+            }
+
+            // deleting the journal, whose messages are all in the new snapshot
+            journalFile.delete();
+            generation += 1;
+        }
+
+        // returning true since the segments were updated
+        return true;
+    }
+
+    // HELPER METHODS
+
+    // rewriteBinarySnapshot() method will load a binary profile with its journal, write it to the temporary file and move it over
+    // the snapshot, returning true if it was merged, the caller must hold the lock
+    private boolean rewriteBinarySnapshot() {
+        // loading the profile, which adds the journal messages to its history, then writing it and replacing the snapshot in one step
+        try {
+            UserProfile merged = BinaryProfileFormat.read(profileFile.getPath(), true);
+            replay(profileFile.getPath(), merged.getHistory());
+            BinaryProfileFormat.write(merged, tempFile.getPath());
+            Files.move(tempFile.toPath(), profileFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        // handling IOException during reading, writing or the move, keeping the journal so nothing is lost
+        catch (IOException e) {
+            System.out.println("Error compacting message journal: " + e.getMessage());
+            tempFile.delete();
+            return false;
+        }
+
+        // deleting the merged journal
+        journalFile.delete();
+        generation += 1;
+        return true;
+    }
+
+    // takeRewrite() method will return a copy of the profile to write as the new snapshot if its history was cleared since the last
+    // save, or null if no rewrite is needed; the waiting messages are dropped since the copy holds them, and the rewrite stays
+    // pending until the copy has been written with rewrite()
+    synchronized UserProfile takeRewrite(UserProfile profile) {
+        // checking if the history was cleared
+        if (!rewriteNeeded) {
+            return null;
+        }
+
+        // copying the whole profile and dropping the messages that are in the copy
+        UserProfile copy = FileManager.copyProfile(profile, true);
+        pending.clear();
+        return copy;
+    }
+
+    // rewrite() method will write the whole profile as the new snapshot and drop the journal, returning true if it was written
+    synchronized boolean rewrite(UserProfile profile) {
+        // writing the whole profile in the format it already has, replacing the old snapshot in one step
+        try {
+            FileManager.replaceProfile(profile, profileFile.getPath(), isBinarySnapshot());
+        }
+        // handling IOException during writing, keeping the old snapshot, its journal and its segments, and the rewrite pending for
+        // the next save
+        catch (IOException e) {
+            System.out.println("Error saving profile: " + e.getMessage());
+            return false;
+        }
+
+        // deleting the journal and the history segments, since every message left is in the new snapshot
+        generation += 1;
+        clearCount += 1;
+        journalFile.delete();
+        HistorySegments.forProfile(profileFile.getPath()).clear();
+        rewriteNeeded = false;
+        return true;
+    }
+
+    // rewriteFields() method will write the snapshot again with the details of fields and every message saved so far, including
+    // the journal and the waiting messages, replacing it in one step and dropping the journal, returning true if it was written
+    synchronized boolean rewriteFields(UserProfile fields) {
+        // loading the messages of the snapshot and the journal, and adding the waiting messages after them
+        UserProfile merged = FileManager.copyProfile(fields, false);
+        HistoryStore history = profileFile.exists() ? FileManager.loadSnapshot(profileFile.getPath(), true).getHistory() : new HistoryStore();
+        replay(profileFile.getPath(), history);
+        for (String line : pending) {
+            history.appendLine(line);
+        }
+        merged.setHistoryLoader(() -> history);
+
+        // writing the new snapshot in the format the profile already has, replacing the old one in one step
+        try {
+            FileManager.replaceProfile(merged, profileFile.getPath(), isBinarySnapshot());
+        }
+        // handling IOException during writing, keeping the old snapshot, the journal and the waiting messages
+        catch (IOException e) {
+            System.out.println("Error saving profile details: " + e.getMessage());
+            return false;
+        }
+
+        // deleting the journal and dropping the waiting messages, which are all in the new snapshot
+        journalFile.delete();
+        pending.clear();
+        generation += 1;
+        return true;
+    }
+
+    // isBinarySnapshot() method will return true if the snapshot is, or for a new profile will be, in the binary format
+    private boolean isBinarySnapshot() {
+        return profileFile.exists() ? FileManager.isBinaryProfile(profileFile.getPath()) : FileManager.isBinaryPath(profileFile.getPath());
+    }
+
+    // belongsTo() method will return true if a journal was started on the profile's current snapshot
+    static boolean belongsTo(File journalFile, File profileFile) {
+        return isBaseOf(readBase(journalFile), profileFile, profileFile.length());
+    }
+
+    // belongsTo() method will return true if a journal was started on the snapshot the caller has open, which may already have been
+    // replaced by a newer snapshot at the profile's path
+    static boolean belongsTo(File journalFile, File profileFile, FileChannel snapshot) throws IOException {
+        // checking the size first, which is enough to turn down most journals without reading the snapshot
+        String base = readBase(journalFile);
+        long length = snapshot.size();
+        if (base == null || !(base + " ").startsWith(length + " ")) {
+            return false;
+        }
+
+        // matching an older base line by its size, and a new one by the stamp of the file if it is still the open snapshot, or of
+        // the open snapshot itself if the file has been replaced since
+        if (base.equals(String.valueOf(length))) {
+            return true;
+        }
+        return base.equals(profileFile.length() == length ? snapshotStamp(profileFile) : length + " " + checksum(snapshot));
+    }
+
+    // snapshotStamp() method will return the stamp of a profile's snapshot, its size and the CRC-32 checksum of its bytes, reading
+    // the snapshot only if it has changed since its stamp was last worked out
+    private static String snapshotStamp(File profileFile) {
+        // using the last stamp if the snapshot still has the same size and time
+        String key = profileFile.getAbsolutePath();
+        long length = profileFile.length();
+        long modified = profileFile.lastModified();
+        long[] known = STAMPS.get(key);
+        if (known != null && known[0] == length && known[1] == modified) {
+            return known[0] + " " + known[2];
+        }
+
+        // working out the checksum of the snapshot's bytes, an empty checksum if there is no snapshot yet
+        long crc = 0;
+        if (profileFile.exists()) {
+            try (FileChannel in = FileChannel.open(profileFile.toPath(), StandardOpenOption.READ)) {
+                length = in.size();
+                crc = checksum(in);
+            }
+            // handling IOException during reading with a stamp of the size alone, which is matched like an older base line
+            catch (IOException e) {
+                System.out.println("Error reading profile snapshot: " + e.getMessage());
+                return String.valueOf(profileFile.length());
+            }
+        }
+
+        // remembering the stamp for the next call, unless the snapshot changed while it was read
+        if (length == profileFile.length() && modified == profileFile.lastModified()) {
+            STAMPS.put(key, new long[] {length, modified, crc});
+        }
+        return length + " " + crc;
+    }
+
+    // checksum() method will return the CRC-32 checksum of every byte of an open file
+    private static long checksum(FileChannel in) throws IOException {
+        // adding each chunk of the file to the checksum, reading by position so the channel's own position is left alone
+        CRC32 checksum = new CRC32();
+        ByteBuffer buffer = ByteBuffer.allocateDirect(64 * 1024);
+        long position = 0;
+        int read;
+        while ((read = in.read(buffer, position)) > 0) {
+            buffer.flip();
+            checksum.update(buffer);
+            buffer.clear();
+            position += read;
+        }
+        return checksum.getValue();
+    }
+
+    // isBaseOf() method will return true if the stamp from a journal's first line matches the profile's snapshot and its size is
+    // snapshotLength, also matching an older base line that only has the size
+    private static boolean isBaseOf(String base, File profileFile, long snapshotLength) {
+        // checking the size first, which is enough to turn down most journals without reading the snapshot
+        if (base == null || !(base + " ").startsWith(snapshotLength + " ")) {
+            return false;
+        }
+
+        // matching an older base line by its size, and a new one by the whole stamp
+        return base.equals(String.valueOf(snapshotLength)) || base.equals(snapshotStamp(profileFile));
+    }
+
+    // readBase() method will return the snapshot stamp recorded in the first line of a journal, or null if it cannot be read
+    private static String readBase(File file) {
+        // reading the first line of the journal
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(file), CHARSET))) {
+            return parseBase(reader.readLine());
+        }
+        // handling IOException during reading
+        catch (IOException e) {
+            return null;
+        }
+    }
+
+    // parseBase() method will return the snapshot stamp from a journal's first line, or null if it is not a base line
+    private static String parseBase(String line) {
+        // checking if the line is a base line
+        if (line == null || !line.startsWith(BASE_KEY)) {
+            return null;
+        }
+
+        // returning the stamp after the key
+        return line.substring(BASE_KEY.length()).trim();
+    }
+
+    // firstLineLength() method will return the number of bytes in the first line of a file, including its new line
+    private static long firstLineLength(FileChannel in) throws IOException {
+        // reading the start of the file, which is enough for the short base line
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+        in.read(buffer, 0);
+
+        // finding the first new line
+        for (int i = 0; i < buffer.position(); i++) {
+            if (buffer.get(i) == '\n') {
+                return i + 1;
+            }
+        }
+        return 0;
+    }
+
+    // trimPartialLine() method will shorten a file to the end of its last complete line
+    private static void trimPartialLine(File file) {
+        // opening the file for reading and writing
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            // walking back from the end of the file to the last new line
+            long end = channel.size();
+            ByteBuffer one = ByteBuffer.allocate(1);
+            while (end > 0) {
+                one.clear();
+                channel.read(one, end - 1);
+                if (one.get(0) == '\n') {
+                    break;
+                }
+                end -= 1;
+            }
+
+            // cutting the file there if anything comes after it
+            if (end < channel.size()) {
+                channel.truncate(end);
+            }
+        }
+        // handling IOException during the check
+        catch (IOException e) {
+            System.out.println("Error checking message journal: " + e.getMessage());
+        }
+    }
+
+    // indexOfNewLine() method will return the position of the first new line in bytes at or after start, or -1 if there is none
+    private static int indexOfNewLine(byte[] bytes, int start) {
+        for (int i = start; i < bytes.length; i++) {
+            if (bytes[i] == '\n') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    // endsWithNewLine() method will return true if the last byte of a file is a new line
+    private static boolean endsWithNewLine(FileChannel in) throws IOException {
+        ByteBuffer last = ByteBuffer.allocate(1);
+        in.read(last, in.size() - 1);
+        return last.get(0) == '\n';
+    }
+
+    // copy() method will copy count bytes of a channel starting at position to the end of another channel
+    private static void copy(FileChannel in, long position, long count, FileChannel out) throws IOException {
+        // transferring in chunks until every byte has been copied
+        while (count > 0) {
+            long transferred = in.transferTo(position, count, out);
+            if (transferred <= 0) {
+                break;
+            }
+            position += transferred;
+            count -= transferred;
+        }
+    }
+}
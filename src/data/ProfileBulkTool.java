@@ -0,0 +1,293 @@
+/*
+    Vivaan Echambadi
+    10/17/2026
+
+    ProfileBulkTool class will copy or convert every profile in a folder to another folder from the command line, for backing up
+    and migrating many profiles at once. The profiles are found with a ProfileCatalog of the input folder, and each one is loaded with
+    its whole history, checked, written in the chosen format and optionally read back, the same way ProfileConverter does it for one
+    file, so the results are the same as the app's own files. The profiles are handled in parallel on a fork-join pool, while a
+    semaphore limits how many of them are being read or written at the same time, so many threads can convert without all of them
+    competing for the disk. Progress is printed every second, and a summary with profiles per second and megabytes per second at the
+    end. It can be run from the command line:
+        java data.ProfileBulkTool <input folder> <output folder> [--format text|binary|same] [--threads N] [--io N] [--verify]
+    The format defaults to the format of each input profile, the threads to the number of processors, and the number of profiles
+    being read or written at once to at most 4. With --verify each written profile is read back and compared with the original.
+
+*/
+
+// importing packages
+package data;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// ProfileBulkTool class definition
+public class ProfileBulkTool {
+    // private attributes for the folders, the output format and how much runs at once
+    private final File inputFolder;
+    private final File outputFolder;
+    private final String format;
+    private final int threads;
+    private final Semaphore ioPermits;
+    private final boolean verify;
+
+    // private attributes for the progress of a run
+    private int total;
+    private final AtomicInteger converted;
+    private final AtomicInteger failed;
+    private final AtomicLong bytesRead;
+    private final AtomicLong bytesWritten;
+
+    // output formats
+    static final String FORMAT_TEXT = "text";
+    static final String FORMAT_BINARY = "binary";
+    static final String FORMAT_SAME = "same";
+
+    // most profiles read or written at the same time by default
+    private static final int DEFAULT_IO_LIMIT = 4;
+
+    private static final double BYTES_PER_MB = 1024.0 * 1024.0;
+
+    // constructor to initialize a run from inputFolder to outputFolder with the output format, the number of threads, the number of
+    // profiles read or written at once, and whether written profiles are read back
+    public ProfileBulkTool(String inputFolder, String outputFolder, String format, int threads, int ioLimit, boolean verify) {
+        this.inputFolder = new File(inputFolder);
+        this.outputFolder = new File(outputFolder);
+        this.format = format;
+        this.threads = threads;
+        this.ioPermits = new Semaphore(ioLimit);
+        this.verify = verify;
+        this.converted = new AtomicInteger();
+        this.failed = new AtomicInteger();
+        this.bytesRead = new AtomicLong();
+        this.bytesWritten = new AtomicLong();
+    }
+
+    // run() method will convert every profile in the input folder, print the progress and the summary, and return true if none failed
+    public boolean run() {
+        // checking the folders, since the profiles must not be written over while they are being read
+        if (!inputFolder.isDirectory()) {
+            System.out.println("Input folder not found: " + inputFolder.getPath());
+            return false;
+        }
+        if (inputFolder.getAbsoluteFile().toPath().normalize().equals(outputFolder.getAbsoluteFile().toPath().normalize())) {
+            System.out.println("The output folder must be different from the input folder");
+            return false;
+        }
+        outputFolder.mkdirs();
+
+        // finding the profiles in the input folder, reading only their headers
+        List<ProfileSummary> profiles = new ProfileCatalog(inputFolder.getPath()).refresh();
+        total = profiles.size();
+        System.out.println("Found " + total + " profiles in " + inputFolder.getPath() + ", using " + threads + " threads and at most "
+                + ioPermits.availablePermits() + " profiles reading or writing at once");
+
+        // printing the progress every second on a background thread
+        ScheduledExecutorService progress = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "bulk-progress");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long start = System.nanoTime();
+        progress.scheduleAtFixedRate(() -> printProgress(start), 1, 1, TimeUnit.SECONDS);
+
+        // converting the profiles on the fork-join pool, which splits the list between its threads
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            pool.submit(() -> profiles.parallelStream().forEach(this::convert)).get();
+        }
+        // handling InterruptedException and ExecutionException while waiting
+        catch (InterruptedException | ExecutionException e) {
+            System.out.println("Error converting profiles: " + e.getMessage());
+        }
+        finally {
+            pool.shutdown();
+            progress.shutdownNow();
+        }
+
+        // printing the summary
+        printSummary(System.nanoTime() - start);
+        return failed.get() == 0 && converted.get() == total;
+    }
+
+    // HELPER METHODS
+
+    // convert() method will load, check, write and optionally read back one profile, counting it as converted or failed
+    private void convert(ProfileSummary summary) {
+        String inputPath = summary.getPath();
+        try {
+            // loading the whole profile while holding an I/O permit
+            UserProfile profile;
+            int messageCount;
+            ioPermits.acquire();
+            try {
+                profile = ProfileConverter.loadWholeProfile(inputPath);
+                messageCount = profile.getHistory().size();
+                bytesRead.addAndGet(inputBytes(inputPath));
+            } finally {
+                ioPermits.release();
+            }
+
+            // checking the details against the header the catalog read, since the loaders return an empty profile when a file
+            // cannot be read
+            if (profile.getAge() != summary.getAge() || !Objects.equals(profile.getPrimaryDiagnosis(), summary.getPrimaryDiagnosis())) {
+                fail(inputPath, "the loaded details do not match the profile's header");
+                return;
+            }
+
+            // writing the profile in the output format while holding an I/O permit
+            boolean binary = isBinaryOutput(inputPath);
+            File output = new File(outputFolder, outputName(inputPath, binary));
+            ioPermits.acquire();
+            try {
+                FileManager.replaceProfile(profile, output.getPath(), binary);
+                bytesWritten.addAndGet(output.length());
+            } finally {
+                ioPermits.release();
+            }
+
+            // reading the written profile back and comparing it with the original
+            if (verify) {
+                UserProfile written;
+                ioPermits.acquire();
+                try {
+                    written = FileManager.loadSnapshot(output.getPath(), true);
+                } finally {
+                    ioPermits.release();
+                }
+                if (!profile.getName().equals(written.getName()) || written.getHistory().size() != messageCount) {
+                    fail(inputPath, "written profile has " + written.getHistory().size() + " messages instead of " + messageCount);
+                    return;
+                }
+            }
+
+            // counting the profile as converted
+            converted.incrementAndGet();
+        }
+        // handling IOException during writing
+        catch (IOException e) {
+            fail(inputPath, e.getMessage());
+        }
+        // handling InterruptedException while waiting for an I/O permit
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            fail(inputPath, "interrupted");
+        }
+    }
+
+    // fail() method will count a profile as failed and print why
+    private void fail(String inputPath, String reason) {
+        failed.incrementAndGet();
+        System.out.println("Failed to convert " + inputPath + ": " + reason);
+    }
+
+    // isBinaryOutput() method will return true if a profile is written in the binary format
+    private boolean isBinaryOutput(String inputPath) {
+        if (format.equals(FORMAT_SAME)) {
+            return FileManager.isBinaryProfile(inputPath);
+        }
+        return format.equals(FORMAT_BINARY);
+    }
+
+    // outputName() method will return the file name of the converted profile, the input name with the extension of the output format
+    private static String outputName(String inputPath, boolean binary) {
+        String name = new File(inputPath).getName();
+        String stem = name.substring(0, name.lastIndexOf('.'));
+        return stem + (binary ? BinaryProfileFormat.EXTENSION : ".txt");
+    }
+
+    // inputBytes() method will return the size of a profile's file, its journal and its history segments
+    private static long inputBytes(String profilePath) {
+        // adding the profile file and the journal
+        long bytes = new File(profilePath).length() + new File(MessageJournal.journalPathFor(profilePath)).length();
+
+        // adding every file in the segments folder
+        File[] segmentFiles = new File(HistorySegments.folderPathFor(profilePath)).listFiles();
+        if (segmentFiles != null) {
+            for (File segmentFile : segmentFiles) {
+                bytes += segmentFile.length();
+            }
+        }
+        return bytes;
+    }
+
+    // printProgress() method will print how many profiles are done and how fast they are going
+    private void printProgress(long start) {
+        int done = converted.get() + failed.get();
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("  %d/%d profiles (%d%%), %.1f profiles/s%n", done, total, total == 0 ? 100 : done * 100 / total, done / seconds);
+    }
+
+    // printSummary() method will print the number of converted and failed profiles and the throughput of the run
+    private void printSummary(long elapsedNanos) {
+        double seconds = Math.max(elapsedNanos / 1e9, 1e-9);
+        double readMb = bytesRead.get() / BYTES_PER_MB;
+        double writtenMb = bytesWritten.get() / BYTES_PER_MB;
+        System.out.printf("Converted %d of %d profiles (%d failed) in %.2f s%n", converted.get(), total, failed.get(), seconds);
+        System.out.printf("Throughput: %.1f profiles/s, read %.1f MB (%.1f MB/s), wrote %.1f MB (%.1f MB/s)%n",
+                converted.get() / seconds, readMb, readMb / seconds, writtenMb, writtenMb / seconds);
+    }
+
+    // main() method will read the arguments and run the tool, exiting with 1 if any profile failed
+    public static void main(String[] args) {
+        // setting the defaults of the options
+        String format = FORMAT_SAME;
+        int threads = Runtime.getRuntime().availableProcessors();
+        int ioLimit = -1;
+        boolean verify = false;
+
+        // reading the options after the two folders
+        if (args.length < 2) {
+            printUsage();
+            return;
+        }
+        try {
+            for (int i = 2; i < args.length; i++) {
+                if (args[i].equals("--format") && i + 1 < args.length) {
+                    format = args[++i];
+                } else if (args[i].equals("--threads") && i + 1 < args.length) {
+                    threads = Integer.parseInt(args[++i]);
+                } else if (args[i].equals("--io") && i + 1 < args.length) {
+                    ioLimit = Integer.parseInt(args[++i]);
+                } else if (args[i].equals("--verify")) {
+                    verify = true;
+                } else {
+                    printUsage();
+                    return;
+                }
+            }
+        }
+        // handling NumberFormatException for the numeric options
+        catch (NumberFormatException e) {
+            printUsage();
+            return;
+        }
+
+        // checking the options
+        if (!format.equals(FORMAT_TEXT) && !format.equals(FORMAT_BINARY) && !format.equals(FORMAT_SAME) || threads < 1 || ioLimit == 0
+                || ioLimit < -1) {
+            printUsage();
+            return;
+        }
+        if (ioLimit == -1) {
+            ioLimit = Math.min(DEFAULT_IO_LIMIT, threads);
+        }
+
+        // running the tool and exiting with 1 if it did not convert every profile
+        boolean ok = new ProfileBulkTool(args[0], args[1], format, threads, ioLimit, verify).run();
+        if (!ok) {
+            System.exit(1);
+        }
+    }
+
+    // printUsage() method will print how to run the tool
+    private static void printUsage() {
+        System.out.println("Usage: java data.ProfileBulkTool <input folder> <output folder> [--format text|binary|same] [--threads N]"
+                + " [--io N] [--verify]");
+    }
+}
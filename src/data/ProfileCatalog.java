@@ -0,0 +1,265 @@
+/*
+    Vivaan Echambadi
+    10/17/2026
+
+    ProfileCatalog class will keep an index of every profile in the profiles folder, so a profile picker can list them without
+    loading any of them. Scanning the folder reads only the first lines of each text profile, stopping as soon as it has the name,
+    age and primary diagnosis and always before the first "Message:" line, and only the header of each binary profile. The index is
+    kept in memory with the size and last modified time of each file, so scanning the folder again only reads the profiles whose
+    files have changed. The catalog also decides which file belongs to a user name, which every other part of the app uses instead
+    of building the path itself, and it loads a whole profile on a background thread when the app switches to it.
+
+*/
+
+// importing packages
+package data;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+// ProfileCatalog class definition
+public class ProfileCatalog {
+    // private attributes for the profiles folder and the summary of each profile file by its path
+    private final File folder;
+    private final Map<String, ProfileSummary> summaries;
+    private boolean scanned;
+
+    private static final String PROFILES_FOLDER = "profiles";
+
+    // names of the other files that are kept next to the profiles
+    private static final String[] OTHER_FILE_ENDINGS = {"_journal.txt", "_stats.txt", "_garden.txt"};
+
+    // the catalog of the app's profiles folder
+    private static ProfileCatalog shared;
+
+    // single background thread that loads the profiles the app switches to
+    private static final ExecutorService LOADER = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "profile-loader");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // constructor to create an empty catalog of a folder, which is scanned the first time it is used
+    public ProfileCatalog(String folderPath) {
+        this.folder = new File(folderPath);
+        this.summaries = new HashMap<>();
+        this.scanned = false;
+    }
+
+    // getShared() method will return the catalog of the app's profiles folder
+    public static synchronized ProfileCatalog getShared() {
+        if (shared == null) {
+            shared = new ProfileCatalog(PROFILES_FOLDER);
+        }
+        return shared;
+    }
+
+    // refresh() method will scan the folder again, reading only new and changed profile files, and return every profile by name
+    public synchronized List<ProfileSummary> refresh() {
+        // listing the files in the folder
+        Map<String, ProfileSummary> current = new HashMap<>();
+        File[] files = folder.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                // skipping folders and the files that are not profiles
+                if (!file.isFile() || !isProfileFileName(file.getName())) {
+                    continue;
+                }
+
+                // keeping the summary if the file has not changed, reading its header otherwise
+                String path = file.getPath();
+                ProfileSummary summary = summaries.get(path);
+                long length = file.length();
+                long modified = file.lastModified();
+                if (summary == null || !summary.matchesFile(length, modified)) {
+                    summary = readSummary(file, length, modified);
+                }
+                if (summary != null) {
+                    current.put(path, summary);
+                }
+            }
+        }
+
+        // replacing the index with what is on disk now
+        summaries.clear();
+        summaries.putAll(current);
+        scanned = true;
+        return getProfiles();
+    }
+
+    // getProfiles() method will return every profile in the index sorted by name, scanning the folder the first time
+    public synchronized List<ProfileSummary> getProfiles() {
+        // scanning the folder if it has not been scanned yet
+        if (!scanned) {
+            return refresh();
+        }
+
+        // sorting the summaries by name, then by path for profiles with the same name
+        List<ProfileSummary> profiles = new ArrayList<>(summaries.values());
+        profiles.sort(Comparator.comparing(ProfileSummary::getName, String.CASE_INSENSITIVE_ORDER)
+                .thenComparing(ProfileSummary::getPath));
+        return profiles;
+    }
+
+    // pathFor() method will return the path of the profile file of a user, or profiles/<userName>.txt for a user without one yet
+    public synchronized String pathFor(String userName) {
+        // looking for a profile with the name, scanning the folder again if there is none in the index
+        ProfileSummary summary = findByName(userName);
+        if (summary == null && scanned) {
+            refresh();
+            summary = findByName(userName);
+        }
+
+        // returning the profile's file, or the default file for the name
+        if (summary != null) {
+            return summary.getPath();
+        }
+        return new File(folder, userName + ".txt").getPath();
+    }
+
+    // loadAsync() method will load the whole profile of a summary, including its messages, on the background thread and pass it to
+    // onLoaded on that thread
+    public Future<?> loadAsync(ProfileSummary summary, Consumer<UserProfile> onLoaded) {
+        return LOADER.submit(() -> {
+            // finishing any save that is still waiting, so a profile that was just left is read back with all of its messages
+            try {
+                ProfileSaver.flushAll();
+
+                // loading the details and building the history, so the caller does not have to wait for it
+                UserProfile profile = FileManager.loadProfileFromTxt(summary.getPath());
+                profile.getHistory();
+                onLoaded.accept(profile);
+            }
+            // handling any exception so the loader keeps running
+            catch (Exception e) {
+                System.out.println("Error loading profile " + summary.getPath() + ": " + e.getMessage());
+            }
+        });
+    }
+
+    // HELPER METHODS
+
+    // findByName() method will return the summary of the first profile with a name, scanning the folder the first time
+    private ProfileSummary findByName(String userName) {
+        for (ProfileSummary summary : getProfiles()) {
+            if (summary.getName().equals(userName)) {
+                return summary;
+            }
+        }
+        return null;
+    }
+
+    // isProfileFileName() method will return true if a file name has a profile extension and is not one of the files kept next
+    // to the profiles
+    private static boolean isProfileFileName(String fileName) {
+        // checking the extension
+        if (!fileName.endsWith(".txt") && !FileManager.isBinaryPath(fileName)) {
+            return false;
+        }
+
+        // checking the other files that end in .txt
+        for (String ending : OTHER_FILE_ENDINGS) {
+            if (fileName.endsWith(ending)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // readSummary() method will read the name, age and primary diagnosis of a profile file, or return null if it is not a profile
+    private static ProfileSummary readSummary(File file, long length, long modified) {
+        // reading only the header of a binary profile
+        UserProfile details;
+        if (BinaryProfileFormat.isBinary(file)) {
+            try {
+                details = BinaryProfileFormat.read(file.getPath(), false);
+            }
+            // handling IOException during reading by leaving the file out of the catalog
+            catch (IOException e) {
+                System.out.println("Error reading profile " + file.getPath() + " for the catalog: " + e.getMessage());
+                return null;
+            }
+        } else {
+            details = readTextHeader(file);
+            if (details == null) {
+                return null;
+            }
+        }
+
+        // using the file name if the profile has no name
+        String name = details.getName();
+        if (name == null || name.isEmpty()) {
+            name = file.getName().substring(0, file.getName().lastIndexOf('.'));
+        }
+        return new ProfileSummary(name, details.getAge(), details.getPrimaryDiagnosis(), file.getPath(), length, modified);
+    }
+
+    // readTextHeader() method will read the name, age and primary diagnosis from the first lines of a text profile, stopping once it
+    // has all three or reaches the first message, or return null if the file does not start like a profile
+    private static UserProfile readTextHeader(File file) {
+        // starting with a profile named after the file, since a profile may leave out its name
+        UserProfile details = new UserProfile("");
+        boolean hasName = false;
+        boolean hasAge = false;
+        boolean hasDiagnosis = false;
+        boolean firstKey = true;
+
+        // reading the lines of the header
+        try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
+            String line;
+            while ((line = reader.readLine()) != null && !(hasName && hasAge && hasDiagnosis)) {
+                // skipping empty lines and lines without a known key
+                line = line.trim();
+                if (line.isEmpty()) {
+                    continue;
+                }
+                line = FileManager.normalizeToFirstKnownKey(line);
+                int key = FileManager.keyOf(line);
+                if (key < 0) {
+                    // the first line of a profile always has a key, so a file that starts differently is not a profile
+                    if (firstKey) {
+                        return null;
+                    }
+                    continue;
+                }
+
+                // stopping at the first message, which comes after every field, and leaving out files that start with messages
+                if (key == FileManager.KEY_MESSAGE) {
+                    if (firstKey) {
+                        return null;
+                    }
+                    break;
+                }
+                firstKey = false;
+
+                // setting only the fields that the catalog shows
+                String value = line.substring(FileManager.KEYS[key].length()).trim();
+                if (key == FileManager.KEY_NAME) {
+                    FileManager.applyField(details, key, value);
+                    hasName = true;
+                } else if (key == FileManager.KEY_AGE) {
+                    FileManager.applyField(details, key, value);
+                    hasAge = true;
+                } else if (key == FileManager.KEY_PRIMARY_DIAGNOSIS) {
+                    FileManager.applyField(details, key, value);
+                    hasDiagnosis = true;
+                }
+            }
+        }
+        // handling IOException during reading by leaving the file out of the catalog
+        catch (IOException e) {
+            System.out.println("Error reading profile " + file.getPath() + " for the catalog: " + e.getMessage());
+            return null;
+        }
+
+        // returning null for an empty file, which has no fields
+        return firstKey ? null : details;
+    }
+}
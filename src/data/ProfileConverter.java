@@ -0,0 +1,66 @@
+/*
+    Vivaan Echambadi
+    10/17/2026
+
+    ProfileConverter class will convert profiles between the text format and the binary format of BinaryProfileFormat, in either
+    direction. The whole profile is loaded with FileManager, including any messages still in its journal and its older history
+    segments, and written again in the other format as one file, so a converted profile has the same details and messages in the
+    same order. It can be run from the command line:
+        java data.ProfileConverter <input profile> <output profile>
+    which converts a text profile to binary or a binary profile to text, depending on the format of the input.
+
+*/
+
+// importing packages
+package data;
+
+import java.io.File;
+
+// ProfileConverter class definition
+public class ProfileConverter {
+
+    // toBinary() method will convert a text profile to a binary profile file
+    public static void toBinary(String textPath, String binaryPath) {
+        FileManager.saveProfileToBinary(loadWholeProfile(textPath), binaryPath);
+    }
+
+    // toText() method will convert a binary profile to a text profile file
+    public static void toText(String binaryPath, String textPath) {
+        FileManager.saveProfileToTxt(loadWholeProfile(binaryPath), textPath);
+    }
+
+    // loadWholeProfile() method will load the details of a profile with its whole history, not only the recent segments, the history
+    // is read the first time it is used
+    static UserProfile loadWholeProfile(String filePath) {
+        UserProfile profile = FileManager.loadProfileHeaderFromTxt(filePath);
+        profile.setHistoryLoader(() -> FileManager.loadHistoryFromTxt(filePath));
+        return profile;
+    }
+
+    // main() method will convert the input profile to the other format and print the size of both files
+    public static void main(String[] args) {
+        // checking the arguments
+        if (args.length != 2) {
+            System.out.println("Usage: java data.ProfileConverter <input profile> <output profile>");
+            return;
+        }
+        File input = new File(args[0]);
+        if (!input.isFile()) {
+            System.out.println("Profile not found: " + args[0]);
+            return;
+        }
+
+        // converting in the direction that the input's format needs
+        boolean toText = FileManager.isBinaryProfile(args[0]);
+        if (toText) {
+            toText(args[0], args[1]);
+        } else {
+            toBinary(args[0], args[1]);
+        }
+
+        // printing the size of the input and the output
+        File output = new File(args[1]);
+        System.out.println("Converted " + args[0] + " (" + input.length() + " bytes) to " + (toText ? "text" : "binary") + " "
+                + args[1] + " (" + output.length() + " bytes)");
+    }
+}
@@ -0,0 +1,121 @@
+/*
+    Vivaan Echambadi
+    10/17/2026
+
+    ProfileKeyMatcher class will recognize which profile key ("Name:", "Message:", ...) a line starts with from the line's bytes, instead
+    of comparing the line with every key. It is a perfect hash on the first four bytes of the keys, which are different for every key:
+    a multiplier is searched for once so that each key's first four bytes land in their own slot of a small table. Matching a line
+    reads its first four bytes as one int, looks up the only key that could start that way, and checks the rest of that key eight bytes
+    at a time. The keys are plain ASCII, so the bytes of any ASCII-compatible character set can be matched.
+
+*/
+
+// importing packages
+package data;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+// ProfileKeyMatcher class definition
+public class ProfileKeyMatcher {
+    // private attributes for the hash table of key IDs, the hash multiplier, and the bytes of each key
+    private int[] slots;
+    private int multiplier;
+    private int shift;
+    private ByteBuffer[] keyBytes;
+
+    // number of bytes the keys are hashed on, no key is shorter than this
+    private static final int PREFIX_LENGTH = 4;
+
+    // constructor to compile the matcher for a list of ASCII keys, where each key's ID is its index in the array
+    public ProfileKeyMatcher(String[] keys) {
+        // keeping the bytes of every key, read in little-endian order like the lines they are compared with
+        keyBytes = new ByteBuffer[keys.length];
+        for (int id = 0; id < keys.length; id++) {
+            if (keys[id].length() < PREFIX_LENGTH) {
+                throw new IllegalArgumentException("Key is shorter than " + PREFIX_LENGTH + " bytes: " + keys[id]);
+            }
+            keyBytes[id] = ByteBuffer.wrap(keys[id].getBytes(StandardCharsets.US_ASCII)).order(ByteOrder.LITTLE_ENDIAN);
+        }
+
+        // trying table sizes from the smallest power of two that fits the keys, and odd multipliers for each size,
+        // until every key has its own slot
+        for (int bits = 32 - Integer.numberOfLeadingZeros(keys.length * 2 - 1); bits <= 16; bits++) {
+            for (int candidate = 0x9E3779B1; candidate != 0x9E3779B1 + 2 * 10000; candidate += 2) {
+                if (tryBuild(bits, candidate)) {
+                    return;
+                }
+            }
+        }
+        throw new IllegalArgumentException("Keys do not have different first " + PREFIX_LENGTH + " bytes");
+    }
+
+    // match() method will return the ID of the key that the bytes from start (up to end) begin with, or -1 if none does
+    public int match(ByteBuffer buffer, int start, int end) {
+        // checking if the line is long enough for any key
+        if (end - start < PREFIX_LENGTH) {
+            return -1;
+        }
+
+        // finding the only key that can start with these four bytes
+        int id = slots[(buffer.getInt(start) * multiplier) >>> shift];
+        if (id < 0) {
+            return -1;
+        }
+
+        // checking that the whole key is there
+        ByteBuffer key = keyBytes[id];
+        int length = key.capacity();
+        if (end - start < length) {
+            return -1;
+        }
+        int i = 0;
+        while (i + 8 <= length) {
+            if (key.getLong(i) != buffer.getLong(start + i)) {
+                return -1;
+            }
+            i += 8;
+        }
+        while (i < length) {
+            if (key.get(i) != buffer.get(start + i)) {
+                return -1;
+            }
+            i += 1;
+        }
+
+        // returning the key ID
+        return id;
+    }
+
+    // getKeyLength() method will return the length of a key in bytes
+    public int getKeyLength(int id) {
+        return keyBytes[id].capacity();
+    }
+
+    // HELPER METHODS
+
+    // tryBuild() method will fill a table of 2^bits slots using the multiplier, returning false if two keys land in the same slot
+    private boolean tryBuild(int bits, int candidate) {
+        // creating the empty table
+        int[] table = new int[1 << bits];
+        Arrays.fill(table, -1);
+        int tableShift = 32 - bits;
+
+        // putting each key in its slot
+        for (int id = 0; id < keyBytes.length; id++) {
+            int slot = (keyBytes[id].getInt(0) * candidate) >>> tableShift;
+            if (table[slot] >= 0) {
+                return false;
+            }
+            table[slot] = id;
+        }
+
+        // keeping the table since every key has its own slot
+        slots = table;
+        multiplier = candidate;
+        shift = tableShift;
+        return true;
+    }
+}
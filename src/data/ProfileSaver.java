@@ -0,0 +1,165 @@
+/*
+    Vivaan Echambadi
+    10/17/2026
+
+    ProfileSaver class will save a profile on a background thread, so asking for a save returns right away. When a save is asked for,
+    it only takes what needs to be written: a copy of the whole profile if its history was cleared, or a copy of its details if any
+    field was changed (UserProfile marks them), and the new messages are already waiting in the profile's MessageJournal. The save
+    itself runs a short moment later, so a burst of save requests is written once with the latest copies. Whole profiles are written
+    to a temporary file and moved over the profile in one atomic step, new messages are appended to the journal, and a profile with
+    no changes is not written at all. flushAll() finishes every save that was asked for, which the app does when it closes.
+
+*/
+
+// importing packages
+package data;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// ProfileSaver class definition
+public class ProfileSaver {
+    // private attributes for the journal of the profile, the copies waiting to be written, and the callback of the latest request
+    private final MessageJournal journal;
+    private UserProfile queuedRewrite;
+    private UserProfile queuedFields;
+    private Runnable onSaved;
+    private boolean scheduled;
+
+    // how long a save waits for more requests before it is written
+    private static final long COALESCE_MILLIS = 250;
+
+    // static map to hold one saver per profile file
+    private static final Map<String, ProfileSaver> SAVERS = new ConcurrentHashMap<>();
+
+    // single background thread that writes every profile, so saves of the same profile never overlap
+    private static final ScheduledExecutorService WRITER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "profile-saver");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // private constructor, savers are shared per profile through forProfile()
+    private ProfileSaver(String profilePath) {
+        this.journal = MessageJournal.forProfile(profilePath);
+        this.scheduled = false;
+    }
+
+    // forProfile() method will return the shared saver of a profile file
+    public static ProfileSaver forProfile(String profilePath) {
+        return SAVERS.computeIfAbsent(profilePath, ProfileSaver::new);
+    }
+
+    // requestSave() method will take what needs to be saved from the profile and write it in the background, calling onSaved on
+    // the background thread once something was written; requests that arrive before the write starts are written together
+    public synchronized void requestSave(UserProfile profile, Runnable onSaved) {
+        // copying the whole profile if its history was cleared, which also holds its details
+        UserProfile rewrite = journal.takeRewrite(profile);
+        if (rewrite != null) {
+            queuedRewrite = rewrite;
+            queuedFields = null;
+        }
+
+        // copying the details if any field changed since the last save, and marking those fields as saved
+        int dirtyFields = profile.getDirtyFields();
+        if (dirtyFields != 0) {
+            if (rewrite == null) {
+                queuedFields = FileManager.copyProfile(profile, false);
+            }
+            profile.markClean(dirtyFields);
+        }
+
+        // keeping the newest callback and scheduling the write if it is not scheduled yet
+        this.onSaved = onSaved;
+        if (!scheduled) {
+            scheduled = true;
+            WRITER.schedule(this::save, COALESCE_MILLIS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    // flushAll() method will write every save that was asked for and wait until they are on disk
+    public static void flushAll() {
+        // writing the waiting saves on the background thread, after any save that is running
+        try {
+            WRITER.submit(() -> {
+                for (ProfileSaver saver : SAVERS.values()) {
+                    saver.save();
+                }
+            }).get();
+        }
+        // handling InterruptedException and ExecutionException while waiting
+        catch (InterruptedException | ExecutionException e) {
+            System.out.println("Error finishing profile saves: " + e.getMessage());
+        }
+    }
+
+    // HELPER METHODS
+
+    // save() method will write what was taken by the requests since the last save, on the background thread
+    private void save() {
+        // taking the waiting copies and callback, doing nothing if they were already written by flushAll()
+        UserProfile rewrite;
+        UserProfile fields;
+        Runnable callback;
+        synchronized (this) {
+            if (!scheduled) {
+                return;
+            }
+            rewrite = queuedRewrite;
+            fields = queuedFields;
+            callback = onSaved;
+            queuedRewrite = null;
+            queuedFields = null;
+            onSaved = null;
+            scheduled = false;
+        }
+
+        // writing the whole profile after its history was cleared, keeping the copy for the next save if it fails
+        boolean saved = false;
+        if (rewrite != null) {
+            if (journal.rewrite(rewrite)) {
+                saved = true;
+            } else {
+                synchronized (this) {
+                    if (queuedRewrite == null) {
+                        queuedRewrite = rewrite;
+                        queuedFields = null;
+                    }
+                }
+            }
+        }
+
+        // writing the changed details with every saved message, keeping the copy for the next save if it fails
+        if (fields != null) {
+            if (journal.rewriteFields(fields)) {
+                saved = true;
+            } else {
+                synchronized (this) {
+                    if (queuedFields == null && queuedRewrite == null) {
+                        queuedFields = fields;
+                    }
+                }
+            }
+        }
+
+        // appending the new messages to the journal
+        if (journal.sync() > 0) {
+            saved = true;
+        }
+
+        // calling the callback only if something was written
+        if (saved && callback != null) {
+            try {
+                callback.run();
+            }
+            // handling any exception so the writer keeps running
+            catch (Exception e) {
+                System.out.println("Error after saving profile: " + e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,72 @@
+/*
+    Vivaan Echambadi
+    10/17/2026
+
+    ProfileSummary class will hold the few details of a profile that are shown when picking a profile (name, age and primary
+    diagnosis) together with the path of its file, as they are kept in the ProfileCatalog index. It also keeps the size and last
+    modified time of the file when it was read, so the catalog only reads a profile again after its file has changed.
+
+*/
+
+// importing package
+package data;
+
+// ProfileSummary class definition
+public class ProfileSummary {
+    // private attributes for the profile details, its file, and the file's size and time when it was read
+    private final String name;
+    private final int age;
+    private final String primaryDiagnosis;
+    private final String path;
+    private final long fileLength;
+    private final long fileModified;
+
+    // constructor to initialize a summary with the profile details, its file path and the size and time of the file
+    public ProfileSummary(String name, int age, String primaryDiagnosis, String path, long fileLength, long fileModified) {
+        this.name = name;
+        this.age = age;
+        this.primaryDiagnosis = primaryDiagnosis;
+        this.path = path;
+        this.fileLength = fileLength;
+        this.fileModified = fileModified;
+    }
+
+    // getName() method will return the name of the profile
+    public String getName() {
+        return name;
+    }
+
+    // getAge() method will return the age of the user, or -1 if it is not set
+    public int getAge() {
+        return age;
+    }
+
+    // getPrimaryDiagnosis() method will return the primary diagnosis of the user
+    public String getPrimaryDiagnosis() {
+        return primaryDiagnosis;
+    }
+
+    // getPath() method will return the path of the profile file
+    public String getPath() {
+        return path;
+    }
+
+    // matchesFile() method will return true if the file still has the size and last modified time it had when it was read
+    boolean matchesFile(long length, long modified) {
+        return fileLength == length && fileModified == modified;
+    }
+
+    // toString method for the summary as one line of the profile picker
+    @Override
+    public String toString() {
+        // starting with the name and adding the age and diagnosis if they are set
+        String result = name;
+        if (age > 0) {
+            result += "   •   Age: " + age;
+        }
+        if (primaryDiagnosis != null && !primaryDiagnosis.isEmpty()) {
+            result += "   •   " + primaryDiagnosis;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,78 @@
+/*
+    Vivaan Echambadi
+    10/17/2026
+
+    StringTable class will intern strings so that each distinct string is stored once and referred to by a small int ID.
+    IDs are handed out in the order strings are first seen, starting at 0, so they can be used directly as array indexes.
+    It is used by HistoryStore so that a message repeated thousands of times in a history only takes up memory once.
+
+*/
+
+// importing packages
+package data;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+// StringTable class definition
+public class StringTable {
+    // private attributes for the strings by ID and the IDs by string
+    private String[] strings;
+    private Map<String, Integer> ids;
+    private int size;
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    // constructor to initialize an empty table
+    public StringTable() {
+        this.strings = new String[INITIAL_CAPACITY];
+        this.ids = new HashMap<>();
+        this.size = 0;
+    }
+
+    // intern() method will return the ID of a string, adding it to the table if it has not been seen before
+    public int intern(String value) {
+        // checking if the string already has an ID
+        Integer id = ids.get(value);
+        if (id != null) {
+            return id;
+        }
+
+        // growing the array if it is full
+        if (size == strings.length) {
+            strings = Arrays.copyOf(strings, size * 2);
+        }
+
+        // adding the string with the next ID
+        strings[size] = value;
+        ids.put(value, size);
+        size += 1;
+
+        // returning the new ID
+        return size - 1;
+    }
+
+    // idOf() method will return the ID of a string, or -1 if it is not in the table
+    public int idOf(String value) {
+        Integer id = ids.get(value);
+        return id == null ? -1 : id;
+    }
+
+    // get() method will return the string with the given ID
+    public String get(int id) {
+        return strings[id];
+    }
+
+    // size() method will return the number of distinct strings in the table
+    public int size() {
+        return size;
+    }
+
+    // clear() method will remove every string from the table
+    public void clear() {
+        this.strings = new String[INITIAL_CAPACITY];
+        this.ids = new HashMap<>();
+        this.size = 0;
+    }
+}
@@ -0,0 +1,236 @@
+/*
+    Vivaan Echambadi
+    10/17/2026
+
+    TimestampParser class will turn the fixed-width "yyyy/MM/dd HH:mm:ss" timestamps at the start of history lines into epoch seconds.
+    It reads the digits directly by position, without regex, DateTimeFormatter or LocalDateTime, so parsing a large profile does not
+    create any objects per line. The epoch seconds count wall-clock time as written in the profile (no time zone is applied), which is
+    the same clock the timestamps were written with. It will also provide helper methods to read the hour back, to write a timestamp back out, and to convert to LocalDateTime.
+
+*/
+
+// importing packages
+package data;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+// TimestampParser class definition
+public class TimestampParser {
+
+    // value returned when a timestamp is missing or invalid
+    public static final long NO_TIMESTAMP = Long.MIN_VALUE;
+
+    // length of a "yyyy/MM/dd HH:mm:ss" timestamp
+    public static final int TIMESTAMP_LENGTH = 19;
+
+    private static final long SECONDS_PER_DAY = 86400;
+
+    // parse() method will parse the timestamp that starts at offset in text, returning NO_TIMESTAMP if it is not a valid timestamp
+    public static long parse(CharSequence text, int offset) {
+        // checking if there is room for a full timestamp
+        if (text == null || offset < 0 || offset + TIMESTAMP_LENGTH > text.length()) {
+            return NO_TIMESTAMP;
+        }
+
+        // checking the separators at their fixed positions
+        if (text.charAt(offset + 4) != '/' || text.charAt(offset + 7) != '/' || text.charAt(offset + 10) != ' '
+                || text.charAt(offset + 13) != ':' || text.charAt(offset + 16) != ':') {
+            return NO_TIMESTAMP;
+        }
+
+        // reading each number from its fixed position
+        int year = digits(text, offset, 4);
+        int month = digits(text, offset + 5, 2);
+        int day = digits(text, offset + 8, 2);
+        int hour = digits(text, offset + 11, 2);
+        int minute = digits(text, offset + 14, 2);
+        int second = digits(text, offset + 17, 2);
+
+        // checking the fields and converting them to epoch seconds
+        return toEpochSeconds(year, month, day, hour, minute, second);
+    }
+
+    // parse() method will parse the ASCII timestamp that starts at offset in a byte buffer, reading no further than limit,
+    // returning NO_TIMESTAMP if it is not a valid timestamp
+    public static long parse(ByteBuffer bytes, int offset, int limit) {
+        // checking if there is room for a full timestamp
+        if (offset < 0 || offset + TIMESTAMP_LENGTH > limit) {
+            return NO_TIMESTAMP;
+        }
+
+        // checking the separators at their fixed positions
+        if (bytes.get(offset + 4) != '/' || bytes.get(offset + 7) != '/' || bytes.get(offset + 10) != ' '
+                || bytes.get(offset + 13) != ':' || bytes.get(offset + 16) != ':') {
+            return NO_TIMESTAMP;
+        }
+
+        // reading each number from its fixed position
+        int year = digits(bytes, offset, 4);
+        int month = digits(bytes, offset + 5, 2);
+        int day = digits(bytes, offset + 8, 2);
+        int hour = digits(bytes, offset + 11, 2);
+        int minute = digits(bytes, offset + 14, 2);
+        int second = digits(bytes, offset + 17, 2);
+
+        // checking the fields and converting them to epoch seconds
+        return toEpochSeconds(year, month, day, hour, minute, second);
+    }
+
+    // getHour() method will return the hour of day (0-23) of an epoch seconds value, or -1 if there is no timestamp
+    public static int getHour(long epochSeconds) {
+        // checking if there is a timestamp
+        if (epochSeconds == NO_TIMESTAMP) {
+            return -1;
+        }
+
+        // returning the hour within the day
+        return (int) (Math.floorMod(epochSeconds, SECONDS_PER_DAY) / 3600);
+    }
+
+    // toLocalDateTime() method will convert epoch seconds back to a LocalDateTime, or null if there is no timestamp
+    public static LocalDateTime toLocalDateTime(long epochSeconds) {
+        // checking if there is a timestamp
+        if (epochSeconds == NO_TIMESTAMP) {
+            return null;
+        }
+
+        // converting with a zero offset, since the seconds are wall-clock time
+        return LocalDateTime.ofEpochSecond(epochSeconds, 0, ZoneOffset.UTC);
+    }
+
+    // fromLocalDateTime() method will convert a LocalDateTime to epoch seconds, or NO_TIMESTAMP if it is null
+    public static long fromLocalDateTime(LocalDateTime timestamp) {
+        // checking if there is a timestamp
+        if (timestamp == null) {
+            return NO_TIMESTAMP;
+        }
+
+        // converting with a zero offset, since the seconds are wall-clock time
+        return timestamp.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    // appendTo() method will write epoch seconds back out as "yyyy/MM/dd HH:mm:ss", the same fixed-width text that parse() reads
+    public static void appendTo(StringBuilder out, long epochSeconds) {
+        // splitting the seconds into whole days and the seconds within the day
+        long days = Math.floorDiv(epochSeconds, SECONDS_PER_DAY);
+        int secondOfDay = (int) Math.floorMod(epochSeconds, SECONDS_PER_DAY);
+
+        // converting the days back to a date, with March as the first month like daysFromCivil()
+        long shifted = days + 719468;
+        long era = Math.floorDiv(shifted, 146097);
+        int dayOfEra = (int) (shifted - era * 146097);
+        int yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        int dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        int monthFromMarch = (5 * dayOfYear + 2) / 153;
+        int day = dayOfYear - (153 * monthFromMarch + 2) / 5 + 1;
+        int month = monthFromMarch < 10 ? monthFromMarch + 3 : monthFromMarch - 9;
+        long year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+
+        // writing each field with its separator
+        appendDigits(out, year, 4);
+        out.append('/');
+        appendDigits(out, month, 2);
+        out.append('/');
+        appendDigits(out, day, 2);
+        out.append(' ');
+        appendDigits(out, secondOfDay / 3600, 2);
+        out.append(':');
+        appendDigits(out, secondOfDay / 60 % 60, 2);
+        out.append(':');
+        appendDigits(out, secondOfDay % 60, 2);
+    }
+
+    // HELPER METHODS
+
+    // appendDigits() method will write a number padded with zeros to at least count digits
+    private static void appendDigits(StringBuilder out, long value, int count) {
+        // adding the zeros that are missing in front of the number
+        long limit = 1;
+        for (int i = 1; i < count; i++) {
+            limit *= 10;
+            if (value < limit) {
+                out.append('0');
+            }
+        }
+
+        // adding the number itself
+        out.append(value);
+    }
+
+    // toEpochSeconds() method will check that every field was made of digits and is in range, and return the epoch seconds
+    private static long toEpochSeconds(int year, int month, int day, int hour, int minute, int second) {
+        // checking the fields
+        if (year < 0 || month < 1 || month > 12 || day < 1 || day > daysInMonth(year, month)
+                || hour < 0 || hour > 23 || minute < 0 || minute > 59 || second < 0 || second > 59) {
+            return NO_TIMESTAMP;
+        }
+
+        // returning the number of seconds since 1970/01/01 00:00:00
+        return daysFromCivil(year, month, day) * SECONDS_PER_DAY + hour * 3600L + minute * 60L + second;
+    }
+
+    // digits() method will read count ASCII digits from a byte buffer as a number, or return -1 if any of them is not a digit
+    private static int digits(ByteBuffer bytes, int offset, int count) {
+        // building the number one digit at a time
+        int value = 0;
+        for (int i = 0; i < count; i++) {
+            int digit = bytes.get(offset + i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+
+        // returning the number
+        return value;
+    }
+
+    // digits() method will read count digits from text as a number, or return -1 if any of them is not a digit
+    private static int digits(CharSequence text, int offset, int count) {
+        // building the number one digit at a time
+        int value = 0;
+        for (int i = 0; i < count; i++) {
+            int digit = text.charAt(offset + i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+
+        // returning the number
+        return value;
+    }
+
+    // daysInMonth() method will return the number of days in a month, taking leap years into account
+    private static int daysInMonth(int year, int month) {
+        // checking for February
+        if (month == 2) {
+            boolean leap = (year % 4 == 0 && year % 100 != 0) || year % 400 == 0;
+            return leap ? 29 : 28;
+        }
+
+        // checking for the 30-day months
+        if (month == 4 || month == 6 || month == 9 || month == 11) {
+            return 30;
+        }
+
+        // returning 31 for every other month
+        return 31;
+    }
+
+    // daysFromCivil() method will return the number of days from 1970/01/01 to a date in the proleptic Gregorian calendar
+    private static long daysFromCivil(int year, int month, int day) {
+        // treating March as the first month so the leap day falls at the end of the year
+        int y = month <= 2 ? year - 1 : year;
+        int era = Math.floorDiv(y, 400);
+        int yearOfEra = y - era * 400;
+        int monthFromMarch = month > 2 ? month - 3 : month + 9;
+        int dayOfYear = (153 * monthFromMarch + 2) / 5 + day - 1;
+        int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+
+        // returning the days since 1970/01/01, which is day 719468 of this count
+        return (long) era * 146097 + dayOfEra - 719468;
+    }
+}
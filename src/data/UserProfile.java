@@ -5,6 +5,11 @@
     UserProfile() class will represent a user profile with various attributes such as name, age, sensory preferences,
     communication methods, calming strategies, known triggers, favorite activities, learning preferences, and notes. It will provide getter and setter methods for these attributes,
     as well as methods to add individual preferences and a toString() method to display the full profile details.
+    The message history is kept in a columnar HistoryStore, and getMessages() is a list view of it. A loaded profile can be given a
+    loader instead, which builds the history the first time it is used (decoding a binary profile and adding its recent history
+    segments and journal). The profile also holds the half-life, in hours, that phrase suggestions use to fade out phrases that have
+    not been used recently. Every setter and adder marks its field as changed (one bit per FileManager key), so a save can tell
+    whether the details need to be written at all. Changes made directly to the lists returned by the getters are not tracked.
 
 */
 
@@ -13,12 +18,15 @@ package data;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
 
 // UserProfile class definition
 public class UserProfile {
     // private attributes for user profile details
     private String userName;
-    private List<String> messages;
+    private HistoryStore history;
+    private Supplier<HistoryStore> historyLoader;
     private int age;
     private String primaryDiagnosis;
     private ArrayList<String> sensoryPref;
@@ -29,6 +37,15 @@ public class UserProfile {
     private String preferredLearning;
     private boolean isNonVerbal;
     private String extraNotes;
+    private double recencyHalfLifeHours;
+    private double phraseErrorBound;
+    private int dirtyFields;
+
+    // half-life used when a profile does not set one, in hours
+    public static final double DEFAULT_RECENCY_HALF_LIFE_HOURS = 72.0;
+
+    // phrase counting error bound used when a profile does not set one, 0 counts every phrase exactly
+    public static final double DEFAULT_PHRASE_ERROR_BOUND = 0.0;
     
     // constructor to initialize user profile with a name, as well as default values for other attributes
     public UserProfile (String name) {
@@ -43,7 +60,9 @@ public class UserProfile {
         this.preferredLearning = "";
         this.isNonVerbal = false;
         this.extraNotes = "";
-        this.messages = new ArrayList<String>();
+        this.recencyHalfLifeHours = DEFAULT_RECENCY_HALF_LIFE_HOURS;
+        this.phraseErrorBound = DEFAULT_PHRASE_ERROR_BOUND;
+        this.history = new HistoryStore();
     }
 
     // GETTER METHODS
@@ -103,47 +122,99 @@ public class UserProfile {
         return this.primaryDiagnosis;
     }
 
+    // getRecencyHalfLifeHours() method will get how many hours it takes a phrase's recency to fall by half
+    public double getRecencyHalfLifeHours() {
+        return this.recencyHalfLifeHours;
+    }
+
+    // getPhraseErrorBound() method will get how far phrase counts may be overestimated, as a share of all phrase uses (0 for exact counts)
+    public double getPhraseErrorBound() {
+        return this.phraseErrorBound;
+    }
+
     // SETTER METHODS
 
 
     // setName() method will set the username
     public void setName(String name) {
         this.userName = name;
+        markDirty(FileManager.KEY_NAME);
     }
 
     // setAge() method will set the age of the user
     public void setAge(int age) {
-        this.age = age; 
+        this.age = age;
+        markDirty(FileManager.KEY_AGE);
     }
 
     // seCommunicationStyles() method will set the preferred communication methods of the user
     public void setCommunicationStyles(ArrayList<String> communicationMethods) {
         this.communicationMethods = communicationMethods;
+        markDirty(FileManager.KEY_COMMUNICATION_METHODS);
     }
 
     // setLearningPreference() method will set the preferred learning style of the user
     public void setLearningPreference(String learningPref) {
         this.preferredLearning = learningPref;
+        markDirty(FileManager.KEY_PREFERRED_LEARNING_STYLE);
     }
 
     // setNonVerbal() method will set if the user is non-verbal
     public void setNonVerbal(boolean nonVerbal) {
         this.isNonVerbal = nonVerbal;
+        markDirty(FileManager.KEY_NONVERBAL);
     }
 
     // setNotes() method will set any extra notes about the user
     public void setNotes(String notes) {
         this.extraNotes = notes;
+        markDirty(FileManager.KEY_NOTES);
     }
 
     // setPrimaryDiagnosis() method will set the primary diagnosis of the user
     public void setPrimaryDiagnosis(String primaryDiagnosis) {
         this.primaryDiagnosis = primaryDiagnosis;
+        markDirty(FileManager.KEY_PRIMARY_DIAGNOSIS);
+    }
+
+    // setRecencyHalfLifeHours() method will set how many hours it takes a phrase's recency to fall by half, ignoring values that are not positive
+    public void setRecencyHalfLifeHours(double hours) {
+        if (hours > 0) {
+            this.recencyHalfLifeHours = hours;
+            markDirty(FileManager.KEY_RECENCY_HALF_LIFE);
+        }
+    }
+
+    // setPhraseErrorBound() method will set how far phrase counts may be overestimated, ignoring values outside of 0 (exact) up to 1
+    public void setPhraseErrorBound(double errorBound) {
+        if (errorBound >= 0 && errorBound < 1) {
+            this.phraseErrorBound = errorBound;
+            markDirty(FileManager.KEY_PHRASE_ERROR_BOUND);
+        }
     }
 
     // setMessages() method will set the messages of the user
     public void setMessages(List<String> messages) {
-        this.messages = messages;
+        // building a new history from the given profile lines and replacing the old one
+        HistoryStore replacement = new HistoryStore();
+        for (String message : messages) {
+            replacement.appendLine(message);
+        }
+        this.history = replacement;
+        this.historyLoader = null;
+    }
+
+    // setHistoryLoader() method will set a loader that builds the history the first time it is used, replacing the current history
+    synchronized void setHistoryLoader(Supplier<HistoryStore> loader) {
+        this.historyLoader = loader;
+    }
+
+    // wrapHistory() method will pass the history through wrapper the first time it is used, after any loader that is already set
+    synchronized void wrapHistory(UnaryOperator<HistoryStore> wrapper) {
+        // building on the current loader, or on the history as it is now
+        Supplier<HistoryStore> loader = this.historyLoader;
+        HistoryStore current = this.history;
+        this.historyLoader = () -> wrapper.apply(loader != null ? loader.get() : current);
     }
 
     // ADDER METHODS
@@ -151,36 +222,75 @@ public class UserProfile {
     // addSensoryPref() method will add a sensory preference to the user's profile
     public void addSensoryPref(String preferences) {
         sensoryPref.add(preferences);
+        markDirty(FileManager.KEY_SENSORY_PREFERENCES);
     }
 
     // addCommunicationMethod() method will add a preferred communication method to the user's profile
     public void addCommunicationMethod(String method) {
         this.communicationMethods.add(method);
+        markDirty(FileManager.KEY_COMMUNICATION_METHODS);
     }
 
     // addCalmingStrategy() method will add a calming strategy to the user's profile
     public void addCalmingStrategy(String calmingStrategy) {
         this.calmingStrategies.add(calmingStrategy);
+        markDirty(FileManager.KEY_CALMING_STRATEGIES);
     }
 
     // addTrigger() method will add a known trigger to the user's profile
     public void addTrigger(String trigger) {
         this.knownTriggers.add(trigger);
+        markDirty(FileManager.KEY_KNOWN_TRIGGERS);
     }
 
     // addFavoriteActivity() method will add a favorite activity to the user's profile
     public void addFavoriteActivity(String activity) {
         this.favoriteActivities.add(activity);
+        markDirty(FileManager.KEY_FAVORITE_ACTIVITIES);
     }
 
     // addMessage() method will add a message to the user's profile
     public void addMessage(String message) {
-        this.messages.add(message);
+        history().appendLine(message);
     }
 
-    // getMessages() method will get the messages of the user
+    // getMessages() method will get the messages of the user as profile lines, read from the history store when they are used
     public List<String> getMessages() {
-        return this.messages;
+        return new HistoryMessageList(history());
+    }
+
+    // getHistory() method will get the columnar message history of the user
+    public HistoryStore getHistory() {
+        return history();
+    }
+
+    // getDirtyFields() method will return one bit (1 << key) for every field changed since the profile was loaded or last saved
+    synchronized int getDirtyFields() {
+        return this.dirtyFields;
+    }
+
+    // markDirty() method will mark the field of a FileManager key as changed
+    private synchronized void markDirty(int key) {
+        this.dirtyFields |= 1 << key;
+    }
+
+    // markClean() method will mark the fields in dirtyMask as saved, keeping any other fields that were changed in the meantime
+    synchronized void markClean(int dirtyMask) {
+        this.dirtyFields &= ~dirtyMask;
+    }
+
+    // isHistoryLoaded() method will return false while the history is still waiting to be decoded by its loader
+    public synchronized boolean isHistoryLoaded() {
+        return this.historyLoader == null;
+    }
+
+    // history() method will return the history, running the loader first if the history has not been built yet
+    private synchronized HistoryStore history() {
+        if (this.historyLoader != null) {
+            this.history = this.historyLoader.get();
+            this.historyLoader = null;
+        }
+        return this.history;
     }
 
     // toString method for full profile details
@@ -4,19 +4,28 @@
 
     MainApp() class will have extend the Application class from JavaFX and will be responsible for launching the application.
     It will set up the primary stage, load user profiles, and initialize the main user interface. It will also have a method that
-    loads in the css stylesheets for the application, and a method to launch the application.
+    loads in the css stylesheets for the application, and a method to launch the application. When the application closes it
+    finishes writing any profile save and garden state that is still waiting. The first profile is taken from the ProfileCatalog,
+    and switching to another profile loads it in the background while the open profile stays on screen.
 */
 
 // importing packages
 package presentation;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import business.MessageBuilder;
+import business.MessageGarden;
+import business.TilePredictor;
 import data.FileManager;
+import data.ProfileCatalog;
+import data.ProfileSaver;
+import data.ProfileSummary;
 import data.UserProfile;
 import javafx.application.Application;
+import javafx.application.Platform;
 import javafx.scene.Scene;
 import javafx.stage.Stage;
 
@@ -26,6 +35,10 @@ public class MainApp extends Application {
     // static map to hold phrase-meaning dictionary
     public static Map <String, String> phraseMeaningDictMap = new HashMap<String, String>(); 
 
+    // private attributes for the primary stage and the number of the latest profile switch
+    private Stage stage;
+    private int switchCount;
+
     // css() method to load CSS files for styling the application
     private static String css(String path) {
         // getting the URL of the CSS file
@@ -43,8 +56,15 @@ public class MainApp extends Application {
     // start() method that has been overrided to set up the primary stage and initialize the user interface
     @Override
     public void start(Stage stage) {
-        // loading user profile from a text file
-        UserProfile profile = FileManager.loadProfileFromTxt("profiles/Jane.txt");
+        // keeping the stage so the screen can be replaced when switching profiles
+        this.stage = stage;
+
+        // loading the first profile in the catalog
+        UserProfile profile = null;
+        List<ProfileSummary> profiles = ProfileCatalog.getShared().getProfiles();
+        if (!profiles.isEmpty()) {
+            profile = FileManager.loadProfileFromTxt(profiles.get(0).getPath());
+        }
 
         // if no profile is found, create a default profile
         if (profile == null) {
@@ -52,7 +72,7 @@ public class MainApp extends Application {
         }
 
         // creating UserScreen instance with the loaded profile
-        UserScreen screen = new UserScreen(profile);
+        UserScreen screen = new UserScreen(profile, this::switchProfile);
 
         // setting up the scene with the user screen and applying CSS stylesheets
         Scene scene = new Scene(screen.getScreen(), 1300, 820);
@@ -68,6 +88,40 @@ public class MainApp extends Application {
 
         // Loads phrase dictionary into MainApp.phraseMeaningDictMap
         MessageBuilder.loadPhraseDict();
+
+        // passing the tiles to the tile predictors, which start learning once they have them
+        TilePredictor.setVocabulary(phraseMeaningDictMap);
+    }
+
+    // switchProfile() method will load the picked profile in the background and show it once it is loaded, keeping the open
+    // profile on screen until then
+    private void switchProfile(ProfileSummary summary) {
+        // disabling the open screen while the profile loads, and numbering the switch so only the latest one is shown
+        stage.getScene().getRoot().setDisable(true);
+        stage.setTitle("NeuroBridge - loading " + summary.getName() + "...");
+        int switchNumber = ++switchCount;
+
+        // showing the profile on the JavaFX application thread once it has been loaded
+        ProfileCatalog.getShared().loadAsync(summary, profile -> Platform.runLater(() -> {
+            if (switchNumber == switchCount) {
+                showProfile(profile);
+            }
+        }));
+    }
+
+    // showProfile() method will replace the screen with a new UserScreen for a loaded profile
+    private void showProfile(UserProfile profile) {
+        UserScreen screen = new UserScreen(profile, this::switchProfile);
+        stage.getScene().setRoot(screen.getScreen());
+        stage.setTitle("NeuroBridge " + profile.getName());
+    }
+
+    // stop() method that has been overrided to finish writing any profile save and garden state that is still waiting when the
+    // application closes
+    @Override
+    public void stop() {
+        ProfileSaver.flushAll();
+        MessageGarden.flushAll();
     }
 
     // main() method to launch the application
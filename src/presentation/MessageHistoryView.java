@@ -0,0 +1,128 @@
+/*
+    Vivaan Echambadi
+    10/17/2026
+
+    MessageHistoryView class will show a user's message history in a ListView, newest message first. The ListView only creates
+    cells for the rows on screen, and the messages are pulled from a HistoryPager one page at a time as the user scrolls towards
+    the bottom, so opening the history takes the same time and memory however many messages the user has sent.
+
+*/
+
+// importing packages
+package presentation;
+
+import java.util.List;
+
+import business.HistoryEntry;
+import business.HistoryPager;
+import data.UserProfile;
+import javafx.application.Platform;
+import javafx.scene.control.Label;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
+import javafx.scene.layout.Priority;
+import javafx.scene.layout.VBox;
+
+// MessageHistoryView class definition
+public class MessageHistoryView {
+    // private attributes for the pager, the list, and the paging state
+    private final HistoryPager pager;
+    private final ListView<HistoryEntry> list;
+    private boolean loading;
+    private boolean finished;
+
+    // number of messages read in each page, and how close to the end of the list the next page is requested
+    private static final int PAGE_SIZE = 100;
+    private static final int PREFETCH_ROWS = 20;
+
+    // constructor to create the list for a profile and start reading its first page
+    public MessageHistoryView(UserProfile profile) {
+        // creating the pager and the list with a cell for each visible message
+        this.pager = new HistoryPager(profile);
+        this.list = new ListView<>();
+        list.getStyleClass().add("history-list");
+        list.setPlaceholder(new Label("Loading message history..."));
+        list.setCellFactory(view -> createCell());
+        VBox.setVgrow(list, Priority.ALWAYS);
+
+        // reading the newest messages
+        loadNextPage();
+    }
+
+    // getView() method will return the list to add to a window
+    public ListView<HistoryEntry> getView() {
+        return list;
+    }
+
+    // close() method will close the history files once the window is closed
+    public void close() {
+        finished = true;
+        pager.closeAsync();
+    }
+
+    // HELPER METHODS
+
+    // loadNextPage() method will read the next page in the background and add it to the end of the list
+    private void loadNextPage() {
+        // checking if a page is already being read or every message has been shown
+        if (loading || finished) {
+            return;
+        }
+        loading = true;
+
+        // adding the page on the JavaFX application thread once it has been read
+        pager.nextPageAsync(PAGE_SIZE, page -> Platform.runLater(() -> showPage(page)));
+    }
+
+    // showPage() method will add a page of messages to the list, stopping once a page comes back short
+    private void showPage(List<HistoryEntry> page) {
+        // ignoring pages that arrive after the window was closed
+        loading = false;
+        if (finished) {
+            return;
+        }
+
+        // adding the messages and checking if there are more to read
+        list.getItems().addAll(page);
+        if (page.size() < PAGE_SIZE) {
+            finished = true;
+        }
+
+        // showing a message if the history is empty
+        if (list.getItems().isEmpty()) {
+            list.setPlaceholder(new Label("No message history available."));
+        }
+    }
+
+    // createCell() method will create a list cell that shows a message under its timestamp, and asks for the next page when a
+    // row near the end of the list is shown
+    private ListCell<HistoryEntry> createCell() {
+        return new ListCell<HistoryEntry>() {
+            // updateItem() method will show the message of the row
+            @Override
+            protected void updateItem(HistoryEntry entry, boolean empty) {
+                super.updateItem(entry, empty);
+
+                // clearing empty rows
+                if (empty || entry == null) {
+                    setText(null);
+                    return;
+                }
+
+                // showing the timestamp in brackets with the message indented under it, or just the message if it has no timestamp
+                if (entry.hasTimestamp()) {
+                    setText("[" + entry.getDateString() + " " + entry.getTimeString() + "]\n  → " + entry.getMessage().trim());
+                } else {
+                    setText(entry.getMessage());
+                }
+                setWrapText(true);
+                setPrefWidth(0);
+
+                // reading the next page when one of the last rows is shown
+                if (getIndex() >= getListView().getItems().size() - PREFETCH_ROWS) {
+                    loadNextPage();
+                }
+            }
+        };
+    }
+}
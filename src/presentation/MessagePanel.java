@@ -14,9 +14,11 @@
 package presentation;
 
 import business.PhraseExtractor;
-import business.AISuggestionEngine;
 import business.PhraseSuggestion;
+import business.SuggestionService;
+import business.TilePredictor;
 import data.PhraseTile;
+import javafx.application.Platform;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.Node;
@@ -31,21 +33,36 @@ import javafx.scene.layout.GridPane;
 import javafx.scene.layout.VBox;
 import javafx.scene.layout.FlowPane;
 import javafx.scene.layout.Priority;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Future;
 
 // creating MessagePanel class
 public class MessagePanel {
     // defining class variables
     private final PhraseExtractor EXTRACTOR;
     private final GridPane GRID;
-    private final AISuggestionEngine AI_ENGINE;
+    private final SuggestionService SUGGESTIONS;
+    private final String USER_NAME;
+
+    // suggestion refresh state, only used on the JavaFX application thread
+    private static final int MAX_SUGGESTIONS = 5;
+    private static final long SUGGESTION_DEBOUNCE_MS = 400;
+    private FlowPane suggestionsFlow;
+    private Future<?> pendingSuggestions;
+    private int suggestionRequest;
+
+    // tile buttons by phrase, so predicted tiles can be highlighted
+    private static final String PREDICTED_STYLE = "predicted-tile";
+    private final Map<String, Button> tileButtons = new HashMap<>();
 
     // constructor for MessagePanel class that will accept a PhraseExtractor object and initialize the class variables
     public MessagePanel(PhraseExtractor extractor) {
         // initializing class variables
         this.EXTRACTOR = extractor;
-        String userName = getUserNameFromExtractor();
-        this.AI_ENGINE = new AISuggestionEngine(userName);
+        this.USER_NAME = getUserNameFromExtractor();
+        this.SUGGESTIONS = SuggestionService.getShared();
 
         // setting up the grid pane for tiles, its styles and properties
         GRID = new GridPane();
@@ -57,6 +74,9 @@ public class MessagePanel {
 
         // calling buildTiles() method to populate the grid with tiles
         buildTiles();
+
+        // highlighting the predicted tiles on the JavaFX application thread once the predictor has learned the saved messages
+        TilePredictor.forUser(USER_NAME).setOnTrained(() -> Platform.runLater(this::refreshPredictedTiles));
     }
 
     // getUserNameFromExtractor() method retrieves the user name from the PhraseExtractor.
@@ -160,8 +180,12 @@ public class MessagePanel {
                 button.setContentDisplay(ContentDisplay.TEXT_ONLY);
             }
 
-            // setting action for button click to handle tile click using PhraseExtractor
-            button.setOnAction(e -> EXTRACTOR.handleTileClick(tile));
+            // setting action for button click to handle tile click using PhraseExtractor, then highlighting the predicted next tiles
+            button.setOnAction(e -> {
+                EXTRACTOR.handleTileClick(tile);
+                refreshPredictedTiles();
+            });
+            tileButtons.put(phrase, button);
 
             // adding button to the grid at the current column and row, as well as incrementing column index
             GRID.add(button, col, row);
@@ -175,6 +199,22 @@ public class MessagePanel {
         }
     }
 
+    // refreshPredictedTiles() method will highlight the tiles that are likely to be tapped next in the current message
+    public void refreshPredictedTiles() {
+        // removing the highlight from every tile using a for each loop
+        for (Button button : tileButtons.values()) {
+            button.getStyleClass().remove(PREDICTED_STYLE);
+        }
+
+        // highlighting each predicted tile
+        for (String phrase : EXTRACTOR.getPredictedTiles()) {
+            Button button = tileButtons.get(phrase);
+            if (button != null) {
+                button.getStyleClass().add(PREDICTED_STYLE);
+            }
+        }
+    }
+
     // loadTiles() method will return a Node that contains the grid of tiles along with the suggestions section
     public Node loadTiles() {
         // creating VBox for suggestions section and setting up ScrollPane for the grid
@@ -202,15 +242,66 @@ public class MessagePanel {
         suggestionsHeader.getStyleClass().add("card-title");
         suggestionsHeader.setStyle("-fx-font-szie: 14px");
 
-        // getting suggestions from AI engine
-        List<PhraseSuggestion> suggestions = AI_ENGINE.getSuggestions(5);
-
         // creating FlowPane to hold suggestion buttons and setting its properties
-        FlowPane flowPane = new FlowPane();
-        flowPane.setHgap(8);
-        flowPane.setVgap(8);
-        flowPane.setPadding(new Insets(8));
-        flowPane.setAlignment(Pos.CENTER_LEFT);
+        suggestionsFlow = new FlowPane();
+        suggestionsFlow.setHgap(8);
+        suggestionsFlow.setVgap(8);
+        suggestionsFlow.setPadding(new Insets(8));
+        suggestionsFlow.setAlignment(Pos.CENTER_LEFT);
+
+        // showing a loading message until the first suggestions are ready
+        Label loading = new Label("Loading suggestions...");
+        loading.getStyleClass().add("muted");
+        loading.setStyle("-fx-font-size: 10px;");
+        suggestionsFlow.getChildren().add(loading);
+
+        // asking the AI engine for suggestions in the background right away
+        requestSuggestions(0);
+
+        // creating VBox for the suggestions card and setting its properties
+        VBox card = new VBox(6);
+        card.getStyleClass().add("card");
+        card.getChildren().add(suggestionsHeader);
+        card.getChildren().add(new Separator());
+        card.getChildren().add(suggestionsFlow);
+        card.setMaxHeight(120);
+
+        // returning the card
+        return card;
+    }
+
+    // refreshSuggestions() method will recompute the suggestions in the background after a short pause
+    // calls that arrive during the pause restart it, and the current suggestions stay visible until new ones are ready
+    public void refreshSuggestions() {
+        requestSuggestions(SUGGESTION_DEBOUNCE_MS);
+    }
+
+    // requestSuggestions() method cancels any pending request and asks the shared suggestion service for suggestions after delayMillis
+    private void requestSuggestions(long delayMillis) {
+        // cancelling the previous request if it has not started yet
+        if (pendingSuggestions != null) {
+            pendingSuggestions.cancel(false);
+        }
+
+        // numbering this request so that results from older requests are ignored
+        suggestionRequest++;
+        int request = suggestionRequest;
+
+        // computing the suggestions in the background and applying them on the JavaFX application thread
+        pendingSuggestions = SUGGESTIONS.getSuggestionsAsync(USER_NAME, MAX_SUGGESTIONS, delayMillis, suggestions -> {
+            Platform.runLater(() -> {
+                // only showing the results of the newest request
+                if (request == suggestionRequest) {
+                    showSuggestions(suggestions);
+                }
+            });
+        });
+    }
+
+    // showSuggestions() method will replace the suggestion buttons with buttons for the given suggestions
+    private void showSuggestions(List<PhraseSuggestion> suggestions) {
+        // removing the old suggestion buttons
+        suggestionsFlow.getChildren().clear();
 
         // for loop that iterates through each suggestion and creates a button for it
         for (int i = 0; i < suggestions.size(); i++) {
@@ -222,8 +313,11 @@ public class MessagePanel {
             button.getStyleClass().add("primary");
             button.setStyle("-fx-font-size: 12px; -fx-padding: 6 10 6 10;");
 
-            // setting tooltip for the button to show the reason for the suggestion
-            Tooltip tooltip = new Tooltip(suggestion.getReason());
+            // setting tooltip for the button to show the reason for the suggestion, filling in its text only when it is shown
+            Tooltip tooltip = new Tooltip();
+            tooltip.setOnShowing(e -> {
+                tooltip.setText(suggestion.getReason());
+            });
             button.setTooltip(tooltip);
 
             // setting action for button click to handle suggestion click
@@ -233,7 +327,7 @@ public class MessagePanel {
             });
             
             // adding button to the FlowPane
-            flowPane.getChildren().add(button);
+            suggestionsFlow.getChildren().add(button);
 
         }
 
@@ -245,19 +339,8 @@ public class MessagePanel {
             noSuggestions.setStyle("-fx-font-size: 10px;");
 
             // adding no suggestions message to the FlowPane
-            flowPane.getChildren().add(noSuggestions);
+            suggestionsFlow.getChildren().add(noSuggestions);
         }
-
-        // creating VBox for the suggestions card and setting its properties
-        VBox card = new VBox(6);
-        card.getStyleClass().add("card");
-        card.getChildren().add(suggestionsHeader);
-        card.getChildren().add(new Separator());
-        card.getChildren().add(flowPane);
-        card.setMaxHeight(120);
-
-        // returning the card
-        return card;
     }
 
     // handleSuggestionClick() method processes the click on a suggested phrase button
@@ -273,7 +356,7 @@ public class MessagePanel {
             if (tile.getPhrase().equals(phrase)) {
                 // handling tile click and recording suggestion usage
                 EXTRACTOR.handleTileClick(tile);
-                AI_ENGINE.recordSuggestionUsed(phrase);
+                SUGGESTIONS.getEngine(USER_NAME).recordSuggestionUsed(phrase);
                 break;
             }
         }
@@ -0,0 +1,129 @@
+/*
+    Vivaan Echambadi
+    10/17/2026
+
+    ProfilePicker class will open a window that lists every profile in the ProfileCatalog by name, age and primary diagnosis, with
+    a box above the list to filter the profiles by any of them. The list comes from the catalog's index, which only reads the header
+    of profiles that are new or have changed, so the window opens right away even with hundreds of profiles. Picking a profile
+    closes the window and passes its summary on, and loading the whole profile is left to the caller.
+
+*/
+
+// importing packages
+package presentation;
+
+import java.util.function.Consumer;
+
+import data.ProfileCatalog;
+import data.ProfileSummary;
+import javafx.collections.FXCollections;
+import javafx.collections.transformation.FilteredList;
+import javafx.geometry.Pos;
+import javafx.scene.Scene;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.control.ListView;
+import javafx.scene.control.TextField;
+import javafx.scene.input.MouseButton;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Priority;
+import javafx.scene.layout.VBox;
+import javafx.stage.Modality;
+import javafx.stage.Stage;
+
+// ProfilePicker class definition
+public class ProfilePicker {
+    // private attributes for the name of the open profile and what to do with the picked profile
+    private final String currentUserName;
+    private final Consumer<ProfileSummary> onPicked;
+
+    // constructor to create a picker that marks the open profile and passes the picked profile to onPicked
+    public ProfilePicker(String currentUserName, Consumer<ProfileSummary> onPicked) {
+        this.currentUserName = currentUserName;
+        this.onPicked = onPicked;
+    }
+
+    // show() method will open the picker window and wait until it is closed
+    public void show() {
+        // creating new stage for the picker, setting its modality and title
+        Stage pickerStage = new Stage();
+        pickerStage.initModality(Modality.APPLICATION_MODAL);
+        pickerStage.setTitle("Switch Profile");
+
+        // creating the picker box and title label
+        VBox pickerBox = new VBox(12);
+        pickerBox.getStyleClass().add("popup-root");
+        Label title = new Label("Switch Profile");
+        title.getStyleClass().add("popup-title");
+
+        // scanning the profiles folder for new and changed profiles and listing them in a filtered list
+        FilteredList<ProfileSummary> profiles = new FilteredList<>(
+                FXCollections.observableArrayList(ProfileCatalog.getShared().refresh()));
+        ListView<ProfileSummary> list = new ListView<>(profiles);
+        list.getStyleClass().add("history-list");
+        list.setPlaceholder(new Label("No profiles found."));
+        VBox.setVgrow(list, Priority.ALWAYS);
+
+        // selecting the open profile
+        for (ProfileSummary summary : profiles) {
+            if (summary.getName().equals(currentUserName)) {
+                list.getSelectionModel().select(summary);
+                list.scrollTo(summary);
+                break;
+            }
+        }
+
+        // creating the filter box, which keeps the profiles whose line contains the typed text
+        TextField filter = new TextField();
+        filter.setPromptText("Search by name, age or diagnosis");
+        filter.getStyleClass().add("profile-filter");
+        filter.textProperty().addListener((observable, oldText, newText) -> {
+            String text = newText.trim().toLowerCase();
+            profiles.setPredicate(summary -> text.isEmpty() || summary.toString().toLowerCase().contains(text));
+        });
+
+        // creating the open and cancel buttons, adding their styles, and setting their actions
+        Button open = new Button("Open");
+        open.getStyleClass().addAll("button", "primary");
+        open.disableProperty().bind(list.getSelectionModel().selectedItemProperty().isNull());
+        open.setOnAction(e -> pick(pickerStage, list.getSelectionModel().getSelectedItem()));
+        Button cancel = new Button("Cancel");
+        cancel.getStyleClass().add("button");
+        cancel.setOnAction(e -> pickerStage.close());
+
+        // opening a profile when its row is double-clicked
+        list.setOnMouseClicked(e -> {
+            if (e.getButton() == MouseButton.PRIMARY && e.getClickCount() == 2) {
+                pick(pickerStage, list.getSelectionModel().getSelectedItem());
+            }
+        });
+
+        // arranging the buttons in a row and adding all components to the picker box
+        HBox buttons = new HBox(10, open, cancel);
+        buttons.setAlignment(Pos.CENTER_RIGHT);
+        pickerBox.getChildren().addAll(title, filter, list, buttons);
+
+        // creating the scene and applying stylesheets
+        Scene scene = new Scene(pickerBox, 560, 520);
+        scene.getStylesheets().add(getClass().getResource("/resources/styles/neuro-theme.css").toExternalForm());
+        scene.getStylesheets().add(getClass().getResource("/resources/styles/popups.css").toExternalForm());
+
+        // setting the scene and showing the picker stage
+        pickerStage.setScene(scene);
+        pickerStage.showAndWait();
+    }
+
+    // HELPER METHODS
+
+    // pick() method will close the picker and pass the picked profile on, unless nothing is selected
+    private void pick(Stage pickerStage, ProfileSummary summary) {
+        // checking if a profile is selected
+        if (summary == null) {
+            return;
+        }
+
+        // closing the window before passing the profile on
+        pickerStage.close();
+        onPicked.accept(summary);
+    }
+}
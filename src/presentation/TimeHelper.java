@@ -1,25 +1,56 @@
 package presentation;
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
 
 public class TimeHelper {
 
+    // every time of day, in order through the day
+    public static final String[] TIMES_OF_DAY = {"morning", "afternoon", "evening", "night"};
+
+    // hours where a new time of day starts, in order through the day
+    private static final int[] BOUNDARY_HOURS = {5, 12, 17, 21};
+
     public static String getTimeOfDay() {
         int hour = LocalTime.now().getHour();
+        return getTimeOfDayFromHour(hour);
+    }
 
+    public static String getTimeOfDayFromHour(int hour) {
         if (hour >= 5 && hour < 12) {
             return "morning";
-        } 
+        }
 
         else if (hour >= 12 && hour < 17) {
             return "afternoon";
-        } 
+        }
 
         else if (hour >= 17 && hour < 21) {
             return "evening";
-        } 
-        
+        }
+
         else {
             return "night";
         }
     }
-}
\ No newline at end of file
+
+    // returns how long until the time of day changes next
+    public static long getMillisUntilNextTimeOfDay() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime next = null;
+
+        for (int boundary : BOUNDARY_HOURS) {
+            LocalDateTime candidate = now.toLocalDate().atTime(boundary, 0);
+            if (candidate.isAfter(now)) {
+                next = candidate;
+                break;
+            }
+        }
+
+        if (next == null) {
+            next = now.toLocalDate().plusDays(1).atTime(BOUNDARY_HOURS[0], 0);
+        }
+
+        return Duration.between(now, next).toMillis();
+    }
+}
@@ -6,6 +6,7 @@
     will contain methods to create the display box with user details, show message history, and caregiver dashboard.
     The class will also contain more buttons, such as the Show Message, Clear Message, and Save Message buttons. These
     buttons will interact with the MessageBuilderNew and PhraseExtractor classes to manage message creation and saving.
+    A Switch Profile button opens the ProfilePicker, and the picked profile is handed back to MainApp to load in the background.
 
 d
 */
@@ -13,8 +14,10 @@ d
 // importing packages
 package presentation;
 import java.util.*;
+import java.util.function.Consumer;
 
 import business.*;
+import data.ProfileSummary;
 import data.UserProfile;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
@@ -34,6 +37,7 @@ public class UserScreen {
     // creating private properties
     private String userName;
     private MessageGarden garden;
+    private Consumer<ProfileSummary> onSwitchProfile;
     private ImageView gardenView;
     private Label gardenLabel;
 
@@ -46,12 +50,20 @@ public class UserScreen {
 
     // shared UI pieces that update
     TextArea messageArea;
+    MessagePanel messagePanel;
 
     // constructor that takes in UserProfile object
     // will intialize all properties and create the user interface
     public UserScreen(UserProfile profile) {
+        this(profile, null);
+    }
+
+    // constructor that takes in UserProfile object and what to do when another profile is picked
+    // the Switch Profile button is only shown if onSwitchProfile is not null
+    public UserScreen(UserProfile profile, Consumer<ProfileSummary> onSwitchProfile) {
         this.userName = profile.getName();
-        this.garden = new MessageGarden(userName);
+        this.garden = MessageGarden.forUser(userName);
+        this.onSwitchProfile = onSwitchProfile;
 
         // business logic objects
         this.builder = new MessageBuilderNew();
@@ -89,7 +101,7 @@ public class UserScreen {
     // profile information, message garden, and caregiver section.
     private SplitPane buildMain(UserProfile profile) {
         // creating MessagePanel object that creates the left side of the screen
-        MessagePanel messagePanel = new MessagePanel(extractor);
+        messagePanel = new MessagePanel(extractor);
         VBox tilesCard = wrapInCard("Phrases", messagePanel.loadTiles());
         tilesCard.setMinWidth(640);
 
@@ -130,11 +142,15 @@ public class UserScreen {
             messageArea.setText(message);
             extractor.saveMessageToProfile(message);
             
-            // Update the message garden and record the message if it's not blank
+            // Update the message garden, record the message, and refresh the suggestions if it's not blank
             if (message != null && !message.isBlank()) {
                 garden.recordMessage();
                 updateGarden();
+                messagePanel.refreshSuggestions();
             }
+
+            // the message was reset, so predict the first tile of the next one
+            messagePanel.refreshPredictedTiles();
         });
 
         // Clear Message button
@@ -144,6 +160,7 @@ public class UserScreen {
             // When Clear Message button is clicked, clear the current message in the builder and the message area.
             builder.clearCurrentMessage();
             messageArea.clear();
+            messagePanel.refreshPredictedTiles();
         });
 
         // Save Message button
@@ -226,6 +243,14 @@ public class UserScreen {
         HBox row = new HBox(10, messageHistoryButton, caregiverInfoButton, clearHistoryButton);
         row.setAlignment(Pos.CENTER_LEFT);
 
+        // Switch Profile button, shown when the app can switch profiles
+        if (onSwitchProfile != null) {
+            Button switchProfileButton = new Button("Switch Profile");
+            switchProfileButton.getStyleClass().add("button");
+            switchProfileButton.setOnAction(e -> showProfilePicker());
+            row.getChildren().add(switchProfileButton);
+        }
+
         // returning the caregiver tools card wrapped in a card style
         return wrapInCard("Caregiver Tools", row);
     }
@@ -327,9 +352,10 @@ public class UserScreen {
         }
 
         // clearing the message history from the profile and builder, then saving to disk
-        profile.getMessages().clear();
+        extractor.clearHistory();
         builder.clearCurrentMessage();
         extractor.saveProfileToDisk();
+        messagePanel.refreshPredictedTiles();
     }
 
     // showMessageHistory() method will take in a UserProfile Object and will display the message history
@@ -346,19 +372,9 @@ public class UserScreen {
         Label title = new Label("Message History");
         title.getStyleClass().add("popup-title");
 
-        // creating the text area to display message history
-        TextArea historyArea = new TextArea();
-        historyArea.setWrapText(true);
-        historyArea.setEditable(false);
-
-        // if-else statement that populates the history area with messages from the profile
-        if (profile.getMessages().isEmpty()) {
-            historyArea.setText("No message history available.");
-        } 
-        // if there are messages, format them with visual separation between timestamp and message
-        else {
-            historyArea.setText(formatMessageHistory(profile.getMessages()));
-        }
+        // creating the list that reads the message history a page at a time, newest message first
+        MessageHistoryView historyView = new MessageHistoryView(profile);
+        messageHistoryStage.setOnHidden(e -> historyView.close());
 
         // creating the close button, adding its style, and setting its action
         Button close = new Button("Close");
@@ -366,7 +382,7 @@ public class UserScreen {
         close.setOnAction(e -> messageHistoryStage.close());
 
         // adding all components to the message history box
-        messageHistoryBox.getChildren().addAll(title, historyArea, close);
+        messageHistoryBox.getChildren().addAll(title, historyView.getView(), close);
 
         // Creating the scene and applying stylesheets
         Scene scene = new Scene(messageHistoryBox, 720, 520);
@@ -378,46 +394,19 @@ public class UserScreen {
         messageHistoryStage.showAndWait();
     }
 
-    // formatMessageHistory() method will take a List as input and format message history with visual separation between timestamp and content
-    private String formatMessageHistory(List<String> messages) {
-        // using StringBuilder to construct formatted history
-        StringBuilder formatted = new StringBuilder();
-
-        // iterating through each message
-        for (int i = 0; i < messages.size(); i++) {
-            String message = messages.get(i);
-
-            // splitting message at the pipe character (|) to separate timestamp from content
-            if (message.contains(" | ")) {
-                String[] parts = message.split(" \\| ", 2);
-                
-                // if split was successful, format with visual separator
-                if (parts.length == 2) {
-                    // adding timestamp in brackets
-                    formatted.append("[").append(parts[0].trim()).append("]");
-                    formatted.append("\n");
-                    
-                    // adding message content with indentation
-                    formatted.append("  → ").append(parts[1].trim());
-                } else {
-                    // if split failed, just add the original message
-                    formatted.append(message);
-                }
-            } else {
-                // if no pipe character, add message as-is
-                formatted.append(message);
-            }
-
-            // adding separator line between messages (except after the last one)
-            if (i < messages.size() - 1) {
-                formatted.append("\n");
-                formatted.append("─────────────────────────────────────────────────────");
-                formatted.append("\n");
+    // showProfilePicker() method will open the profile picker, and save the open profile before switching to the picked one
+    private void showProfilePicker() {
+        ProfilePicker picker = new ProfilePicker(this.userName, summary -> {
+            // doing nothing if the open profile was picked again
+            if (summary.getName().equals(this.userName)) {
+                return;
             }
-        }
 
-        // returning the formatted message history
-        return formatted.toString();
+            // saving the messages and changes of the open profile before switching
+            extractor.saveProfileToDisk();
+            onSwitchProfile.accept(summary);
+        });
+        picker.show();
     }
 
     // showCaregiverDashboard() method will take in a UserProfile object and will display the caregiver dashboard to the caregiver